@@ -0,0 +1,183 @@
+package com.banquito.parametros;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Tiempo desde el lanzamiento de la JVM hasta la primera consulta exitosa de la tasa vigente,
+ * con el jar empaquetado tal cual, con el contexto procesado por AOT y con AOT más el archivo
+ * CDS. Requiere mvn -P produccion package antes; la base se toma de application.properties o
+ * de SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME y SPRING_DATASOURCE_PASSWORD, que la
+ * aplicación lanzada hereda. La salida de cada arranque queda en target/arranque-[modo].log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArranqueBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(3);
+
+    @Param({"jar", "aot", "aot-cds"})
+    String modo;
+
+    private HttpClient http;
+    private List<String> comando;
+    private String base;
+    private int idProducto;
+    private Process proceso;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Path extraido = jar(TARGET.resolve("cds"));
+        comando = new ArrayList<>(List.of("java"));
+        switch (modo) {
+            case "jar" -> comando.addAll(List.of("-jar", jar(TARGET).toString()));
+            case "aot" -> comando.addAll(List.of("-Dspring.aot.enabled=true", "-jar", extraido.toString()));
+            case "aot-cds" -> comando.addAll(List.of("-XX:SharedArchiveFile=" + TARGET.resolve("cds/parametros.jsa"),
+                    "-Dspring.aot.enabled=true", "-jar", extraido.toString()));
+            default -> throw new IllegalArgumentException("Modo desconocido: " + modo);
+        }
+        // Un arranque previo deja el producto de la consulta creado en la base
+        iniciar();
+        esperar("/productos-credito/codigo/ARRANQUE", true);
+        idProducto = productoArranque();
+        detener();
+    }
+
+    @TearDown(Level.Iteration)
+    public void detener() throws InterruptedException {
+        if (proceso != null) {
+            proceso.destroy();
+            if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly().waitFor();
+            }
+            proceso = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        http.close();
+    }
+
+    @Benchmark
+    public int primeraConsultaExitosa() throws Exception {
+        iniciar();
+        return esperar("/productos-credito/" + idProducto + "/tasa-vigente", false).length();
+    }
+
+    private void iniciar() throws IOException {
+        int puerto;
+        try (ServerSocket libre = new ServerSocket(0)) {
+            puerto = libre.getLocalPort();
+        }
+        base = "http://localhost:" + puerto + "/api/parametros";
+        List<String> argumentos = new ArrayList<>(comando);
+        argumentos.add("--server.port=" + puerto);
+        proceso = new ProcessBuilder(argumentos)
+                .redirectErrorStream(true)
+                .redirectOutput(TARGET.resolve("arranque-" + modo + ".log").toFile())
+                .start();
+    }
+
+    // Consulta hasta recibir 200 o, si se acepta, 404 (el producto de la consulta aún no existe)
+    private String esperar(String ruta, boolean aceptaNoEncontrado) throws IOException, InterruptedException {
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + ruta)).GET().build();
+        while (System.nanoTime() < limite) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó al arrancar (código " + proceso.exitValue()
+                        + "), ver target/arranque-" + modo + ".log");
+            }
+            try {
+                HttpResponse<String> respuesta = http.send(solicitud, HttpResponse.BodyHandlers.ofString());
+                if (respuesta.statusCode() == 200 || (aceptaNoEncontrado && respuesta.statusCode() == 404)) {
+                    return respuesta.body();
+                }
+            } catch (ConnectException e) {
+                // Tomcat todavía no escucha
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sin respuesta de " + ruta + " en " + ESPERA_MAXIMA);
+    }
+
+    private int productoArranque() throws IOException, InterruptedException {
+        HttpResponse<String> existente = http.send(HttpRequest.newBuilder(URI.create(base + "/productos-credito/codigo/ARRANQUE"))
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (existente.statusCode() == 200) {
+            return id(existente.body(), "idProductoCredito");
+        }
+        int id = id(crear("/productos-credito", """
+                {"codigoProducto":"ARRANQUE","nombre":"Producto arranque","descripcion":"arranque",
+                "montoMinimo":5000,"montoMaximo":50000,"plazoMinimoMeses":12,"plazoMaximoMeses":60,
+                "porcentajeMaxFinanciamiento":80,"condicionVehiculo":"NUEVO","estado":"ACTIVO"}
+                """), "idProductoCredito");
+        crear("/tasas-interes", """
+                {"idProductoCredito":%d,"baseCalculo":"360 días","metodoCalculo":"compuesto",
+                "frecuenciaCapitalizacion":"mensual","valorTasa":12.75,"fechaInicioVigencia":"2024-01-01",
+                "estado":"ACTIVO"}
+                """.formatted(id));
+        return id;
+    }
+
+    private String crear(String ruta, String cuerpo) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = http.send(HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(), HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 201) {
+            throw new IllegalStateException(respuesta.statusCode() + " " + respuesta.body());
+        }
+        return respuesta.body();
+    }
+
+    private static int id(String cuerpo, String campo) {
+        Matcher id = Pattern.compile("\"" + campo + "\":(\\d+)").matcher(cuerpo);
+        if (!id.find()) {
+            throw new IllegalStateException("Respuesta sin id: " + cuerpo);
+        }
+        return Integer.parseInt(id.group(1));
+    }
+
+    private static Path jar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(p -> p.getFileName().toString().matches("parametros-.*(?<!-plain)\\.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No hay jar en " + directorio
+                            + ": ejecute mvn -P produccion package"));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.banquito.parametros;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga de la aplicación completa con Tomcat en hilos de plataforma y en hilos
+ * virtuales. 512 clientes concurrentes (más que los 200 hilos de Tomcat y que las 10
+ * conexiones del pool) consultan la tasa vigente, que se resuelve en memoria, y actualizan
+ * documentos, que pasan por el pool de conexiones. SampleTime reporta p99; Throughput, op/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(512)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class CargaHilosBenchmark {
+
+    private static final int PRODUCTOS = 64;
+
+    @Param({"plataforma", "virtual"})
+    String hilos;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient http;
+    private String base;
+    private final int[] idsProducto = new int[PRODUCTOS];
+    private final AtomicInteger hilosCliente = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Cliente {
+
+        private int idProducto;
+        private int idDocumento;
+        private String nombreDocumento;
+        private long solicitud;
+
+        @Setup(Level.Trial)
+        public void preparar(CargaHilosBenchmark carga) throws Exception {
+            int indice = carga.hilosCliente.getAndIncrement();
+            idProducto = carga.idsProducto[indice % PRODUCTOS];
+            nombreDocumento = "Documento " + indice;
+            idDocumento = carga.crear("/documentos-requeridos", "idDocumentoRequerido",
+                    documento(idProducto, nombreDocumento, "inicial"));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        contexto = SpringApplication.run(ParametrosApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + hilos.equals("virtual"),
+                "--spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE SCHEMA IF NOT EXISTS parametros",
+                "--spring.datasource.hikari.maximum-pool-size=10",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--app.esquema.verificar=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.banquito.parametros=WARN");
+        base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/parametros";
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            idsProducto[i] = crear("/productos-credito", "idProductoCredito", """
+                    {"codigoProducto":"CARGA%03d","nombre":"Producto carga %d","descripcion":"carga",
+                    "montoMinimo":5000,"montoMaximo":50000,"plazoMinimoMeses":12,"plazoMaximoMeses":60,
+                    "porcentajeMaxFinanciamiento":80,"condicionVehiculo":"NUEVO","estado":"ACTIVO"}
+                    """.formatted(i, i));
+            crear("/tasas-interes", "idTasaInteres", """
+                    {"idProductoCredito":%d,"baseCalculo":"360 días","metodoCalculo":"compuesto",
+                    "frecuenciaCapitalizacion":"mensual","valorTasa":12.75,"fechaInicioVigencia":"2024-01-01",
+                    "estado":"ACTIVO"}
+                    """.formatted(idsProducto[i]));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        http.close();
+        contexto.close();
+    }
+
+    @Benchmark
+    public int consultarTasaVigente(Cliente cliente) throws Exception {
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/productos-credito/" + cliente.idProducto + "/tasa-vigente"))
+                .GET(), 200).length();
+    }
+
+    @Benchmark
+    public int actualizarDocumento(Cliente cliente) throws Exception {
+        String cuerpo = documento(cliente.idProducto, cliente.nombreDocumento, "version " + cliente.solicitud++);
+        return enviar(HttpRequest.newBuilder(URI.create(base + "/documentos-requeridos/" + cliente.idDocumento))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(cuerpo)), 200).length();
+    }
+
+    private static String documento(int idProducto, String nombre, String descripcion) {
+        return """
+                {"idProductoCredito":%d,"nombre":"%s","descripcion":"%s","extension":".pdf","estado":"ACTIVO"}
+                """.formatted(idProducto, nombre, descripcion);
+    }
+
+    private int crear(String ruta, String campoId, String cuerpo) throws IOException, InterruptedException {
+        String respuesta = enviar(HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)), 201);
+        Matcher id = Pattern.compile("\"" + campoId + "\":(\\d+)").matcher(respuesta);
+        if (!id.find()) {
+            throw new IllegalStateException("Respuesta sin id: " + respuesta);
+        }
+        return Integer.parseInt(id.group(1));
+    }
+
+    private String enviar(HttpRequest.Builder solicitud, int estadoEsperado) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = http.send(solicitud.build(), HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != estadoEsperado) {
+            throw new IllegalStateException(respuesta.statusCode() + " " + respuesta.body());
+        }
+        return respuesta.body();
+    }
+}
@@ -0,0 +1,175 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.mapper.DocumentoRequeridoMapper;
+import com.banquito.parametros.controller.mapper.ProductoCreditoMapper;
+import com.banquito.parametros.controller.mapper.TasaInteresMapper;
+import com.banquito.parametros.model.DocumentoRequerido;
+import com.banquito.parametros.model.EstadosParametros;
+import com.banquito.parametros.model.ProductoCredito;
+import com.banquito.parametros.model.TasaInteres;
+import com.banquito.parametros.repository.DocumentoRequeridoRepository;
+import com.banquito.parametros.repository.ProductoCreditoRepository;
+import com.banquito.parametros.repository.TasaInteresRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Datos sintéticos en memoria para los benchmarks: productos con un historial de
+ * tasas mensuales consecutivas y sus documentos, más repositorios de solo lectura
+ * respaldados por esas listas para ejecutar la validación sin base de datos.
+ */
+final class DatosBenchmark {
+
+    static final LocalDate INICIO_HISTORIAL = LocalDate.of(2020, 1, 1);
+    private static final String[] BASES = {"360", "365"};
+    private static final String[] METODOS = {"compuesto", "simple"};
+    private static final String[] FRECUENCIAS = {"mensual", "anual"};
+    private static final String[] EXTENSIONES = {"pdf", "jpg", "png"};
+
+    final List<ProductoCredito> productos;
+    final List<TasaInteres> tasas;
+    final List<DocumentoRequerido> documentos;
+    final Map<Integer, List<TasaInteres>> tasasActivasPorProducto;
+    final int periodosPorProducto;
+
+    private DatosBenchmark(List<ProductoCredito> productos, List<TasaInteres> tasas,
+                           List<DocumentoRequerido> documentos, int periodosPorProducto) {
+        this.productos = productos;
+        this.tasas = tasas;
+        this.documentos = documentos;
+        this.periodosPorProducto = periodosPorProducto;
+        Map<Integer, List<TasaInteres>> activas = new HashMap<>();
+        for (TasaInteres tasa : tasas) {
+            if (tasa.getEstado() == EstadosParametros.EstadoActivoInactivo.ACTIVO) {
+                activas.computeIfAbsent(tasa.getIdProductoCredito(), id -> new ArrayList<>()).add(tasa);
+            }
+        }
+        activas.values().forEach(lista -> lista.sort(
+                Comparator.comparing(TasaInteres::getFechaInicioVigencia).reversed()));
+        this.tasasActivasPorProducto = activas;
+    }
+
+    static DatosBenchmark generar(int cantidadProductos, int periodosPorProducto, int documentosPorProducto) {
+        Random random = new Random(42);
+        List<ProductoCredito> productos = new ArrayList<>(cantidadProductos);
+        List<TasaInteres> tasas = new ArrayList<>(cantidadProductos * periodosPorProducto);
+        List<DocumentoRequerido> documentos = new ArrayList<>(cantidadProductos * documentosPorProducto);
+        int idTasa = 1;
+        int idDocumento = 1;
+        for (int idProducto = 1; idProducto <= cantidadProductos; idProducto++) {
+            ProductoCredito producto = producto(idProducto, random);
+            productos.add(producto);
+            for (int periodo = 0; periodo < periodosPorProducto; periodo++) {
+                tasas.add(tasa(idTasa++, producto, periodo, random));
+            }
+            for (int d = 0; d < documentosPorProducto; d++) {
+                documentos.add(documento(idDocumento++, producto, d));
+            }
+        }
+        return new DatosBenchmark(productos, tasas, documentos, periodosPorProducto);
+    }
+
+    LocalDate finHistorial() {
+        return INICIO_HISTORIAL.plusMonths(periodosPorProducto).minusDays(1);
+    }
+
+    ProductoCreditoRepository productoCreditoRepository() {
+        return repositorio(ProductoCreditoRepository.class, (metodo, args) -> switch (metodo) {
+            case "getReferenceById" -> new ProductoCredito((Integer) args[0]);
+            case "existsById" -> (Integer) args[0] >= 1 && (Integer) args[0] <= productos.size();
+            default -> null;
+        });
+    }
+
+    TasaInteresRepository tasaInteresRepository() {
+        return repositorio(TasaInteresRepository.class, (metodo, args) -> switch (metodo) {
+            case "findByProductoCreditoAndEstadoOrderByFechaInicioVigenciaDesc" -> tasasActivasPorProducto
+                    .getOrDefault(((ProductoCredito) args[0]).getIdProductoCredito(), List.of());
+            default -> null;
+        });
+    }
+
+    DocumentoRequeridoRepository documentoRequeridoRepository() {
+        return repositorio(DocumentoRequeridoRepository.class, (metodo, args) -> null);
+    }
+
+    ParametrosService parametrosService() {
+        return new ParametrosService(productoCreditoRepository(), tasaInteresRepository(),
+                documentoRequeridoRepository(), new ProductoCreditoMapper(), new TasaInteresMapper(),
+                new DocumentoRequeridoMapper(), null, evento -> { }, null, null,
+                new MetricasParametros(new SimpleMeterRegistry(), null));
+    }
+
+    private interface Respuesta {
+        Object responder(String metodo, Object[] args);
+    }
+
+    private static <T> T repositorio(Class<T> tipo, Respuesta respuesta) {
+        Object proxy = Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (instancia, metodo, args) -> {
+            Object resultado = respuesta.responder(metodo.getName(), args);
+            if (resultado == null) {
+                throw new UnsupportedOperationException("No soportado en benchmark: " + metodo.getName());
+            }
+            return resultado;
+        });
+        return tipo.cast(proxy);
+    }
+
+    private static ProductoCredito producto(int id, Random random) {
+        ProductoCredito producto = new ProductoCredito(id);
+        producto.setCodigoProducto(String.format("AUTO-%05d", id));
+        producto.setNombre("Crédito automotriz " + id);
+        producto.setDescripcion("Producto sintético para benchmark " + id);
+        BigDecimal minimo = BigDecimal.valueOf(1000 + random.nextInt(9000)).setScale(2);
+        producto.setMontoMinimo(minimo);
+        producto.setMontoMaximo(minimo.add(BigDecimal.valueOf(10000 + random.nextInt(90000))));
+        producto.setPlazoMinimoMeses(6 + random.nextInt(6));
+        producto.setPlazoMaximoMeses(24 + random.nextInt(49));
+        producto.setPorcentajeMaxFinanciamiento(BigDecimal.valueOf(50 + random.nextInt(51)).setScale(2));
+        producto.setCondicionVehiculo(EstadosParametros.CondicionVehiculo.values()[id % 3]);
+        producto.setEstado(id % 10 == 0
+                ? EstadosParametros.EstadoActivoInactivo.INACTIVO
+                : EstadosParametros.EstadoActivoInactivo.ACTIVO);
+        producto.setVersion(0L);
+        return producto;
+    }
+
+    private static TasaInteres tasa(int id, ProductoCredito producto, int periodo, Random random) {
+        TasaInteres tasa = new TasaInteres(id);
+        tasa.setIdProductoCredito(producto.getIdProductoCredito());
+        tasa.setProductoCredito(producto);
+        tasa.setBaseCalculo(BASES[random.nextInt(BASES.length)]);
+        tasa.setMetodoCalculo(METODOS[random.nextInt(METODOS.length)]);
+        tasa.setFrecuenciaCapitalizacion(FRECUENCIAS[random.nextInt(FRECUENCIAS.length)]);
+        tasa.setValorTasa(BigDecimal.valueOf(500 + random.nextInt(2000), 2));
+        LocalDate inicio = INICIO_HISTORIAL.plusMonths(periodo);
+        tasa.setFechaInicioVigencia(inicio);
+        tasa.setFechaFinVigencia(inicio.plusMonths(1).minusDays(1));
+        tasa.setEstado(periodo % 7 == 3
+                ? EstadosParametros.EstadoActivoInactivo.INACTIVO
+                : EstadosParametros.EstadoActivoInactivo.ACTIVO);
+        tasa.setVersion(0L);
+        return tasa;
+    }
+
+    private static DocumentoRequerido documento(int id, ProductoCredito producto, int indice) {
+        DocumentoRequerido documento = new DocumentoRequerido(id);
+        documento.setIdProductoCredito(producto.getIdProductoCredito());
+        documento.setProductoCredito(producto);
+        documento.setNombre("Documento " + indice);
+        documento.setDescripcion("Documento requerido " + indice + " del producto " + producto.getIdProductoCredito());
+        documento.setExtension(EXTENSIONES[indice % EXTENSIONES.length]);
+        documento.setEstado(EstadosParametros.EstadoActivoInactivo.ACTIVO);
+        documento.setVersion(0L);
+        return documento;
+    }
+}
@@ -0,0 +1,72 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.controller.mapper.DocumentoRequeridoMapper;
+import com.banquito.parametros.controller.mapper.ProductoCreditoMapper;
+import com.banquito.parametros.controller.mapper.TasaInteresMapper;
+import com.banquito.parametros.model.DocumentoRequerido;
+import com.banquito.parametros.model.ProductoCredito;
+import com.banquito.parametros.model.TasaInteres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private final ProductoCreditoMapper productoCreditoMapper = new ProductoCreditoMapper();
+    private final TasaInteresMapper tasaInteresMapper = new TasaInteresMapper();
+    private final DocumentoRequeridoMapper documentoRequeridoMapper = new DocumentoRequeridoMapper();
+
+    private List<ProductoCredito> productos;
+    private List<TasaInteres> tasas;
+    private List<DocumentoRequerido> documentos;
+    private List<TasaInteresDTO> tasasDTO;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosBenchmark datos = DatosBenchmark.generar(2000, 20, 5);
+        productos = datos.productos;
+        tasas = datos.tasas;
+        documentos = datos.documentos;
+        tasasDTO = tasaInteresMapper.toDTOList(tasas);
+    }
+
+    @Benchmark
+    public List<ProductoCreditoDTO> productosToDTOList() {
+        return productoCreditoMapper.toDTOList(productos);
+    }
+
+    @Benchmark
+    public List<TasaInteresDTO> tasasToDTOList() {
+        return tasaInteresMapper.toDTOList(tasas);
+    }
+
+    @Benchmark
+    public List<TasaInteres> tasasToModelList() {
+        return tasaInteresMapper.toModelList(tasasDTO);
+    }
+
+    @Benchmark
+    public List<DocumentoRequeridoDTO> documentosToDTOList() {
+        return documentoRequeridoMapper.toDTOList(documentos);
+    }
+}
@@ -0,0 +1,96 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.controller.mapper.DocumentoRequeridoMapper;
+import com.banquito.parametros.controller.mapper.ProductoCreditoMapper;
+import com.banquito.parametros.controller.mapper.TasaInteresMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolucionTasaBenchmark {
+
+    private static final int CONSULTAS = 4096;
+
+    @Param({"2000"})
+    int productos;
+
+    @Param({"10", "50"})
+    int periodosPorProducto;
+
+    private LibroParametros libro;
+    private List<TasaInteresDTO> tasasDTO;
+    private List<ProductoCreditoDTO> productosDTO;
+    private List<DocumentoRequeridoDTO> documentosDTO;
+    private final int[] idsProducto = new int[CONSULTAS];
+    private final LocalDate[] fechas = new LocalDate[CONSULTAS];
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosBenchmark datos = DatosBenchmark.generar(productos, periodosPorProducto, 5);
+        productosDTO = new ProductoCreditoMapper().toDTOList(datos.productos);
+        tasasDTO = new TasaInteresMapper().toDTOList(datos.tasas);
+        documentosDTO = new DocumentoRequeridoMapper().toDTOList(datos.documentos);
+        libro = LibroParametros.construir(1, productosDTO, tasasDTO, documentosDTO);
+        Random random = new Random(7);
+        int dias = (int) (datos.finHistorial().toEpochDay() - DatosBenchmark.INICIO_HISTORIAL.toEpochDay());
+        for (int i = 0; i < CONSULTAS; i++) {
+            idsProducto[i] = 1 + random.nextInt(productos);
+            fechas[i] = DatosBenchmark.INICIO_HISTORIAL.plusDays(random.nextInt(dias + 30));
+        }
+    }
+
+    @Benchmark
+    public TasaInteresDTO tasaVigenteLibro() {
+        int i = siguiente();
+        return libro.tasaVigente(idsProducto[i], fechas[i]);
+    }
+
+    @Benchmark
+    public TasaInteresDTO tasaVigenteRecorridoLineal() {
+        int i = siguiente();
+        LocalDate fecha = fechas[i];
+        for (TasaInteresDTO tasa : libro.tasasPorProducto(idsProducto[i])) {
+            if ("ACTIVO".equals(tasa.getEstado()) && !tasa.getFechaInicioVigencia().isAfter(fecha)
+                    && (tasa.getFechaFinVigencia() == null || !tasa.getFechaFinVigencia().isBefore(fecha))) {
+                return tasa;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LibroParametros construirLibro() {
+        return LibroParametros.construir(2, productosDTO, tasasDTO, documentosDTO);
+    }
+
+    private int siguiente() {
+        int indice = siguiente;
+        siguiente = (indice + 1) & (CONSULTAS - 1);
+        return indice;
+    }
+}
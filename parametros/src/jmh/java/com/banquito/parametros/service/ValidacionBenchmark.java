@@ -0,0 +1,84 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.mapper.ProductoCreditoMapper;
+import com.banquito.parametros.model.ProductoCredito;
+import com.banquito.parametros.model.TasaInteres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacionBenchmark {
+
+    @Param({"2000"})
+    int productos;
+
+    @Param({"10", "25"})
+    int periodosPorProducto;
+
+    private ParametrosService parametrosService;
+    private List<ProductoCreditoDTO> productosDTO;
+    private ProductoCredito[] referenciasProducto;
+    private LineaTiempoTasas<TasaInteres> lineaTiempo;
+    private TasaInteres tasaNueva;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosBenchmark datos = DatosBenchmark.generar(productos, periodosPorProducto, 5);
+        parametrosService = datos.parametrosService();
+        productosDTO = new ProductoCreditoMapper().toDTOList(datos.productos);
+        referenciasProducto = new ProductoCredito[productos];
+        for (int i = 0; i < productos; i++) {
+            referenciasProducto[i] = new ProductoCredito(i + 1);
+        }
+        lineaTiempo = parametrosService.lineaTiempoTasasActivas(referenciasProducto[0]);
+        tasaNueva = new TasaInteres();
+        tasaNueva.setValorTasa(new BigDecimal("12.75"));
+        tasaNueva.setFechaInicioVigencia(datos.finHistorial().plusDays(1));
+    }
+
+    @Benchmark
+    public void validarMontosProducto() {
+        ParametrosService.validarMontosProducto(productosDTO.get(siguiente(productosDTO.size())));
+    }
+
+    // El traslape en escrituras individuales lo valida la base; la línea de tiempo se sigue
+    // construyendo por producto para validar los lotes en memoria
+    @Benchmark
+    public TasaInteres construirLineaTiempoTasas() {
+        ProductoCredito producto = referenciasProducto[siguiente(referenciasProducto.length)];
+        return parametrosService.lineaTiempoTasasActivas(producto)
+                .buscarTraslape(tasaNueva.getFechaInicioVigencia(), tasaNueva.getFechaFinVigencia());
+    }
+
+    @Benchmark
+    public TasaInteres buscarTraslapeLineaTiempo() {
+        return lineaTiempo.buscarTraslape(tasaNueva.getFechaInicioVigencia(), tasaNueva.getFechaFinVigencia());
+    }
+
+    private int siguiente(int limite) {
+        int indice = siguiente;
+        siguiente = indice + 1 == limite ? 0 : indice + 1;
+        return indice;
+    }
+}
@@ -1,15 +1,33 @@
 package com.banquito.parametros;
 
+import com.banquito.parametros.config.ComandoSnapshot;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 public class ParametrosApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ParametrosApplication.class, args);
+		SpringApplication aplicacion = new SpringApplication(ParametrosApplication.class);
+		// Exportación o importación del snapshot: sin servidor web ni libro de parámetros y
+		// termina al acabar (ComandoSnapshot)
+		boolean comando = ComandoSnapshot.solicitado(args);
+		if (comando) {
+			aplicacion.setWebApplicationType(WebApplicationType.NONE);
+			aplicacion.setDefaultProperties(Map.of("app.libro-parametros.cargar-al-iniciar", "false"));
+		}
+		ConfigurableApplicationContext contexto = aplicacion.run(args);
+		if (comando) {
+			System.exit(SpringApplication.exit(contexto));
+		}
 	}
 
 }
@@ -0,0 +1,141 @@
+package com.banquito.parametros.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * ClienteExternoClient con cache y coalescencia de solicitudes: las solicitudes concurrentes
+ * por el mismo cliente o VIN comparten una sola llamada en curso y las respuestas definitivas
+ * (2xx y 404/409/422) se guardan por un tiempo limitado. Así una ráfaga de simulaciones, o
+ * un servicio externo lento, no se multiplica en una ráfaga de llamadas iguales. Los demás
+ * errores no se guardan: quienes esperaban la llamada los reciben y la siguiente reintenta.
+ */
+@Component
+@Primary
+public class ClienteExternoCacheado implements ClienteExternoClient {
+
+    private final ClienteExternoClient remoto;
+    private final ConsultasCacheadas clientes;
+    private final ConsultasCacheadas vehiculos;
+
+    public ClienteExternoCacheado(@Lazy @Qualifier("clienteExternoRemoto") ClienteExternoClient remoto,
+                                  MeterRegistry registro,
+                                  @Value("${app.cliente-externo.cache.clientes.vigencia:PT1M}") Duration vigenciaClientes,
+                                  @Value("${app.cliente-externo.cache.clientes.maximo:10000}") long maximoClientes,
+                                  @Value("${app.cliente-externo.cache.vehiculos.vigencia:PT12H}") Duration vigenciaVehiculos,
+                                  @Value("${app.cliente-externo.cache.vehiculos.maximo:10000}") long maximoVehiculos) {
+        this.remoto = remoto;
+        this.clientes = new ConsultasCacheadas("clientes", vigenciaClientes, maximoClientes, registro);
+        this.vehiculos = new ConsultasCacheadas("vehiculos", vigenciaVehiculos, maximoVehiculos, registro);
+    }
+
+    @Override
+    public String obtenerInformacionCliente(String idCliente) {
+        return clientes.obtener(idCliente, remoto::obtenerInformacionCliente);
+    }
+
+    @Override
+    public String validarVehiculo(String vin) {
+        return vehiculos.obtener(vin, remoto::validarVehiculo);
+    }
+
+    static final class ConsultasCacheadas {
+
+        private final AsyncCache<String, Respuesta> cache;
+        private final Counter remotas;
+        private final Counter coalescidas;
+        private final Counter desdeCache;
+
+        ConsultasCacheadas(String operacion, Duration vigencia, long maximo, MeterRegistry registro) {
+            this.cache = Caffeine.newBuilder()
+                    .expireAfterWrite(vigencia)
+                    .maximumSize(maximo)
+                    .buildAsync();
+            this.remotas = contador(registro, operacion, "remota");
+            this.coalescidas = contador(registro, operacion, "coalescida");
+            this.desdeCache = contador(registro, operacion, "cache");
+            Gauge.builder("cliente.externo.cache.entradas", cache, c -> c.synchronous().estimatedSize())
+                    .description("Respuestas del servicio externo en cache")
+                    .tag("operacion", operacion)
+                    .register(registro);
+            Gauge.builder("cliente.externo.deduplicacion", this, ConsultasCacheadas::proporcionDeduplicada)
+                    .description("Proporción de solicitudes resueltas sin una llamada propia al servicio externo")
+                    .tag("operacion", operacion)
+                    .register(registro);
+        }
+
+        String obtener(String clave, Function<String, String> llamada) {
+            // La primera solicitud registra su llamada en curso y la ejecuta en su propio hilo;
+            // las demás esperan esa misma llamada o toman la respuesta guardada
+            CompletableFuture<Respuesta> propia = new CompletableFuture<>();
+            CompletableFuture<Respuesta> existente = cache.asMap().putIfAbsent(clave, propia);
+            if (existente == null) {
+                remotas.increment();
+                llamar(clave, llamada, propia);
+                existente = propia;
+            } else if (existente.isDone()) {
+                desdeCache.increment();
+            } else {
+                coalescidas.increment();
+            }
+            try {
+                return existente.join().cuerpo();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException causa ? causa : e;
+            }
+        }
+
+        private static void llamar(String clave, Function<String, String> llamada, CompletableFuture<Respuesta> propia) {
+            try {
+                propia.complete(new Respuesta(llamada.apply(clave), null));
+            } catch (FeignException e) {
+                if (e.status() == 404 || e.status() == 409 || e.status() == 422) {
+                    propia.complete(new Respuesta(null, e));
+                } else {
+                    // Un futuro fallido sale de la cache al completarse
+                    propia.completeExceptionally(e);
+                }
+            } catch (RuntimeException e) {
+                propia.completeExceptionally(e);
+            }
+        }
+
+        double proporcionDeduplicada() {
+            double ahorradas = coalescidas.count() + desdeCache.count();
+            double total = ahorradas + remotas.count();
+            return total == 0 ? 0 : ahorradas / total;
+        }
+
+        private static Counter contador(MeterRegistry registro, String operacion, String origen) {
+            return Counter.builder("cliente.externo.solicitudes")
+                    .description("Solicitudes al servicio externo según cómo se resolvieron")
+                    .tag("operacion", operacion)
+                    .tag("origen", origen)
+                    .register(registro);
+        }
+    }
+
+    private record Respuesta(String contenido, FeignException error) {
+
+        String cuerpo() {
+            if (error != null) {
+                throw error;
+            }
+            return contenido;
+        }
+    }
+}
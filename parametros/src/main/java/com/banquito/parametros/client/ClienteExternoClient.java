@@ -4,7 +4,9 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-@FeignClient(name = "cliente-externo", url = "${app.cliente-externo.url:http://localhost:8081}")
+// Se inyecta a través de ClienteExternoCacheado; este es el cliente remoto sin cache
+@FeignClient(name = "cliente-externo", url = "${app.cliente-externo.url:http://localhost:8081}",
+        qualifiers = "clienteExternoRemoto", primary = false)
 public interface ClienteExternoClient {
 
     @GetMapping("/api/v1/clientes/{idCliente}")
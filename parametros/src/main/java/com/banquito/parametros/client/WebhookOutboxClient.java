@@ -0,0 +1,14 @@
+package com.banquito.parametros.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+@FeignClient(name = "outbox-webhook", url = "${app.outbox.webhook.url:http://localhost:8082}")
+public interface WebhookOutboxClient {
+
+    @PostMapping(value = "${app.outbox.webhook.ruta:/api/v1/eventos-parametros}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    void enviarEvento(@RequestHeader("X-Id-Evento") Long idEvento, @RequestBody String carga);
+}
@@ -0,0 +1,92 @@
+package com.banquito.parametros.config;
+
+import com.banquito.parametros.controller.dto.ResumenSnapshotDTO;
+import com.banquito.parametros.exception.ValidacionNegocioException;
+import com.banquito.parametros.service.SnapshotParametrosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación o importación del snapshot de parámetros desde la línea de comandos:
+ * <pre>
+ * java -jar parametros.jar --snapshot.exportar=parametros.ndjson.gz
+ * java -jar parametros.jar --snapshot.importar=parametros.ndjson.gz
+ * </pre>
+ * Con cualquiera de las dos opciones la aplicación arranca sin servidor web, ejecuta la
+ * operación y termina (ver {@link com.banquito.parametros.ParametrosApplication}). Los
+ * archivos terminados en .gz se escriben y leen con gzip. Código de salida 1 si el snapshot
+ * se rechazó.
+ */
+@Component
+public class ComandoSnapshot implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ComandoSnapshot.class);
+
+    static final String EXPORTAR = "snapshot.exportar";
+    static final String IMPORTAR = "snapshot.importar";
+
+    private final SnapshotParametrosService snapshotService;
+    private int codigoSalida;
+
+    public ComandoSnapshot(SnapshotParametrosService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    public static boolean solicitado(String[] args) {
+        return Arrays.stream(args)
+                .anyMatch(arg -> arg.startsWith("--" + EXPORTAR + "=") || arg.startsWith("--" + IMPORTAR + "="));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path exportar = archivo(args, EXPORTAR);
+        Path importar = archivo(args, IMPORTAR);
+        if (exportar != null) {
+            try (OutputStream salida = Files.newOutputStream(exportar);
+                 OutputStream destino = comprimido(exportar) ? new GZIPOutputStream(salida) : salida) {
+                ResumenSnapshotDTO resumen = snapshotService.exportar(destino);
+                log.info("Snapshot escrito en {}: {} productos, {} tasas, {} documentos, sha256 {}", exportar,
+                        resumen.getProductos(), resumen.getTasas(), resumen.getDocumentos(), resumen.getSha256());
+            }
+        }
+        if (importar != null) {
+            try (InputStream entrada = Files.newInputStream(importar);
+                 InputStream origen = comprimido(importar) ? new GZIPInputStream(entrada) : entrada) {
+                ResumenSnapshotDTO resumen = snapshotService.importar(origen);
+                log.info("Snapshot {} importado: {} productos, {} tasas, {} documentos", importar,
+                        resumen.getProductos(), resumen.getTasas(), resumen.getDocumentos());
+            } catch (ValidacionNegocioException e) {
+                log.error("Snapshot {} rechazado: {}", importar, e.getMessage());
+                codigoSalida = 1;
+            }
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return codigoSalida;
+    }
+
+    private static Path archivo(ApplicationArguments args, String opcion) {
+        List<String> valores = args.getOptionValues(opcion);
+        return valores == null || valores.isEmpty() ? null : Path.of(valores.get(0));
+    }
+
+    private static boolean comprimido(Path archivo) {
+        return archivo.getFileName().toString().endsWith(".gz");
+    }
+}
@@ -0,0 +1,73 @@
+package com.banquito.parametros.config;
+
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Con el contexto procesado por AOT las condiciones de los beans se evalúan al compilar: qué
+ * destino de outbox se crea, si hay réplicas de lectura y si se usan hilos virtuales quedan
+ * fijos en el artefacto. Al compilar se guarda el resultado en la definición de un bean y al
+ * arrancar se compara con la configuración actual; si difiere, la aplicación no arranca en
+ * lugar de ignorar la configuración en silencio. Sin AOT la definición se crea en el mismo
+ * arranque y siempre coincide.
+ */
+@Component
+public class CondicionesAot implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+    static final String BEAN = "condicionesAlCompilar";
+
+    private Environment entorno;
+
+    // Se crea antes que el resto de los beans, sin inyección por constructor
+    @Override
+    public void setEnvironment(Environment entorno) {
+        this.entorno = entorno;
+    }
+
+    public record Condiciones(String valores) {
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        String actuales = codificar(condiciones(entorno));
+        if (!registry.containsBeanDefinition(BEAN)) {
+            RootBeanDefinition definicion = new RootBeanDefinition(Condiciones.class);
+            definicion.getConstructorArgumentValues().addIndexedArgumentValue(0, actuales);
+            registry.registerBeanDefinition(BEAN, definicion);
+            return;
+        }
+        String alCompilar = (String) registry.getBeanDefinition(BEAN).getConstructorArgumentValues()
+                .getIndexedArgumentValue(0, String.class).getValue();
+        if (!actuales.equals(alCompilar)) {
+            throw new IllegalStateException("El artefacto se compiló con AOT con " + alCompilar
+                    + " y se está ejecutando con " + actuales + ". Vuelva a compilar con esos valores"
+                    + " (mvn -P produccion package -Dspring-boot.aot.arguments=...) o ejecute sin"
+                    + " -Dspring.aot.enabled=true");
+        }
+    }
+
+    // El resultado de cada condición y no el valor: las URLs de las réplicas pueden cambiar
+    static Map<String, String> condiciones(Environment entorno) {
+        Map<String, String> condiciones = new LinkedHashMap<>();
+        String replicas = entorno.getProperty("app.replicas.urls", "");
+        condiciones.put("app.replicas.urls", String.valueOf(!replicas.isBlank() && !"false".equalsIgnoreCase(replicas)));
+        condiciones.put("app.outbox.destino", entorno.getProperty("app.outbox.destino", "log"));
+        condiciones.put("spring.threads.virtual.enabled",
+                String.valueOf(entorno.getProperty("spring.threads.virtual.enabled", Boolean.class, false)));
+        return condiciones;
+    }
+
+    private static String codificar(Map<String, String> condiciones) {
+        return condiciones.entrySet().stream()
+                .map(condicion -> condicion.getKey() + "=" + condicion.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,92 @@
+package com.banquito.parametros.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita cuántas conexiones pueden estar prestadas a la vez. Quien excede el límite espera
+ * un permiso en orden de llegada (semáforo justo) en vez de competir por el pool; si la
+ * espera supera el máximo se lanza la misma excepción transitoria que lanzaría Hikari.
+ * El permiso se devuelve al cerrar la conexión.
+ */
+class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final int maximo;
+    private final Duration esperaMaxima;
+
+    DataSourceLimitado(DataSource destino, int maximo, Duration esperaMaxima) {
+        super(destino);
+        this.permisos = new Semaphore(maximo, true);
+        this.maximo = maximo;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String clave) throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection(usuario, clave));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    int permisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("No se obtuvo conexión en " + esperaMaxima
+                        + ": " + maximo + " conexiones en uso");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando conexión", e);
+        }
+    }
+
+    private Connection liberarAlCerrar(Connection conexion) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close") && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexion.close();
+                        } finally {
+                            permisos.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexion, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
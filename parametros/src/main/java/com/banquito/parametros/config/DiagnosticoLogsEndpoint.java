@@ -0,0 +1,49 @@
+package com.banquito.parametros.config;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * /actuator/diagnostico: activa por un tiempo limitado el registro de SQL y parámetros solo
+ * para un producto o para las solicitudes con un valor de encabezado.
+ * POST {"idProducto": 7, "duracion": "PT10M"} o {"valorEncabezado": "caso-123"}; DELETE lo apaga.
+ */
+@Component
+@Endpoint(id = "diagnostico")
+public class DiagnosticoLogsEndpoint {
+
+    private final FiltroDiagnosticoLogs filtro;
+
+    public DiagnosticoLogsEndpoint(FiltroDiagnosticoLogs filtro) {
+        this.filtro = filtro;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        return filtro.estado();
+    }
+
+    @WriteOperation
+    public Map<String, Object> activar(@Nullable Integer idProducto, @Nullable String valorEncabezado,
+                                       @Nullable Duration duracion) {
+        try {
+            return filtro.activar(idProducto, valorEncabezado, duracion);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> desactivar() {
+        filtro.desactivar();
+        return filtro.estado();
+    }
+}
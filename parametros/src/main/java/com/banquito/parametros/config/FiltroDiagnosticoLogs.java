@@ -0,0 +1,134 @@
+package com.banquito.parametros.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Marca cada solicitud para {@link FiltroNivelLogs}. Con el diagnóstico activo (endpoint
+ * /actuator/diagnostico) las solicitudes de un producto, por ruta o por parámetro idProducto,
+ * o las que traen el encabezado configurado con el valor indicado registran su SQL y sus
+ * parámetros; el resto no paga ese costo. Fuera del diagnóstico solo una fracción
+ * app.logs.muestreo de las solicitudes registra el INFO de la aplicación.
+ */
+@Component
+public class FiltroDiagnosticoLogs extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroDiagnosticoLogs.class);
+
+    private static final Pattern PRODUCTO_EN_RUTA = Pattern.compile("/productos-credito/(\\d+)(?:/|$)");
+
+    private final double muestreo;
+    private final String encabezado;
+    private final Duration duracionMaxima;
+    private volatile Diagnostico diagnostico;
+
+    public FiltroDiagnosticoLogs(@Value("${app.logs.muestreo:1.0}") double muestreo,
+                                 @Value("${app.diagnostico.encabezado:X-Diagnostico}") String encabezado,
+                                 @Value("${app.diagnostico.duracion-maxima:PT30M}") Duration duracionMaxima) {
+        this.muestreo = muestreo;
+        this.encabezado = encabezado;
+        this.duracionMaxima = duracionMaxima;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest solicitud, HttpServletResponse respuesta, FilterChain cadena)
+            throws ServletException, IOException {
+        String motivo = motivoDiagnostico(solicitud);
+        if (motivo != null) {
+            MDC.put(FiltroNivelLogs.MDC_DIAGNOSTICO, motivo);
+        } else if (muestreo < 1 && ThreadLocalRandom.current().nextDouble() >= muestreo) {
+            MDC.put(FiltroNivelLogs.MDC_FUERA_DE_MUESTRA, "true");
+        }
+        try {
+            cadena.doFilter(solicitud, respuesta);
+        } finally {
+            MDC.remove(FiltroNivelLogs.MDC_DIAGNOSTICO);
+            MDC.remove(FiltroNivelLogs.MDC_FUERA_DE_MUESTRA);
+        }
+    }
+
+    private String motivoDiagnostico(HttpServletRequest solicitud) {
+        Diagnostico actual = diagnostico;
+        if (actual == null) {
+            return null;
+        }
+        if (actual.expira().isBefore(Instant.now())) {
+            desactivar();
+            return null;
+        }
+        if (actual.valorEncabezado() != null && actual.valorEncabezado().equals(solicitud.getHeader(encabezado))) {
+            return "encabezado";
+        }
+        if (actual.idProducto() != null && actual.idProducto().equals(idProducto(solicitud))) {
+            return "producto-" + actual.idProducto();
+        }
+        return null;
+    }
+
+    private static Integer idProducto(HttpServletRequest solicitud) {
+        Matcher ruta = PRODUCTO_EN_RUTA.matcher(solicitud.getRequestURI());
+        String valor = ruta.find() ? ruta.group(1) : solicitud.getParameter("idProducto");
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ========== ACTIVACIÓN ==========
+
+    public Map<String, Object> activar(Integer idProducto, String valorEncabezado, Duration duracion) {
+        if (idProducto == null && (valorEncabezado == null || valorEncabezado.isBlank())) {
+            throw new IllegalArgumentException("Indique idProducto o valorEncabezado");
+        }
+        Duration vigencia = duracion == null || duracion.compareTo(duracionMaxima) > 0 ? duracionMaxima : duracion;
+        diagnostico = new Diagnostico(idProducto, valorEncabezado, Instant.now().plus(vigencia));
+        log.warn("Diagnóstico de SQL activado por {}: producto {}, encabezado {}", vigencia, idProducto,
+                valorEncabezado == null ? "-" : encabezado);
+        return estado();
+    }
+
+    public void desactivar() {
+        if (diagnostico != null) {
+            diagnostico = null;
+            log.warn("Diagnóstico de SQL desactivado");
+        }
+    }
+
+    public Map<String, Object> estado() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        Diagnostico actual = diagnostico;
+        estado.put("activo", actual != null && actual.expira().isAfter(Instant.now()));
+        estado.put("muestreo", muestreo);
+        estado.put("encabezado", encabezado);
+        if (actual != null) {
+            estado.put("idProducto", actual.idProducto());
+            estado.put("conValorEncabezado", actual.valorEncabezado() != null);
+            estado.put("expira", actual.expira());
+        }
+        return estado;
+    }
+
+    private record Diagnostico(Integer idProducto, String valorEncabezado, Instant expira) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.banquito.parametros.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.List;
+
+/**
+ * Filtro de Logback que decide por solicitud (ver {@link FiltroDiagnosticoLogs}, que marca
+ * la solicitud en el MDC). En una solicitud en diagnóstico deja pasar el SQL, los parámetros
+ * enlazados de Hibernate y el DEBUG de la aplicación aunque esos loggers estén en INFO; en una
+ * solicitud fuera de la muestra descarta el INFO de la aplicación. WARN y ERROR pasan siempre.
+ * Se registra en logback-spring.xml.
+ */
+public class FiltroNivelLogs extends TurboFilter {
+
+    static final String MDC_DIAGNOSTICO = "diagnostico";
+    static final String MDC_FUERA_DE_MUESTRA = "fueraDeMuestra";
+
+    private static final String PAQUETE_APLICACION = "com.banquito.parametros";
+    private static final List<String> LOGGERS_DIAGNOSTICO = List.of(
+            "org.hibernate.SQL", "org.hibernate.orm.jdbc.bind", PAQUETE_APLICACION);
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String formato, Object[] parametros,
+                              Throwable error) {
+        if (level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (MDC.get(MDC_DIAGNOSTICO) != null) {
+            for (String prefijo : LOGGERS_DIAGNOSTICO) {
+                if (logger.getName().startsWith(prefijo)) {
+                    return FilterReply.ACCEPT;
+                }
+            }
+        } else if (MDC.get(MDC_FUERA_DE_MUESTRA) != null && logger.getName().startsWith(PAQUETE_APLICACION)) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,30 @@
+package com.banquito.parametros.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Las migraciones se omiten al arrancar en modo de solo lectura ({@link InicioSinBaseDatos}).
+ * Sin AOT basta con spring.flyway.enabled=false, pero con el contexto procesado por AOT la
+ * configuración de Flyway quedó decidida al compilar y la estrategia es lo que puede cambiarse.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy estrategiaMigracion(@Value("${app.solo-lectura.al-iniciar:false}") boolean soloLectura) {
+        return flyway -> {
+            if (soloLectura) {
+                log.warn("Arranque en modo de solo lectura: no se ejecutan las migraciones de Flyway");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
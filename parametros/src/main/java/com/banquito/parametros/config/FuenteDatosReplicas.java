@@ -0,0 +1,114 @@
+package com.banquito.parametros.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fuente de datos de las conexiones de solo lectura: reparte en round-robin entre las
+ * réplicas cuyo retraso de replicación no supera el máximo y, si no queda ninguna,
+ * entrega conexiones del primario. El retraso se mide periódicamente; una réplica que
+ * no responde se trata como retrasada hasta la siguiente medición.
+ */
+public class FuenteDatosReplicas extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FuenteDatosReplicas.class);
+
+    // Segundos desde la última transacción aplicada; 0 si la réplica ya aplicó todo lo recibido
+    static final String CONSULTA_RETRASO_POSTGRES = "select case when not pg_is_in_recovery()"
+            + " or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration retrasoMaximo;
+    private final String consultaRetraso;
+    private final AtomicInteger siguiente = new AtomicInteger();
+    private volatile List<String> disponibles = List.of();
+
+    public FuenteDatosReplicas(DataSource primaria, Map<String, DataSource> replicas,
+                               Duration retrasoMaximo, String consultaRetraso) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.retrasoMaximo = retrasoMaximo;
+        this.consultaRetraso = consultaRetraso;
+        setTargetDataSources(new HashMap<>(replicas));
+        setDefaultTargetDataSource(primaria);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        verificarRetraso();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> candidatas = disponibles;
+        if (candidatas.isEmpty()) {
+            // Sin clave se usa la fuente por defecto: el primario
+            return null;
+        }
+        return candidatas.get(Math.floorMod(siguiente.getAndIncrement(), candidatas.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.replicas.intervalo-verificacion:PT5S}",
+            initialDelayString = "${app.replicas.intervalo-verificacion:PT5S}")
+    public void verificarRetraso() {
+        List<String> vigentes = new ArrayList<>(replicas.size());
+        replicas.forEach((nombre, replica) -> {
+            Double retraso = medirRetraso(nombre, replica);
+            if (retraso != null && retraso <= retrasoMaximo.toMillis() / 1000.0) {
+                vigentes.add(nombre);
+            } else if (disponibles.contains(nombre)) {
+                log.warn("Réplica {} fuera de rotación: retraso {} s (máximo {})", nombre, retraso, retrasoMaximo);
+            }
+        });
+        for (String nombre : vigentes) {
+            if (!disponibles.contains(nombre)) {
+                log.info("Réplica {} en rotación para lecturas", nombre);
+            }
+        }
+        if (vigentes.isEmpty() && !replicas.isEmpty()) {
+            log.warn("Ninguna réplica disponible: las lecturas se envían al primario");
+        }
+        disponibles = List.copyOf(vigentes);
+    }
+
+    private Double medirRetraso(String nombre, DataSource replica) {
+        try (Connection conexion = replica.getConnection();
+             Statement sentencia = conexion.createStatement();
+             ResultSet resultado = sentencia.executeQuery(consultaRetraso)) {
+            return resultado.next() ? resultado.getDouble(1) : null;
+        } catch (SQLException e) {
+            log.warn("No se pudo medir el retraso de la réplica {}: {}", nombre, e.getMessage());
+            return null;
+        }
+    }
+
+    public List<String> replicasDisponibles() {
+        return disponibles;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.banquito.parametros.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo de hilos virtuales (spring.threads.virtual.enabled=true). Spring Boot ya atiende
+ * Tomcat y las tareas programadas con hilos virtuales; aquí se agrega lo que falta para que
+ * miles de solicitudes concurrentes no se conviertan en miles de pedidos simultáneos al pool
+ * de conexiones: el DataSource se envuelve en {@link DataSourceLimitado}, con tantos permisos
+ * como conexiones tiene el pool. Las llamadas Feign salen por java.net.http.HttpClient, que
+ * bloquea sin fijar el hilo portador.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HilosVirtualesConfig.class);
+
+    @Bean
+    public static BeanPostProcessor limitadorConexiones(Environment entorno) {
+        int maximo = entorno.getProperty("app.conexiones.maximo-concurrente", Integer.class,
+                entorno.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration esperaMaxima = entorno.getProperty("app.conexiones.espera-maxima", Duration.class,
+                Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                // Con réplicas "dataSource" es el proxy que enruta: el límite cubre primario y réplicas juntos
+                if ("dataSource".equals(nombre) && bean instanceof DataSource dataSource) {
+                    log.info("Hilos virtuales: máximo {} conexiones prestadas a la vez (espera máxima {})",
+                            maximo, esperaMaxima);
+                    return new DataSourceLimitado(dataSource, maximo, esperaMaxima);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Reemplaza al HttpClient que crea spring-cloud-openfeign para atender las respuestas en hilos virtuales
+    @Bean
+    public HttpClient httpClientFeign(FeignHttpClientProperties propiedades) {
+        return HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.valueOf(propiedades.getHttp2().getVersion()))
+                .connectTimeout(Duration.ofMillis(propiedades.getConnectionTimeout()))
+                .followRedirects(propiedades.isFollowRedirects() ? HttpClient.Redirect.ALWAYS : HttpClient.Redirect.NEVER)
+                .build();
+    }
+}
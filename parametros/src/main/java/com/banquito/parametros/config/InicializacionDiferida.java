@@ -0,0 +1,43 @@
+package com.banquito.parametros.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * Difiere hasta el primer uso los beans que no intervienen en atender solicitudes de negocio:
+ * la documentación OpenAPI (springdoc y {@link OpenApiConfig}) se arma con la primera consulta
+ * a /api-docs o a swagger-ui, y los clientes Feign con la primera llamada saliente. Quienes
+ * inyectan un cliente Feign lo hacen con @Lazy para no forzar su creación al arrancar.
+ */
+@Component
+public class InicializacionDiferida implements BeanFactoryPostProcessor {
+
+    private static final String SPRINGDOC = "org.springdoc.";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String nombre : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definicion = beanFactory.getBeanDefinition(nombre);
+            if (definicion.isSingleton() && diferible(definicion)) {
+                definicion.setLazyInit(true);
+            }
+        }
+    }
+
+    // Solo los beans de métodos @Bean: las clases de configuración de springdoc se crean al
+    // arrancar porque algunas preparan estado al inicializarse (la versión de swagger-ui)
+    private static boolean diferible(BeanDefinition definicion) {
+        if (definicion instanceof AnnotatedBeanDefinition anotada && anotada.getFactoryMethodMetadata() != null) {
+            String declarante = anotada.getFactoryMethodMetadata().getDeclaringClassName();
+            if (declarante.startsWith(SPRINGDOC) || declarante.equals(OpenApiConfig.class.getName())) {
+                return true;
+            }
+        }
+        Class<?> tipo = definicion.getResolvableType().resolve();
+        return tipo != null && tipo.isInterface() && tipo.isAnnotationPresent(FeignClient.class);
+    }
+}
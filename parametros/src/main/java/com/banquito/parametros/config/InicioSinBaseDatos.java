@@ -0,0 +1,51 @@
+package com.banquito.parametros.config;
+
+import com.banquito.parametros.service.ModoSoloLectura;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Arranque sin base de datos: si hay un libro de parámetros guardado y la base no responde,
+ * omite todo lo que la necesita al iniciar (migraciones, validación del esquema de Hibernate
+ * y verificación de índices) y arranca en modo de solo lectura, atendiendo las consultas
+ * desde el archivo. Sin archivo el arranque sigue fallando como antes: no hay nada que servir.
+ */
+public class InicioSinBaseDatos implements EnvironmentPostProcessor {
+
+    private static final String FUENTE = "inicioSinBaseDatos";
+
+    private final Log log;
+
+    public InicioSinBaseDatos(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(InicioSinBaseDatos.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String ruta = environment.getProperty("app.libro-parametros.archivo.ruta", "");
+        String url = environment.getProperty("spring.datasource.url");
+        if (ruta.isBlank() || url == null || !Files.isReadable(Path.of(ruta))) {
+            return;
+        }
+        if (ModoSoloLectura.baseDisponible(url, environment.getProperty("spring.datasource.username"),
+                environment.getProperty("spring.datasource.password"))) {
+            return;
+        }
+        log.warn("La base de datos no responde: se arranca en modo de solo lectura con el libro de " + ruta);
+        environment.getPropertySources().addFirst(new MapPropertySource(FUENTE, Map.of(
+                "spring.flyway.enabled", "false",
+                "spring.jpa.hibernate.ddl-auto", "none",
+                // Hibernate toma el dialecto configurado en lugar de consultarlo a la base
+                "spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access", "false",
+                "app.esquema.verificar", "false",
+                "app.solo-lectura.al-iniciar", "true")));
+    }
+}
@@ -0,0 +1,72 @@
+package com.banquito.parametros.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de lectura. Solo se activa si hay URLs en app.replicas.urls; sin ellas se usa
+ * el DataSource que configura Spring Boot. Las conexiones de transacciones readOnly van a
+ * las réplicas (ver {@link FuenteDatosReplicas}) y el resto al primario. El proxy difiere
+ * la obtención de la conexión hasta la primera sentencia, cuando ya se sabe si la
+ * transacción es de solo lectura.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.replicas.urls")
+public class ReplicasLecturaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource fuenteDatosPrimaria(DataSourceProperties propiedades) {
+        return propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public FuenteDatosReplicas fuenteDatosReplicas(HikariDataSource fuenteDatosPrimaria,
+                                                   DataSourceProperties propiedades,
+                                                   @Value("${app.replicas.urls}") List<String> urls,
+                                                   @Value("${app.replicas.usuario:}") String usuario,
+                                                   @Value("${app.replicas.clave:}") String clave,
+                                                   @Value("${app.replicas.tamanio-pool:10}") int tamanioPool,
+                                                   @Value("${app.replicas.retraso-maximo:PT5S}") Duration retrasoMaximo,
+                                                   @Value("${app.replicas.consulta-retraso:}") String consultaRetraso) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(usuario.isBlank() ? propiedades.determineUsername() : usuario);
+            replica.setPassword(usuario.isBlank() ? propiedades.determinePassword() : clave);
+            replica.setDriverClassName(propiedades.determineDriverClassName());
+            replica.setMaximumPoolSize(tamanioPool);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new FuenteDatosReplicas(fuenteDatosPrimaria, replicas, retrasoMaximo,
+                consultaRetraso.isBlank() ? FuenteDatosReplicas.CONSULTA_RETRASO_POSTGRES : consultaRetraso);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource fuenteDatosPrimaria, FuenteDatosReplicas fuenteDatosReplicas) {
+        return enrutar(fuenteDatosPrimaria, fuenteDatosReplicas);
+    }
+
+    static DataSource enrutar(DataSource primaria, DataSource replicas) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaria);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+}
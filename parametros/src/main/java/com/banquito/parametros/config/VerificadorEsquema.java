@@ -0,0 +1,72 @@
+package com.banquito.parametros.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Comprueba al arrancar que existan los índices y restricciones creados por las
+ * migraciones de Flyway. Si falta alguno la aplicación no arranca: sin ellos las
+ * consultas frecuentes degeneran en recorridos completos a medida que crecen las tablas.
+ * Con app.esquema.verificar=false se omite; la propiedad se lee al arrancar y no como
+ * condición del bean para que también aplique con el contexto procesado por AOT.
+ */
+@Component
+public class VerificadorEsquema {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorEsquema.class);
+
+    static final List<String> INDICES_REQUERIDOS = List.of(
+            "ix_tasas_interes_producto_estado_inicio",
+            "ix_tasas_interes_activas_producto_inicio",
+            "ix_tasas_interes_producto_inicio_id",
+            "ix_documentos_requeridos_producto_nombre",
+            "ix_documentos_requeridos_activos_producto_nombre",
+            "ix_productos_credito_activos_nombre",
+            "ix_eventos_outbox_pendientes",
+            "ix_eventos_outbox_fecha_publicacion");
+
+    static final List<String> RESTRICCIONES_REQUERIDAS = List.of(
+            "ex_tasas_interes_sin_traslape");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String esquema;
+    private final boolean habilitado;
+
+    public VerificadorEsquema(JdbcTemplate jdbcTemplate,
+                              @Value("${spring.jpa.properties.hibernate.default_schema:parametros}") String esquema,
+                              @Value("${app.esquema.verificar:true}") boolean habilitado) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.esquema = esquema.toLowerCase();
+        this.habilitado = habilitado;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void verificar() {
+        if (!habilitado) {
+            return;
+        }
+        Set<String> faltantes = new HashSet<>(INDICES_REQUERIDOS);
+        faltantes.removeAll(jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where schemaname = ?", String.class, esquema));
+        Set<String> restriccionesFaltantes = new HashSet<>(RESTRICCIONES_REQUERIDAS);
+        restriccionesFaltantes.removeAll(jdbcTemplate.queryForList(
+                "select c.conname from pg_constraint c join pg_namespace n on n.oid = c.connamespace"
+                        + " where n.nspname = ?", String.class, esquema));
+        faltantes.addAll(restriccionesFaltantes);
+        if (!faltantes.isEmpty()) {
+            throw new IllegalStateException("Faltan índices o restricciones en el esquema " + esquema + ": "
+                    + faltantes + ". Ejecute las migraciones de Flyway antes de iniciar la aplicación");
+        }
+        log.info("Esquema {} verificado: {} índices y {} restricciones requeridos presentes",
+                esquema, INDICES_REQUERIDOS.size(), RESTRICCIONES_REQUERIDAS.size());
+    }
+}
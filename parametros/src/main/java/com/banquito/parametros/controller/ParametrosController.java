@@ -1,16 +1,36 @@
 package com.banquito.parametros.controller;
 
-import com.banquito.parametros.controller.dto.*;;
+import com.banquito.parametros.controller.dto.*;
 import com.banquito.parametros.exception.*;
+import com.banquito.parametros.service.CotizacionService;
+import com.banquito.parametros.service.FlujoCambiosParametros;
+import com.banquito.parametros.service.LoteParametrosService;
+import com.banquito.parametros.service.MetricasParametros;
+import com.banquito.parametros.service.ModoSoloLectura;
 import com.banquito.parametros.service.ParametrosService;
+import com.banquito.parametros.service.PreaprobacionService;
+import com.banquito.parametros.service.SnapshotParametrosService;
+import com.banquito.parametros.service.Versionado;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/parametros")
@@ -19,9 +39,29 @@ public class ParametrosController {
     private static final Logger log = LoggerFactory.getLogger(ParametrosController.class);
     
     private final ParametrosService parametrosService;
+    private final CotizacionService cotizacionService;
+    private final FlujoCambiosParametros flujoCambios;
+    private final LoteParametrosService loteParametrosService;
+    private final PreaprobacionService preaprobacionService;
+    private final SnapshotParametrosService snapshotService;
+    private final ModoSoloLectura modoSoloLectura;
+    private final MetricasParametros metricas;
+    private final ObjectMapper objectMapper;
 
-    public ParametrosController(ParametrosService parametrosService) {
+    public ParametrosController(ParametrosService parametrosService, CotizacionService cotizacionService,
+                                FlujoCambiosParametros flujoCambios, LoteParametrosService loteParametrosService,
+                                PreaprobacionService preaprobacionService, SnapshotParametrosService snapshotService,
+                                ModoSoloLectura modoSoloLectura, MetricasParametros metricas,
+                                ObjectMapper objectMapper) {
         this.parametrosService = parametrosService;
+        this.cotizacionService = cotizacionService;
+        this.flujoCambios = flujoCambios;
+        this.loteParametrosService = loteParametrosService;
+        this.preaprobacionService = preaprobacionService;
+        this.snapshotService = snapshotService;
+        this.modoSoloLectura = modoSoloLectura;
+        this.metricas = metricas;
+        this.objectMapper = objectMapper;
     }
 
     // ========== PRODUCTOS DE CRÉDITO ==========
@@ -43,22 +83,39 @@ public class ParametrosController {
         return ResponseEntity.ok(productoActualizado);
     }
 
+    @PostMapping("/productos-credito/lote")
+    public ResponseEntity<List<ResultadoLoteDTO>> guardarLoteProductosCredito(
+            @Valid @RequestBody LoteProductosCreditoDTO lote) {
+        log.info("Recibida solicitud para guardar lote de {} productos de crédito", lote.getProductos().size());
+        List<ResultadoLoteDTO> resultados = loteParametrosService.guardarProductos(lote.getProductos());
+        return ResponseEntity.ok(resultados);
+    }
+
+    @GetMapping("/productos-credito/{id}")
+    public ResponseEntity<ProductoCreditoDTO> obtenerProductoPorId(@PathVariable Integer id) {
+        log.debug("Recibida solicitud para obtener producto de crédito con ID: {}", id);
+        
+        Versionado<ProductoCreditoDTO> producto = parametrosService.obtenerProductoPorId(id);
+        
+        return ResponseEntity.ok().eTag(producto.version()).body(producto.contenido());
+    }
+
     @GetMapping("/productos-credito/codigo/{codigo}")
     public ResponseEntity<ProductoCreditoDTO> obtenerProductoPorCodigo(@PathVariable String codigo) {
-        log.info("Recibida solicitud para obtener producto de crédito con código: {}", codigo);
+        log.debug("Recibida solicitud para obtener producto de crédito con código: {}", codigo);
         
-        ProductoCreditoDTO producto = parametrosService.obtenerProductoPorCodigo(codigo);
+        Versionado<ProductoCreditoDTO> producto = parametrosService.obtenerProductoPorCodigo(codigo);
         
-        return ResponseEntity.ok(producto);
+        return ResponseEntity.ok().eTag(producto.version()).body(producto.contenido());
     }
 
     @GetMapping("/productos-credito/activos")
     public ResponseEntity<List<ProductoCreditoDTO>> obtenerProductosActivos() {
-        log.info("Recibida solicitud para obtener productos de crédito activos");
+        log.debug("Recibida solicitud para obtener productos de crédito activos");
         
-        List<ProductoCreditoDTO> productos = parametrosService.obtenerProductosActivos();
+        Versionado<List<ProductoCreditoDTO>> productos = parametrosService.obtenerProductosActivos();
         
-        return ResponseEntity.ok(productos);
+        return ResponseEntity.ok().eTag(productos.version()).body(productos.contenido());
     }
 
     // ========== TASAS DE INTERÉS ==========
@@ -84,31 +141,70 @@ public class ParametrosController {
         return ResponseEntity.ok(tasaActualizada);
     }
 
+    @PostMapping("/tasas-interes/lote")
+    public ResponseEntity<List<ResultadoLoteDTO>> guardarLoteTasasInteres(
+            @Valid @RequestBody LoteTasasInteresDTO lote) {
+        log.info("Recibida solicitud para guardar lote de {} tasas de interés", lote.getTasas().size());
+        
+        List<ResultadoLoteDTO> resultados = loteParametrosService.guardarTasas(lote.getTasas());
+        
+        return ResponseEntity.ok(resultados);
+    }
+
     @GetMapping("/tasas-interes/{id}")
     public ResponseEntity<TasaInteresDTO> obtenerTasaPorId(@PathVariable Integer id) {
-        log.info("Recibida solicitud para obtener tasa de interés con ID: {}", id);
+        log.debug("Recibida solicitud para obtener tasa de interés con ID: {}", id);
         
-        TasaInteresDTO tasa = parametrosService.obtenerTasaPorId(id);
+        Versionado<TasaInteresDTO> tasa = parametrosService.obtenerTasaPorId(id);
         
-        return ResponseEntity.ok(tasa);
+        return ResponseEntity.ok().eTag(tasa.version()).body(tasa.contenido());
     }
 
     @GetMapping("/productos-credito/{idProducto}/tasa-vigente")
     public ResponseEntity<TasaInteresDTO> obtenerTasaVigente(@PathVariable Integer idProducto) {
-        log.info("Recibida solicitud para obtener tasa vigente del producto: {}", idProducto);
+        log.debug("Recibida solicitud para obtener tasa vigente del producto: {}", idProducto);
         
-        TasaInteresDTO tasaVigente = parametrosService.obtenerTasaVigente(idProducto);
+        Versionado<TasaInteresDTO> tasaVigente = parametrosService.obtenerTasaVigente(idProducto);
         
-        return ResponseEntity.ok(tasaVigente);
+        return ResponseEntity.ok().eTag(tasaVigente.version()).body(tasaVigente.contenido());
     }
 
     @GetMapping("/productos-credito/{idProducto}/tasas-interes")
     public ResponseEntity<List<TasaInteresDTO>> obtenerTasasPorProducto(@PathVariable Integer idProducto) {
-        log.info("Recibida solicitud para obtener tasas de interés del producto: {}", idProducto);
+        log.debug("Recibida solicitud para obtener tasas de interés del producto: {}", idProducto);
         
-        List<TasaInteresDTO> tasas = parametrosService.obtenerTasasPorProducto(idProducto);
+        Versionado<List<TasaInteresDTO>> tasas = parametrosService.obtenerTasasPorProducto(idProducto);
         
-        return ResponseEntity.ok(tasas);
+        return ResponseEntity.ok().eTag(tasas.version()).body(tasas.contenido());
+    }
+
+    @GetMapping(value = "/productos-credito/{idProducto}/tasas-interes/historial",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PaginaTasasInteresDTO> obtenerHistorialTasas(
+            @PathVariable Integer idProducto,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        log.debug("Recibida solicitud para obtener historial de tasas del producto: {}", idProducto);
+        return ResponseEntity.ok(parametrosService.obtenerHistorialTasas(idProducto, cursor, tamanio));
+    }
+
+    // Historial completo en NDJSON, una tasa por línea a medida que se leen del cursor de la base;
+    // en modo de solo lectura, del historial que cada sección del libro de parámetros conserva
+    @GetMapping(value = "/productos-credito/{idProducto}/tasas-interes/historial",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirHistorialTasas(@PathVariable Integer idProducto) {
+        log.debug("Recibida solicitud para transmitir historial de tasas del producto: {}", idProducto);
+        // Antes de empezar la respuesta, para poder contestar 404
+        parametrosService.obtenerProductoPorId(idProducto);
+        StreamingResponseBody cuerpo = salida -> parametrosService.recorrerHistorialTasas(idProducto, tasa -> {
+            try {
+                salida.write(objectMapper.writeValueAsBytes(tasa));
+                salida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
     }
 
     // ========== DOCUMENTOS REQUERIDOS ==========
@@ -135,13 +231,93 @@ public class ParametrosController {
         return ResponseEntity.ok(documentoActualizado);
     }
 
+    @PostMapping("/documentos-requeridos/lote")
+    public ResponseEntity<List<ResultadoLoteDTO>> guardarLoteDocumentosRequeridos(
+            @Valid @RequestBody LoteDocumentosRequeridosDTO lote) {
+        log.info("Recibida solicitud para guardar lote de {} documentos requeridos", lote.getDocumentos().size());
+        
+        List<ResultadoLoteDTO> resultados = loteParametrosService.guardarDocumentos(lote.getDocumentos());
+        
+        return ResponseEntity.ok(resultados);
+    }
+
     @GetMapping("/productos-credito/{idProducto}/documentos-requeridos")
     public ResponseEntity<List<DocumentoRequeridoDTO>> obtenerDocumentosPorProducto(@PathVariable Integer idProducto) {
-        log.info("Recibida solicitud para obtener documentos requeridos del producto: {}", idProducto);
+        log.debug("Recibida solicitud para obtener documentos requeridos del producto: {}", idProducto);
+        
+        Versionado<List<DocumentoRequeridoDTO>> documentos = parametrosService.obtenerDocumentosPorProducto(idProducto);
+        
+        return ResponseEntity.ok().eTag(documentos.version()).body(documentos.contenido());
+    }
+
+    // ========== COTIZACIONES ==========
+
+    @PostMapping("/cotizaciones/lote")
+    public ResponseEntity<List<ResultadoCotizacionDTO>> cotizarLote(
+            @Valid @RequestBody SolicitudCotizacionLoteDTO solicitud) {
+        log.info("Recibida solicitud para cotizar lote de {} escenarios", solicitud.getEscenarios().size());
+        
+        List<ResultadoCotizacionDTO> resultados = cotizacionService.cotizarLote(solicitud.getEscenarios());
+        
+        return ResponseEntity.ok(resultados);
+    }
+
+    // ========== PREAPROBACIONES ==========
+
+    @PostMapping("/preaprobaciones")
+    public ResponseEntity<ResultadoPreaprobacionDTO> preaprobar(
+            @Valid @RequestBody SolicitudPreaprobacionDTO solicitud) {
+        log.info("Recibida solicitud de preaprobación para cliente: {}", solicitud.getIdCliente());
         
-        List<DocumentoRequeridoDTO> documentos = parametrosService.obtenerDocumentosPorProducto(idProducto);
+        ResultadoPreaprobacionDTO resultado = preaprobacionService.preaprobar(solicitud);
         
-        return ResponseEntity.ok(documentos);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // ========== FLUJO DE CAMBIOS ==========
+
+    @GetMapping(value = "/cambios", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirCambios(
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId,
+            @RequestParam(value = "desde", required = false) String desde) {
+        log.info("Recibida suscripción al flujo de cambios desde el evento: {}",
+                ultimoEventoId != null ? ultimoEventoId : desde);
+        return flujoCambios.suscribir(ultimoEventoId != null ? ultimoEventoId : desde);
+    }
+
+    // ========== SNAPSHOT ==========
+
+    // Todos los parámetros en NDJSON con suma de verificación; comprimido con gzip si el cliente lo acepta
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarSnapshot(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion) {
+        log.info("Recibida solicitud para exportar snapshot de parámetros");
+        boolean gzip = aceptaCodificacion != null && aceptaCodificacion.contains("gzip");
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                GZIPOutputStream comprimida = new GZIPOutputStream(salida, true);
+                snapshotService.exportar(comprimida);
+                comprimida.finish();
+            } else {
+                snapshotService.exportar(salida);
+            }
+        };
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"parametros.ndjson\"");
+        if (gzip) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(cuerpo);
+    }
+
+    @PostMapping(value = "/snapshot", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResumenSnapshotDTO> importarSnapshot(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String codificacion,
+            InputStream entrada) throws IOException {
+        log.info("Recibida solicitud para importar snapshot de parámetros");
+        InputStream snapshot = "gzip".equalsIgnoreCase(codificacion) ? new GZIPInputStream(entrada) : entrada;
+        return ResponseEntity.status(HttpStatus.CREATED).body(snapshotService.importar(snapshot));
     }
 
     // ========== MANEJO DE EXCEPCIONES ==========
@@ -167,9 +343,25 @@ public class ParametrosController {
     @ExceptionHandler(ValidacionNegocioException.class)
     public ResponseEntity<String> manejarValidacionNegocio(ValidacionNegocioException ex) {
         log.error("Error de validación de negocio: {}", ex.getMessage());
+        metricas.registrarRechazo(ex);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(ParametrosSoloLecturaException.class)
+    public ResponseEntity<String> manejarSoloLectura(ParametrosSoloLecturaException ex) {
+        log.warn("Operación rechazada: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    // La base no respondió: si sigue sin responder, las siguientes solicitudes se atienden en solo lectura
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<String> manejarBaseNoDisponible(Exception ex) {
+        log.error("Base de datos no disponible: {}", ex.getMessage());
+        modoSoloLectura.registrarFalla(ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("La base de datos no está disponible. Por favor, intente más tarde.");
+    }
+
     @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
     public ResponseEntity<String> manejarValidacionCampos(org.springframework.web.bind.MethodArgumentNotValidException ex) {
         String mensaje = ex.getBindingResult().getFieldErrors().stream()
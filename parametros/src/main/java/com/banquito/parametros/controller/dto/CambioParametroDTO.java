@@ -0,0 +1,36 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Cambio confirmado sobre un parámetro, emitido por el flujo de cambios")
+public class CambioParametroDTO {
+
+    @Schema(description = "Época de la instancia que emitió el cambio; cambia al reiniciar", example = "3f9c2a1b")
+    private String epoca;
+
+    @Schema(description = "Secuencia del cambio dentro de la época; el ID del evento es época:secuencia", example = "42")
+    private Long secuencia;
+
+    @Schema(description = "Entidad modificada", example = "TasaInteres")
+    private String entidad;
+
+    @Schema(description = "ID de la entidad modificada", example = "7")
+    private Integer id;
+
+    @Schema(description = "Versión de la entidad tras el cambio", example = "3")
+    private Long version;
+
+    @Schema(description = "Estado de la entidad tras el cambio")
+    private Object datos;
+
+    public CambioParametroDTO(String entidad, Integer id, Long version, Object datos) {
+        this.entidad = entidad;
+        this.id = id;
+        this.version = version;
+        this.datos = datos;
+    }
+}
@@ -1,5 +1,6 @@
 package com.banquito.parametros.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.Data;
@@ -37,4 +38,8 @@ public class DocumentoRequeridoDTO {
     @Pattern(regexp = "^(ACTIVO|INACTIVO)$", message = "El estado debe ser ACTIVO o INACTIVO")
     @Schema(description = "Estado del documento requerido", example = "ACTIVO", required = true)
     private String estado;
-} 
\ No newline at end of file
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
+}
@@ -0,0 +1,28 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Escenario de préstamo a cotizar")
+public class EscenarioCotizacionDTO {
+
+    @Schema(description = "Código del producto de crédito", example = "AUTO001", required = true)
+    private String codigoProducto;
+
+    @Schema(description = "Valor del vehículo", example = "30000.00", required = true)
+    private BigDecimal valorVehiculo;
+
+    @Schema(description = "Monto solicitado", example = "20000.00", required = true)
+    private BigDecimal monto;
+
+    @Schema(description = "Plazo en meses", example = "48", required = true)
+    private Integer plazoMeses;
+
+    @Schema(description = "Fecha de la cotización; si se omite se usa la fecha actual", example = "2024-06-01")
+    private LocalDate fecha;
+}
@@ -0,0 +1,45 @@
+package com.banquito.parametros.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Línea de un snapshot de parámetros en NDJSON: cabecera, producto, tasa, documento o cierre")
+public class LineaSnapshotDTO {
+
+    @Schema(description = "Tipo de línea: CABECERA, PRODUCTO, TASA, DOCUMENTO o CIERRE", example = "TASA")
+    private String tipo;
+
+    @Schema(description = "Versión del formato (cabecera)", example = "1")
+    private Integer formato;
+
+    @Schema(description = "Fecha de generación del snapshot (cabecera)")
+    private LocalDateTime generado;
+
+    @Schema(description = "Producto de crédito (línea PRODUCTO)")
+    private ProductoCreditoDTO producto;
+
+    @Schema(description = "Tasa de interés (línea TASA)")
+    private TasaInteresDTO tasa;
+
+    @Schema(description = "Documento requerido (línea DOCUMENTO)")
+    private DocumentoRequeridoDTO documento;
+
+    @Schema(description = "Cantidad de productos del snapshot (cierre)", example = "12")
+    private Long productos;
+
+    @Schema(description = "Cantidad de tasas del snapshot (cierre)", example = "2400000")
+    private Long tasas;
+
+    @Schema(description = "Cantidad de documentos del snapshot (cierre)", example = "60")
+    private Long documentos;
+
+    @Schema(description = "SHA-256 en hexadecimal de todas las líneas anteriores al cierre (cierre)")
+    private String sha256;
+}
@@ -0,0 +1,19 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Lote de tasas de interés a crear o actualizar; los elementos sin ID se crean y los demás se actualizan")
+public class LoteTasasInteresDTO {
+
+    @NotEmpty(message = "El lote debe contener al menos un elemento")
+    @Size(max = 1000, message = "El lote no puede exceder 1000 elementos")
+    @Schema(description = "Tasas de interés a crear o actualizar", required = true)
+    private List<TasaInteresDTO> tasas;
+}
@@ -0,0 +1,21 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página del historial de tasas de interés de un producto, de la más reciente a la más antigua")
+public class PaginaTasasInteresDTO {
+
+    @Schema(description = "Tasas de la página")
+    private List<TasaInteresDTO> tasas;
+
+    @Schema(description = "Cursor para pedir la página siguiente; nulo si no hay más tasas", example = "MjAyNC0wMS0wMToxNQ")
+    private String siguiente;
+}
@@ -0,0 +1,42 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Resultado de la cotización de un escenario")
+public class ResultadoCotizacionDTO {
+
+    @Schema(description = "Posición del escenario en el lote", example = "0")
+    private Integer indice;
+
+    @Schema(description = "Código del producto de crédito", example = "AUTO001")
+    private String codigoProducto;
+
+    @Schema(description = "Indica si el escenario cumple las condiciones del producto", example = "true")
+    private Boolean elegible;
+
+    @Schema(description = "Motivo por el que el escenario no es elegible", example = "Monto fuera del rango del producto")
+    private String motivo;
+
+    @Schema(description = "ID de la tasa de interés aplicada", example = "1")
+    private Integer idTasaInteres;
+
+    @Schema(description = "Valor de la tasa aplicada en porcentaje", example = "12.75")
+    private BigDecimal valorTasa;
+
+    @Schema(description = "Cuota mensual", example = "534.07")
+    private BigDecimal cuota;
+
+    @Schema(description = "Última cuota, ajustada por redondeo", example = "534.19")
+    private BigDecimal ultimaCuota;
+
+    @Schema(description = "Total de intereses del préstamo", example = "5635.48")
+    private BigDecimal totalIntereses;
+
+    @Schema(description = "Total a pagar (capital más intereses)", example = "25635.48")
+    private BigDecimal totalPagar;
+}
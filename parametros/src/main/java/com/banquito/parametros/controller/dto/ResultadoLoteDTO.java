@@ -0,0 +1,33 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Resultado de un elemento de un lote de creación o actualización")
+public class ResultadoLoteDTO {
+
+    @Schema(description = "Posición del elemento en el lote", example = "0")
+    private Integer indice;
+
+    @Schema(description = "Indica si el elemento se guardó", example = "true")
+    private Boolean exitoso;
+
+    @Schema(description = "Operación realizada: CREADO o ACTUALIZADO", example = "CREADO")
+    private String operacion;
+
+    @Schema(description = "ID del registro guardado", example = "15")
+    private Integer id;
+
+    @Schema(description = "Campo que no pasó la validación", example = "fechaInicioVigencia")
+    private String campo;
+
+    @Schema(description = "Motivo por el que el elemento no se guardó", example = "Existe traslape con otra tasa vigente")
+    private String mensaje;
+
+    public ResultadoLoteDTO(Integer indice) {
+        this.indice = indice;
+    }
+}
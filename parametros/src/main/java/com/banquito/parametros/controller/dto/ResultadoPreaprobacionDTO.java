@@ -0,0 +1,35 @@
+package com.banquito.parametros.controller.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Resultado de la preaprobación")
+public class ResultadoPreaprobacionDTO {
+
+    @Schema(description = "PREAPROBADO, RECHAZADO o PENDIENTE (algún servicio externo no respondió a tiempo)",
+            example = "PREAPROBADO")
+    private String estado;
+
+    @Schema(description = "Motivos de rechazo o de la preaprobación pendiente")
+    private List<String> motivos;
+
+    @Schema(description = "Identificador del cliente", example = "1712345678")
+    private String idCliente;
+
+    @Schema(description = "Información del cliente devuelta por el servicio de clientes")
+    private JsonNode informacionCliente;
+
+    @Schema(description = "Número de identificación del vehículo", example = "1HGCM82633A004352")
+    private String vin;
+
+    @Schema(description = "Resultado de la validación del vehículo; vacío si no se pudo validar", example = "true")
+    private Boolean vehiculoValido;
+
+    @Schema(description = "Cotización del escenario solicitado")
+    private ResultadoCotizacionDTO cotizacion;
+}
@@ -0,0 +1,25 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Totales y suma de verificación de un snapshot exportado o importado")
+public class ResumenSnapshotDTO {
+
+    @Schema(description = "Productos de crédito", example = "12")
+    private long productos;
+
+    @Schema(description = "Tasas de interés", example = "2400000")
+    private long tasas;
+
+    @Schema(description = "Documentos requeridos", example = "60")
+    private long documentos;
+
+    @Schema(description = "SHA-256 en hexadecimal de las líneas del snapshot anteriores al cierre")
+    private String sha256;
+}
@@ -0,0 +1,19 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Lote de escenarios a cotizar")
+public class SolicitudCotizacionLoteDTO {
+
+    @NotEmpty(message = "El lote debe contener al menos un escenario")
+    @Size(max = 20000, message = "El lote no puede exceder 20000 escenarios")
+    @Schema(description = "Escenarios a cotizar", required = true)
+    private List<EscenarioCotizacionDTO> escenarios;
+}
@@ -0,0 +1,27 @@
+package com.banquito.parametros.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Solicitud de preaprobación de crédito vehicular")
+public class SolicitudPreaprobacionDTO {
+
+    @NotBlank(message = "El ID del cliente es requerido")
+    @Schema(description = "Identificador del cliente", example = "1712345678", required = true)
+    private String idCliente;
+
+    @NotBlank(message = "El VIN del vehículo es requerido")
+    @Pattern(regexp = "^[A-HJ-NPR-Z0-9]{17}$", message = "El VIN debe tener 17 caracteres alfanuméricos (sin I, O ni Q)")
+    @Schema(description = "Número de identificación del vehículo", example = "1HGCM82633A004352", required = true)
+    private String vin;
+
+    @NotNull(message = "El escenario a cotizar es requerido")
+    @Schema(description = "Producto, monto y plazo solicitados", required = true)
+    private EscenarioCotizacionDTO escenario;
+}
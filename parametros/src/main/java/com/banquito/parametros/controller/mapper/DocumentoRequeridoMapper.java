@@ -3,6 +3,7 @@ package com.banquito.parametros.controller.mapper;
 import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
 import com.banquito.parametros.model.DocumentoRequerido;
 import com.banquito.parametros.model.EstadosParametros;
+import com.banquito.parametros.repository.DocumentoRequeridoProyeccion;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -46,10 +47,40 @@ public class DocumentoRequeridoMapper {
         if (model.getEstado() != null) {
             documentoRequeridoDTO.setEstado(model.getEstado().name());
         }
+        documentoRequeridoDTO.setVersion(model.getVersion());
 
         return documentoRequeridoDTO;
     }
 
+    public DocumentoRequeridoDTO toDTO(DocumentoRequeridoProyeccion proyeccion) {
+        if (proyeccion == null) {
+            return null;
+        }
+
+        DocumentoRequeridoDTO documentoRequeridoDTO = new DocumentoRequeridoDTO();
+        documentoRequeridoDTO.setIdDocumentoRequerido(proyeccion.idDocumentoRequerido());
+        documentoRequeridoDTO.setIdProductoCredito(proyeccion.idProductoCredito());
+        documentoRequeridoDTO.setNombre(proyeccion.nombre());
+        documentoRequeridoDTO.setDescripcion(proyeccion.descripcion());
+        documentoRequeridoDTO.setExtension(proyeccion.extension());
+        if (proyeccion.estado() != null) {
+            documentoRequeridoDTO.setEstado(proyeccion.estado().name());
+        }
+        documentoRequeridoDTO.setVersion(proyeccion.version());
+
+        return documentoRequeridoDTO;
+    }
+
+    public List<DocumentoRequeridoDTO> proyeccionesToDTOList(List<DocumentoRequeridoProyeccion> proyecciones) {
+        if (proyecciones == null || proyecciones.isEmpty()) {
+            return List.of();
+        }
+
+        return proyecciones.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<DocumentoRequeridoDTO> toDTOList(List<DocumentoRequerido> modelList) {
         if (modelList == null || modelList.isEmpty()) {
             return List.of();
@@ -65,6 +65,7 @@ public class ProductoCreditoMapper {
         if (model.getEstado() != null) {
             productoCreditoDTO.setEstado(model.getEstado().name());
         }
+        productoCreditoDTO.setVersion(model.getVersion());
 
         return productoCreditoDTO;
     }
@@ -3,6 +3,7 @@ package com.banquito.parametros.controller.mapper;
 import com.banquito.parametros.controller.dto.TasaInteresDTO;
 import com.banquito.parametros.model.TasaInteres;
 import com.banquito.parametros.model.EstadosParametros;
+import com.banquito.parametros.repository.TasaInteresProyeccion;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -51,9 +52,40 @@ public class TasaInteresMapper {
         if (model.getEstado() != null) {
             tasaInteresDTO.setEstado(model.getEstado().name());
         }
+        tasaInteresDTO.setVersion(model.getVersion());
         return tasaInteresDTO;
     }
 
+    public TasaInteresDTO toDTO(TasaInteresProyeccion proyeccion) {
+        if (proyeccion == null) {
+            return null;
+        }
+
+        TasaInteresDTO tasaInteresDTO = new TasaInteresDTO();
+        tasaInteresDTO.setIdTasaInteres(proyeccion.idTasaInteres());
+        tasaInteresDTO.setIdProductoCredito(proyeccion.idProductoCredito());
+        tasaInteresDTO.setBaseCalculo(proyeccion.baseCalculo());
+        tasaInteresDTO.setMetodoCalculo(proyeccion.metodoCalculo());
+        tasaInteresDTO.setFrecuenciaCapitalizacion(proyeccion.frecuenciaCapitalizacion());
+        tasaInteresDTO.setValorTasa(proyeccion.valorTasa());
+        tasaInteresDTO.setFechaInicioVigencia(proyeccion.fechaInicioVigencia());
+        tasaInteresDTO.setFechaFinVigencia(proyeccion.fechaFinVigencia());
+        if (proyeccion.estado() != null) {
+            tasaInteresDTO.setEstado(proyeccion.estado().name());
+        }
+        tasaInteresDTO.setVersion(proyeccion.version());
+        return tasaInteresDTO;
+    }
+
+    public List<TasaInteresDTO> proyeccionesToDTOList(List<TasaInteresProyeccion> proyecciones) {
+        if (proyecciones == null || proyecciones.isEmpty()) {
+            return List.of();
+        }
+        return proyecciones.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<TasaInteresDTO> toDTOList(List<TasaInteres> modelList) {
         if (modelList == null || modelList.isEmpty()) {
             return List.of();
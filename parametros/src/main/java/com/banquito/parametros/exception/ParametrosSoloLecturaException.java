@@ -0,0 +1,11 @@
+package com.banquito.parametros.exception;
+
+import java.time.Instant;
+
+public class ParametrosSoloLecturaException extends RuntimeException {
+
+    public ParametrosSoloLecturaException(Instant desde, String motivo) {
+        super("El servicio de parámetros está en modo de solo lectura desde " + desde
+                + " (" + motivo + "): solo se atienden consultas. Intente la operación más tarde.");
+    }
+}
@@ -7,14 +7,15 @@ import jakarta.persistence.*;
 public class DocumentoRequerido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documentos_requeridos_seq")
+    @SequenceGenerator(name = "documentos_requeridos_seq", sequenceName = "documentos_requeridos_seq", schema = "Parametros", allocationSize = 50)
     @Column(name = "id_documento_requerido", nullable = false)
     private Integer idDocumentoRequerido;
 
     @Column(name = "id_producto_credito", nullable = false, insertable = false, updatable = false)
     private Integer idProductoCredito;
 
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_producto_credito", nullable = false)
     private ProductoCredito productoCredito;
 
@@ -134,7 +135,7 @@ public class DocumentoRequerido {
     @Override
     public String toString() {
         return "DocumentoRequerido [idDocumentoRequerido=" + idDocumentoRequerido + ", idProductoCredito="
-                + idProductoCredito + ", productoCredito=" + productoCredito + ", nombre=" + nombre + ", descripcion="
+                + idProductoCredito + ", nombre=" + nombre + ", descripcion="
                 + descripcion + ", extension=" + extension + ", estado=" + estado + ", version=" + version + "]";
     }
 } 
\ No newline at end of file
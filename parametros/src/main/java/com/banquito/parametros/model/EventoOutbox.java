@@ -0,0 +1,185 @@
+package com.banquito.parametros.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "eventos_outbox", schema = "Parametros")
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_outbox_seq")
+    @SequenceGenerator(name = "eventos_outbox_seq", sequenceName = "eventos_outbox_seq", schema = "Parametros", allocationSize = 50)
+    @Column(name = "id_evento_outbox", nullable = false)
+    private Long idEventoOutbox;
+
+    @Column(name = "entidad", length = 30, nullable = false)
+    private String entidad;
+
+    @Column(name = "id_entidad", nullable = false)
+    private Integer idEntidad;
+
+    @Column(name = "id_producto_credito", nullable = false)
+    private Integer idProductoCredito;
+
+    @Column(name = "version_entidad", nullable = false)
+    private Long versionEntidad;
+
+    @Column(name = "carga", columnDefinition = "TEXT", nullable = false)
+    private String carga;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_publicacion")
+    private LocalDateTime fechaPublicacion;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    @Column(name = "proximo_intento")
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "fecha_descarte")
+    private LocalDateTime fechaDescarte;
+
+    public EventoOutbox() {
+    }
+
+    public EventoOutbox(Long idEventoOutbox) {
+        this.idEventoOutbox = idEventoOutbox;
+    }
+
+    public Long getIdEventoOutbox() {
+        return idEventoOutbox;
+    }
+
+    public void setIdEventoOutbox(Long idEventoOutbox) {
+        this.idEventoOutbox = idEventoOutbox;
+    }
+
+    public String getEntidad() {
+        return entidad;
+    }
+
+    public void setEntidad(String entidad) {
+        this.entidad = entidad;
+    }
+
+    public Integer getIdEntidad() {
+        return idEntidad;
+    }
+
+    public void setIdEntidad(Integer idEntidad) {
+        this.idEntidad = idEntidad;
+    }
+
+    public Integer getIdProductoCredito() {
+        return idProductoCredito;
+    }
+
+    public void setIdProductoCredito(Integer idProductoCredito) {
+        this.idProductoCredito = idProductoCredito;
+    }
+
+    public Long getVersionEntidad() {
+        return versionEntidad;
+    }
+
+    public void setVersionEntidad(Long versionEntidad) {
+        this.versionEntidad = versionEntidad;
+    }
+
+    public String getCarga() {
+        return carga;
+    }
+
+    public void setCarga(String carga) {
+        this.carga = carga;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaPublicacion() {
+        return fechaPublicacion;
+    }
+
+    public void setFechaPublicacion(LocalDateTime fechaPublicacion) {
+        this.fechaPublicacion = fechaPublicacion;
+    }
+
+    public Integer getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(Integer intentos) {
+        this.intentos = intentos;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+
+    public LocalDateTime getProximoIntento() {
+        return proximoIntento;
+    }
+
+    public void setProximoIntento(LocalDateTime proximoIntento) {
+        this.proximoIntento = proximoIntento;
+    }
+
+    public LocalDateTime getFechaDescarte() {
+        return fechaDescarte;
+    }
+
+    public void setFechaDescarte(LocalDateTime fechaDescarte) {
+        this.fechaDescarte = fechaDescarte;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((idEventoOutbox == null) ? 0 : idEventoOutbox.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        EventoOutbox other = (EventoOutbox) obj;
+        if (idEventoOutbox == null) {
+            if (other.idEventoOutbox != null)
+                return false;
+        } else if (!idEventoOutbox.equals(other.idEventoOutbox))
+            return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "EventoOutbox [idEventoOutbox=" + idEventoOutbox + ", entidad=" + entidad + ", idEntidad=" + idEntidad
+                + ", idProductoCredito=" + idProductoCredito + ", versionEntidad=" + versionEntidad
+                + ", fechaCreacion=" + fechaCreacion + ", fechaPublicacion=" + fechaPublicacion
+                + ", intentos=" + intentos + ", fechaDescarte=" + fechaDescarte + "]";
+    }
+}
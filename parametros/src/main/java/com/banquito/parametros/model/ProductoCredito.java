@@ -9,7 +9,8 @@ import java.math.BigDecimal;
 public class ProductoCredito {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_credito_seq")
+    @SequenceGenerator(name = "productos_credito_seq", sequenceName = "productos_credito_seq", schema = "Parametros", allocationSize = 50)
     @Column(name = "id_producto_credito", nullable = false)
     private Integer idProductoCredito;
 
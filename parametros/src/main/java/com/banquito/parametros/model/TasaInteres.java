@@ -9,14 +9,15 @@ import java.time.LocalDate;
 public class TasaInteres {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasas_interes_seq")
+    @SequenceGenerator(name = "tasas_interes_seq", sequenceName = "tasas_interes_seq", schema = "Parametros", allocationSize = 50)
     @Column(name = "id_tasa_interes", nullable = false)
     private Integer idTasaInteres;
 
     @Column(name = "id_producto_credito", nullable = false, insertable = false, updatable = false)
     private Integer idProductoCredito;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "id_producto_credito", nullable = false)
     private ProductoCredito productoCredito;
 
@@ -169,7 +170,7 @@ public class TasaInteres {
     @Override
     public String toString() {
         return "TasaInteres [idTasaInteres=" + idTasaInteres + ", idProductoCredito=" + idProductoCredito
-                + ", productoCredito=" + productoCredito + ", baseCalculo=" + baseCalculo + ", metodoCalculo="
+                + ", baseCalculo=" + baseCalculo + ", metodoCalculo="
                 + metodoCalculo + ", frecuenciaCapitalizacion=" + frecuenciaCapitalizacion + ", valorTasa=" + valorTasa
                 + ", fechaInicioVigencia=" + fechaInicioVigencia + ", fechaFinVigencia=" + fechaFinVigencia
                 + ", estado=" + estado + ", version=" + version + "]";
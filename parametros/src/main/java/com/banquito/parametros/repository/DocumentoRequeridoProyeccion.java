@@ -0,0 +1,16 @@
+package com.banquito.parametros.repository;
+
+import com.banquito.parametros.model.EstadosParametros;
+
+/**
+ * Columnas de un documento requerido que necesita DocumentoRequeridoDTO, leídas sin cargar la
+ * entidad ni su producto (ver las consultas de proyección de DocumentoRequeridoRepository).
+ */
+public record DocumentoRequeridoProyeccion(Integer idDocumentoRequerido,
+                                           Integer idProductoCredito,
+                                           String nombre,
+                                           String descripcion,
+                                           String extension,
+                                           EstadosParametros.EstadoActivoInactivo estado,
+                                           Long version) {
+}
@@ -3,14 +3,45 @@ package com.banquito.parametros.repository;
 import com.banquito.parametros.model.DocumentoRequerido;
 import com.banquito.parametros.model.EstadosParametros;
 import com.banquito.parametros.model.ProductoCredito;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DocumentoRequeridoRepository extends JpaRepository<DocumentoRequerido, Integer> {
 
+    String PROYECCION = "select new com.banquito.parametros.repository.DocumentoRequeridoProyeccion("
+            + "d.idDocumentoRequerido, d.idProductoCredito, d.nombre, d.descripcion, d.extension, d.estado, "
+            + "d.version) from DocumentoRequerido d";
+
+    // Proyecciones para el libro de parámetros: solo columnas de documentos_requeridos, sin join al
+    // producto ni entidades en el contexto de persistencia
+    @Query(PROYECCION)
+    List<DocumentoRequeridoProyeccion> proyectarTodos();
+
+    @Query(PROYECCION + " where d.idProductoCredito in :idsProducto order by d.nombre asc")
+    List<DocumentoRequeridoProyeccion> proyectarPorProductos(@Param("idsProducto") Collection<Integer> idsProducto);
+
+    // Todos los documentos para el snapshot, por producto, leídos con un cursor de la base
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(PROYECCION + " order by d.idProductoCredito, d.nombre")
+    Stream<DocumentoRequeridoProyeccion> recorrerTodos();
+
+    // El producto es LAZY: quien lo necesita lo trae en la misma consulta
+    @EntityGraph(attributePaths = "productoCredito")
+    Optional<DocumentoRequerido> findConProductoByIdDocumentoRequerido(Integer idDocumentoRequerido);
+
     List<DocumentoRequerido> findByProductoCreditoOrderByNombreAsc(ProductoCredito productoCredito);
     List<DocumentoRequerido> findByProductoCreditoAndEstadoOrderByNombreAsc(ProductoCredito productoCredito, EstadosParametros.EstadoActivoInactivo estado);
     List<DocumentoRequerido> findByEstadoOrderByProductoCreditoAscNombreAsc(EstadosParametros.EstadoActivoInactivo estado);
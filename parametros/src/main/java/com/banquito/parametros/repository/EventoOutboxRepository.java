@@ -0,0 +1,33 @@
+package com.banquito.parametros.repository;
+
+import com.banquito.parametros.model.EventoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // lock.timeout = -2 equivale a SKIP LOCKED: varias instancias pueden drenar sin bloquearse entre sí,
+    // por lo que entre instancias los eventos se publican fuera de orden.
+    // Los descartados por exceder los intentos ya no son pendientes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoOutbox e where e.fechaPublicacion is null and e.fechaDescarte is null"
+            + " order by e.idEventoOutbox")
+    List<EventoOutbox> bloquearPendientes(Pageable pagina);
+
+    @Modifying
+    @Query("delete from EventoOutbox e where e.fechaPublicacion < :limite")
+    int eliminarPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -3,8 +3,10 @@ package com.banquito.parametros.repository;
 import com.banquito.parametros.model.EstadosParametros;
 import com.banquito.parametros.model.ProductoCredito;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +16,10 @@ public interface ProductoCreditoRepository extends JpaRepository<ProductoCredito
     Optional<ProductoCredito> findByCodigoProducto(String codigoProducto);
     List<ProductoCredito> findByEstado(EstadosParametros.EstadoActivoInactivo estado);
     boolean existsByCodigoProducto(String codigoProducto);
+    List<ProductoCredito> findByCodigoProductoIn(Collection<String> codigosProducto);
     List<ProductoCredito> findByEstadoOrderByNombreAsc(EstadosParametros.EstadoActivoInactivo estado);
+    List<ProductoCredito> findAllByOrderByIdProductoCreditoAsc();
+
+    @Query("select p.codigoProducto from ProductoCredito p")
+    List<String> findCodigos();
 } 
\ No newline at end of file
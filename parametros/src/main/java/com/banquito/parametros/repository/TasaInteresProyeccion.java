@@ -0,0 +1,22 @@
+package com.banquito.parametros.repository;
+
+import com.banquito.parametros.model.EstadosParametros;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Columnas de una tasa de interés que necesita TasaInteresDTO, leídas sin cargar la entidad
+ * ni su producto (ver las consultas de proyección de TasaInteresRepository).
+ */
+public record TasaInteresProyeccion(Integer idTasaInteres,
+                                    Integer idProductoCredito,
+                                    String baseCalculo,
+                                    String metodoCalculo,
+                                    String frecuenciaCapitalizacion,
+                                    BigDecimal valorTasa,
+                                    LocalDate fechaInicioVigencia,
+                                    LocalDate fechaFinVigencia,
+                                    EstadosParametros.EstadoActivoInactivo estado,
+                                    Long version) {
+}
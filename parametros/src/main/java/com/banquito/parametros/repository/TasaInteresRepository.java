@@ -3,17 +3,71 @@ package com.banquito.parametros.repository;
 import com.banquito.parametros.model.EstadosParametros;
 import com.banquito.parametros.model.ProductoCredito;
 import com.banquito.parametros.model.TasaInteres;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TasaInteresRepository extends JpaRepository<TasaInteres, Integer> {
 
-    List<TasaInteres> findByProductoCreditoOrderByFechaInicioVigenciaDesc(ProductoCredito productoCredito);
+    String PROYECCION = "select new com.banquito.parametros.repository.TasaInteresProyeccion("
+            + "t.idTasaInteres, t.idProductoCredito, t.baseCalculo, t.metodoCalculo, t.frecuenciaCapitalizacion, "
+            + "t.valorTasa, t.fechaInicioVigencia, t.fechaFinVigencia, t.estado, t.version) from TasaInteres t";
+
+    // Proyecciones para el libro de parámetros: solo columnas de tasas_interes, sin join al producto
+    // ni entidades en el contexto de persistencia
+    @Query(PROYECCION)
+    List<TasaInteresProyeccion> proyectarTodas();
+
+    @Query(PROYECCION + " where t.idProductoCredito in :idsProducto")
+    List<TasaInteresProyeccion> proyectarPorProductos(@Param("idsProducto") Collection<Integer> idsProducto);
+
+    @Query(PROYECCION + " where t.idTasaInteres = :id")
+    Optional<TasaInteresProyeccion> proyectarPorId(@Param("id") Integer id);
+
+    // Historial por páginas (keyset sobre ix_tasas_interes_producto_inicio_id): cada página sigue
+    // a la última fila de la anterior, sin OFFSET, y cuesta lo mismo en cualquier posición
+    @Query(PROYECCION + " where t.idProductoCredito = :idProducto"
+            + " order by t.fechaInicioVigencia desc, t.idTasaInteres desc")
+    List<TasaInteresProyeccion> historialDesdeElInicio(@Param("idProducto") Integer idProducto, Limit limite);
+
+    @Query(PROYECCION + " where t.idProductoCredito = :idProducto"
+            + " and (t.fechaInicioVigencia, t.idTasaInteres) < (:fecha, :idTasa)"
+            + " order by t.fechaInicioVigencia desc, t.idTasaInteres desc")
+    List<TasaInteresProyeccion> historialDespuesDe(@Param("idProducto") Integer idProducto,
+                                                  @Param("fecha") LocalDate fecha,
+                                                  @Param("idTasa") Integer idTasa,
+                                                  Limit limite);
+
+    // Historial completo leído con un cursor de la base (fetch size): se consume fila a fila
+    // dentro de una transacción y sin entidades, con memoria constante
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(PROYECCION + " where t.idProductoCredito = :idProducto"
+            + " order by t.fechaInicioVigencia desc, t.idTasaInteres desc")
+    Stream<TasaInteresProyeccion> historialCompleto(@Param("idProducto") Integer idProducto);
+
+    // Todas las tasas para el snapshot, por producto y vigencia, leídas con un cursor de la base
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(PROYECCION + " order by t.idProductoCredito, t.fechaInicioVigencia, t.idTasaInteres")
+    Stream<TasaInteresProyeccion> recorrerTodas();
+
+    // El producto es LAZY: quien lo necesita lo trae en la misma consulta
+    @EntityGraph(attributePaths = "productoCredito")
+    Optional<TasaInteres> findConProductoByIdTasaInteres(Integer idTasaInteres);
 
     List<TasaInteres> findByProductoCreditoAndEstadoOrderByFechaInicioVigenciaDesc(
             ProductoCredito productoCredito, EstadosParametros.EstadoActivoInactivo estado);
@@ -21,5 +75,8 @@ public interface TasaInteresRepository extends JpaRepository<TasaInteres, Intege
     Optional<TasaInteres> findByProductoCreditoAndFechaInicioVigenciaLessThanEqualAndFechaFinVigenciaGreaterThanOrFechaFinVigenciaIsNullAndEstado(
             ProductoCredito productoCredito, LocalDate fecha, LocalDate fechaFin, EstadosParametros.EstadoActivoInactivo estado);
 
+    Optional<TasaInteres> findFirstByProductoCreditoAndEstadoAndFechaFinVigenciaIsNullOrderByFechaInicioVigenciaDesc(
+            ProductoCredito productoCredito, EstadosParametros.EstadoActivoInactivo estado);
+
     List<TasaInteres> findByEstadoOrderByProductoCreditoAscFechaInicioVigenciaDesc(EstadosParametros.EstadoActivoInactivo estado);
 } 
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.banquito.parametros.service;
+
+import java.math.BigDecimal;
+
+/** Resultado mutable de {@link MotorAmortizacion}, en centavos, pensado para reutilizarse. */
+public final class AcumuladorAmortizacion {
+
+    private long cuota;
+    private long ultimaCuota;
+    private long totalIntereses;
+    private long totalPagar;
+
+    void asignar(long cuota, long ultimaCuota, long totalIntereses, long totalPagar) {
+        this.cuota = cuota;
+        this.ultimaCuota = ultimaCuota;
+        this.totalIntereses = totalIntereses;
+        this.totalPagar = totalPagar;
+    }
+
+    public long getCuota() {
+        return cuota;
+    }
+
+    public long getUltimaCuota() {
+        return ultimaCuota;
+    }
+
+    public long getTotalIntereses() {
+        return totalIntereses;
+    }
+
+    public long getTotalPagar() {
+        return totalPagar;
+    }
+
+    public ResumenAmortizacion aResumen() {
+        return new ResumenAmortizacion(BigDecimal.valueOf(cuota, 2), BigDecimal.valueOf(ultimaCuota, 2),
+                BigDecimal.valueOf(totalIntereses, 2), BigDecimal.valueOf(totalPagar, 2));
+    }
+}
@@ -0,0 +1,308 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Copia local del libro de parámetros en un archivo binario: una cabecera con la versión del
+ * libro y los totales, los productos, tasas y documentos con sus @Version (los ETag no cambian
+ * al cargarlo) y un CRC32C al final. Se escribe en un archivo temporal que reemplaza al
+ * anterior con un movimiento atómico, así que un lector nunca ve un archivo a medias; se lee
+ * mapeándolo en memoria y un CRC distinto lo descarta completo.
+ */
+@Component
+public class ArchivoLibroParametros {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoLibroParametros.class);
+
+    private static final int MAGICO = 0x4C504152; // "LPAR"
+    private static final int FORMATO = 1;
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+    private static final int NULO = -1;
+
+    private final Path ruta;
+
+    public ArchivoLibroParametros(@Value("${app.libro-parametros.archivo.ruta:}") String ruta) {
+        this.ruta = ruta.isBlank() ? null : Path.of(ruta);
+    }
+
+    public boolean configurado() {
+        return ruta != null;
+    }
+
+    public boolean existe() {
+        return ruta != null && Files.isReadable(ruta);
+    }
+
+    // ========== ESCRITURA ==========
+
+    public void guardar(LibroParametros libro) throws IOException {
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream salida = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal), TAMANIO_BUFFER), crc))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(FORMATO);
+            salida.writeLong(libro.getVersion());
+            salida.writeInt(libro.cantidadProductos());
+            salida.writeInt(libro.cantidadTasas());
+            salida.writeInt(libro.cantidadDocumentos());
+            for (ProductoCreditoDTO producto : libro.productos()) {
+                escribirProducto(salida, producto);
+            }
+            for (TasaInteresDTO tasa : libro.tasas()) {
+                escribirTasa(salida, tasa);
+            }
+            for (DocumentoRequeridoDTO documento : libro.documentos()) {
+                escribirDocumento(salida, documento);
+            }
+            // El CRC cubre todo lo anterior y no se incluye a sí mismo
+            salida.writeLong(crc.getValue());
+        }
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Libro de parámetros v{} guardado en {}", libro.getVersion(), ruta);
+    }
+
+    private static void escribirProducto(DataOutputStream salida, ProductoCreditoDTO producto) throws IOException {
+        escribirEntero(salida, producto.getIdProductoCredito());
+        escribirTexto(salida, producto.getCodigoProducto());
+        escribirTexto(salida, producto.getNombre());
+        escribirTexto(salida, producto.getDescripcion());
+        escribirDecimal(salida, producto.getMontoMinimo());
+        escribirDecimal(salida, producto.getMontoMaximo());
+        escribirEntero(salida, producto.getPlazoMinimoMeses());
+        escribirEntero(salida, producto.getPlazoMaximoMeses());
+        escribirDecimal(salida, producto.getPorcentajeMaxFinanciamiento());
+        escribirTexto(salida, producto.getCondicionVehiculo());
+        escribirTexto(salida, producto.getEstado());
+        escribirLargo(salida, producto.getVersion());
+    }
+
+    private static void escribirTasa(DataOutputStream salida, TasaInteresDTO tasa) throws IOException {
+        escribirEntero(salida, tasa.getIdTasaInteres());
+        escribirEntero(salida, tasa.getIdProductoCredito());
+        escribirTexto(salida, tasa.getBaseCalculo());
+        escribirTexto(salida, tasa.getMetodoCalculo());
+        escribirTexto(salida, tasa.getFrecuenciaCapitalizacion());
+        escribirDecimal(salida, tasa.getValorTasa());
+        escribirFecha(salida, tasa.getFechaInicioVigencia());
+        escribirFecha(salida, tasa.getFechaFinVigencia());
+        escribirTexto(salida, tasa.getEstado());
+        escribirLargo(salida, tasa.getVersion());
+    }
+
+    private static void escribirDocumento(DataOutputStream salida, DocumentoRequeridoDTO documento) throws IOException {
+        escribirEntero(salida, documento.getIdDocumentoRequerido());
+        escribirEntero(salida, documento.getIdProductoCredito());
+        escribirTexto(salida, documento.getNombre());
+        escribirTexto(salida, documento.getDescripcion());
+        escribirTexto(salida, documento.getExtension());
+        escribirTexto(salida, documento.getEstado());
+        escribirLargo(salida, documento.getVersion());
+    }
+
+    private static void escribirTexto(DataOutputStream salida, String valor) throws IOException {
+        if (valor == null) {
+            salida.writeInt(NULO);
+            return;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    // Valor sin escala y escala: vuelve idéntico, con la misma escala que tenía en la base
+    private static void escribirDecimal(DataOutputStream salida, BigDecimal valor) throws IOException {
+        if (valor == null) {
+            salida.writeInt(NULO);
+            return;
+        }
+        byte[] sinEscala = valor.unscaledValue().toByteArray();
+        salida.writeInt(sinEscala.length);
+        salida.write(sinEscala);
+        salida.writeInt(valor.scale());
+    }
+
+    private static void escribirEntero(DataOutputStream salida, Integer valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeInt(valor);
+        }
+    }
+
+    private static void escribirLargo(DataOutputStream salida, Long valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeLong(valor);
+        }
+    }
+
+    private static void escribirFecha(DataOutputStream salida, LocalDate valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeLong(valor.toEpochDay());
+        }
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * El libro guardado, con su versión, o vacío si no hay archivo o no es válido: un archivo
+     * dañado o de otro formato solo se registra, la carga desde la base lo reemplaza.
+     */
+    public Optional<LibroParametros> leer() {
+        if (!existe()) {
+            return Optional.empty();
+        }
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            LibroParametros libro = decodificar(mapa);
+            log.info("Libro de parámetros v{} leído de {}: {} productos, {} tasas",
+                    libro.getVersion(), ruta, libro.cantidadProductos(), libro.cantidadTasas());
+            return Optional.of(libro);
+        } catch (IOException | IllegalStateException | BufferUnderflowException e) {
+            log.warn("No se pudo leer el libro de parámetros de {}: {}", ruta, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static LibroParametros decodificar(ByteBuffer datos) {
+        if (datos.remaining() < Long.BYTES) {
+            throw new IllegalStateException("archivo truncado");
+        }
+        ByteBuffer contenido = datos.slice(datos.position(), datos.remaining() - Long.BYTES);
+        CRC32C crc = new CRC32C();
+        crc.update(contenido.duplicate());
+        if (crc.getValue() != datos.getLong(datos.limit() - Long.BYTES)) {
+            throw new IllegalStateException("el CRC no coincide");
+        }
+        if (contenido.getInt() != MAGICO || contenido.getInt() != FORMATO) {
+            throw new IllegalStateException("formato desconocido");
+        }
+        long version = contenido.getLong();
+        int productos = contenido.getInt();
+        int tasas = contenido.getInt();
+        int documentos = contenido.getInt();
+        List<ProductoCreditoDTO> listaProductos = new ArrayList<>(productos);
+        for (int i = 0; i < productos; i++) {
+            listaProductos.add(leerProducto(contenido));
+        }
+        List<TasaInteresDTO> listaTasas = new ArrayList<>(tasas);
+        for (int i = 0; i < tasas; i++) {
+            listaTasas.add(leerTasa(contenido));
+        }
+        List<DocumentoRequeridoDTO> listaDocumentos = new ArrayList<>(documentos);
+        for (int i = 0; i < documentos; i++) {
+            listaDocumentos.add(leerDocumento(contenido));
+        }
+        if (contenido.hasRemaining()) {
+            throw new IllegalStateException("hay datos después del último registro");
+        }
+        return LibroParametros.construir(version, listaProductos, listaTasas, listaDocumentos);
+    }
+
+    private static ProductoCreditoDTO leerProducto(ByteBuffer datos) {
+        ProductoCreditoDTO producto = new ProductoCreditoDTO();
+        producto.setIdProductoCredito(leerEntero(datos));
+        producto.setCodigoProducto(leerTexto(datos));
+        producto.setNombre(leerTexto(datos));
+        producto.setDescripcion(leerTexto(datos));
+        producto.setMontoMinimo(leerDecimal(datos));
+        producto.setMontoMaximo(leerDecimal(datos));
+        producto.setPlazoMinimoMeses(leerEntero(datos));
+        producto.setPlazoMaximoMeses(leerEntero(datos));
+        producto.setPorcentajeMaxFinanciamiento(leerDecimal(datos));
+        producto.setCondicionVehiculo(leerTexto(datos));
+        producto.setEstado(leerTexto(datos));
+        producto.setVersion(leerLargo(datos));
+        return producto;
+    }
+
+    private static TasaInteresDTO leerTasa(ByteBuffer datos) {
+        TasaInteresDTO tasa = new TasaInteresDTO();
+        tasa.setIdTasaInteres(leerEntero(datos));
+        tasa.setIdProductoCredito(leerEntero(datos));
+        tasa.setBaseCalculo(leerTexto(datos));
+        tasa.setMetodoCalculo(leerTexto(datos));
+        tasa.setFrecuenciaCapitalizacion(leerTexto(datos));
+        tasa.setValorTasa(leerDecimal(datos));
+        tasa.setFechaInicioVigencia(leerFecha(datos));
+        tasa.setFechaFinVigencia(leerFecha(datos));
+        tasa.setEstado(leerTexto(datos));
+        tasa.setVersion(leerLargo(datos));
+        return tasa;
+    }
+
+    private static DocumentoRequeridoDTO leerDocumento(ByteBuffer datos) {
+        DocumentoRequeridoDTO documento = new DocumentoRequeridoDTO();
+        documento.setIdDocumentoRequerido(leerEntero(datos));
+        documento.setIdProductoCredito(leerEntero(datos));
+        documento.setNombre(leerTexto(datos));
+        documento.setDescripcion(leerTexto(datos));
+        documento.setExtension(leerTexto(datos));
+        documento.setEstado(leerTexto(datos));
+        documento.setVersion(leerLargo(datos));
+        return documento;
+    }
+
+    private static String leerTexto(ByteBuffer datos) {
+        int longitud = datos.getInt();
+        if (longitud == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        datos.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal leerDecimal(ByteBuffer datos) {
+        int longitud = datos.getInt();
+        if (longitud == NULO) {
+            return null;
+        }
+        byte[] sinEscala = new byte[longitud];
+        datos.get(sinEscala);
+        return new BigDecimal(new BigInteger(sinEscala), datos.getInt());
+    }
+
+    private static Integer leerEntero(ByteBuffer datos) {
+        return datos.get() != 0 ? datos.getInt() : null;
+    }
+
+    private static Long leerLargo(ByteBuffer datos) {
+        return datos.get() != 0 ? datos.getLong() : null;
+    }
+
+    private static LocalDate leerFecha(ByteBuffer datos) {
+        return datos.get() != 0 ? LocalDate.ofEpochDay(datos.getLong()) : null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.banquito.parametros.service;
+
+/**
+ * Operaciones de punto fijo sobre {@code long} con redondeo HALF_UP, equivalentes a
+ * {@code BigDecimal.multiply(..).divide(.., HALF_UP)}. El producto intermedio se
+ * calcula en 128 bits, por lo que no se desborda mientras el cociente quepa en 63 bits.
+ */
+final class AritmeticaFija {
+
+    private static final long BASE_32 = 1L << 32;
+    private static final long MASCARA_32 = 0xFFFFFFFFL;
+
+    private AritmeticaFija() {
+    }
+
+    /** Redondeo HALF_UP de {@code a * b / c}, con {@code c > 0}. */
+    static long multiplicarDividir(long a, long b, long c) {
+        if ((a < 0) != (b < 0)) {
+            return -multiplicarDividir(Math.abs(a), Math.abs(b), c);
+        }
+        a = Math.abs(a);
+        b = Math.abs(b);
+        long alto = Math.multiplyHigh(a, b);
+        long bajo = a * b;
+        long cociente;
+        long resto;
+        if (alto == 0 && bajo >= 0) {
+            cociente = bajo / c;
+            resto = bajo - cociente * c;
+        } else {
+            if (alto >= (c >>> 1)) {
+                throw new ArithmeticException("Desbordamiento en aritmética de punto fijo");
+            }
+            cociente = dividir128(alto, bajo, c);
+            resto = bajo - cociente * c;
+        }
+        return resto >= c - resto ? cociente + 1 : cociente;
+    }
+
+    /** Redondeo HALF_UP de {@code a / c}, con {@code c > 0}. */
+    static long dividir(long a, long c) {
+        if (a < 0) {
+            return -dividir(-a, c);
+        }
+        long cociente = a / c;
+        long resto = a - cociente * c;
+        return resto >= c - resto ? cociente + 1 : cociente;
+    }
+
+    // División sin signo de 128 entre 64 bits (Hacker's Delight, divlu); requiere alto < divisor
+    private static long dividir128(long alto, long bajo, long divisor) {
+        int desplazamiento = Long.numberOfLeadingZeros(divisor);
+        long v = divisor << desplazamiento;
+        long vn1 = v >>> 32;
+        long vn0 = v & MASCARA_32;
+        long un32 = desplazamiento == 0 ? alto : (alto << desplazamiento) | (bajo >>> (64 - desplazamiento));
+        long un10 = bajo << desplazamiento;
+        long un1 = un10 >>> 32;
+        long un0 = un10 & MASCARA_32;
+
+        long q1 = Long.divideUnsigned(un32, vn1);
+        long rhat = un32 - q1 * vn1;
+        while (Long.compareUnsigned(q1, BASE_32) >= 0
+                || Long.compareUnsigned(q1 * vn0, BASE_32 * rhat + un1) > 0) {
+            q1--;
+            rhat += vn1;
+            if (Long.compareUnsigned(rhat, BASE_32) >= 0) {
+                break;
+            }
+        }
+        long un21 = un32 * BASE_32 + un1 - q1 * v;
+        long q0 = Long.divideUnsigned(un21, vn1);
+        rhat = un21 - q0 * vn1;
+        while (Long.compareUnsigned(q0, BASE_32) >= 0
+                || Long.compareUnsigned(q0 * vn0, BASE_32 * rhat + un0) > 0) {
+            q0--;
+            rhat += vn1;
+            if (Long.compareUnsigned(rhat, BASE_32) >= 0) {
+                break;
+            }
+        }
+        return q1 * BASE_32 + q0;
+    }
+}
@@ -0,0 +1,6 @@
+package com.banquito.parametros.service;
+
+import java.time.Duration;
+
+public record BaseDatosDisponibleEvento(Duration tiempoSinBase) {
+}
@@ -0,0 +1,123 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Cálculo de cuotas para una tasa de interés. Los meses son comerciales de 30 días
+ * y la tasa anual se expresa sobre la base de cálculo de la tasa (360 o 365 días).
+ * Método "compuesto": sistema francés (cuota fija) con tasa mensual; si la
+ * capitalización es anual se usa la tasa mensual equivalente. Método "simple":
+ * interés fijo sobre el monto original y capital en partes iguales.
+ * Las tasas y factores se redondean a 12 decimales y los montos a centavos (HALF_UP).
+ */
+public final class CalculadoraAmortizacion {
+
+    public static final int PLAZO_MAXIMO_MESES = 120;
+    static final int ESCALA_TASA = 12;
+    private static final int ESCALA_MONTO = 2;
+    private static final int ITERACIONES_MAXIMAS_RAIZ = 50;
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    private static final BigDecimal ONCE = BigDecimal.valueOf(11);
+    private static final BigDecimal DOCE = BigDecimal.valueOf(12);
+    private static final BigDecimal DIAS_MES = BigDecimal.valueOf(30);
+    private static final BigDecimal DIAS_ANIO_COMERCIAL = BigDecimal.valueOf(360);
+
+    private final boolean compuesto;
+    private final BigDecimal valorTasa;
+    private final int baseCalculo;
+    private final BigDecimal tasaPeriodica;
+    private final BigDecimal[] factores;
+
+    public CalculadoraAmortizacion(TasaInteresDTO tasa) {
+        this.compuesto = "compuesto".equals(tasa.getMetodoCalculo());
+        this.valorTasa = tasa.getValorTasa();
+        this.baseCalculo = baseCalculo(tasa.getBaseCalculo());
+        if (compuesto) {
+            this.tasaPeriodica = "anual".equals(tasa.getFrecuenciaCapitalizacion())
+                    ? tasaMensualEquivalente(valorTasa, baseCalculo)
+                    : valorTasa.multiply(DIAS_MES)
+                            .divide(CIEN.multiply(BigDecimal.valueOf(baseCalculo)), ESCALA_TASA, RoundingMode.HALF_UP);
+            this.factores = factoresAcumulacion(tasaPeriodica);
+        } else {
+            this.tasaPeriodica = null;
+            this.factores = null;
+        }
+    }
+
+    static int baseCalculo(String baseCalculo) {
+        return baseCalculo != null && baseCalculo.startsWith("365") ? 365 : 360;
+    }
+
+    private static BigDecimal tasaMensualEquivalente(BigDecimal valorTasa, int baseCalculo) {
+        BigDecimal tasaAnual = valorTasa.multiply(DIAS_ANIO_COMERCIAL)
+                .divide(CIEN.multiply(BigDecimal.valueOf(baseCalculo)), ESCALA_TASA, RoundingMode.HALF_UP);
+        BigDecimal objetivo = BigDecimal.ONE.add(tasaAnual);
+        // Raíz duodécima por Newton: x = (11x + objetivo / x^11) / 12
+        BigDecimal raiz = BigDecimal.ONE.add(tasaAnual.divide(DOCE, ESCALA_TASA, RoundingMode.HALF_UP));
+        for (int i = 0; i < ITERACIONES_MAXIMAS_RAIZ; i++) {
+            BigDecimal potencia = BigDecimal.ONE.setScale(ESCALA_TASA);
+            for (int j = 0; j < 11; j++) {
+                potencia = potencia.multiply(raiz).setScale(ESCALA_TASA, RoundingMode.HALF_UP);
+            }
+            BigDecimal siguiente = raiz.multiply(ONCE)
+                    .add(objetivo.divide(potencia, ESCALA_TASA, RoundingMode.HALF_UP))
+                    .divide(DOCE, ESCALA_TASA, RoundingMode.HALF_UP);
+            if (siguiente.compareTo(raiz) == 0) {
+                break;
+            }
+            raiz = siguiente;
+        }
+        return raiz.subtract(BigDecimal.ONE);
+    }
+
+    private static BigDecimal[] factoresAcumulacion(BigDecimal tasaPeriodica) {
+        BigDecimal[] factores = new BigDecimal[PLAZO_MAXIMO_MESES + 1];
+        BigDecimal base = BigDecimal.ONE.add(tasaPeriodica);
+        factores[0] = BigDecimal.ONE.setScale(ESCALA_TASA);
+        for (int n = 1; n <= PLAZO_MAXIMO_MESES; n++) {
+            factores[n] = factores[n - 1].multiply(base).setScale(ESCALA_TASA, RoundingMode.HALF_UP);
+        }
+        return factores;
+    }
+
+    public ResumenAmortizacion resumir(BigDecimal monto, int plazoMeses) {
+        if (plazoMeses < 1 || plazoMeses > PLAZO_MAXIMO_MESES) {
+            throw new IllegalArgumentException("Plazo fuera de rango: " + plazoMeses);
+        }
+        BigDecimal capital = monto.setScale(ESCALA_MONTO, RoundingMode.HALF_UP);
+        return compuesto ? resumirFrances(capital, plazoMeses) : resumirSimple(capital, plazoMeses);
+    }
+
+    private ResumenAmortizacion resumirFrances(BigDecimal monto, int plazoMeses) {
+        BigDecimal factor = factores[plazoMeses];
+        BigDecimal numerador = tasaPeriodica.multiply(factor).setScale(ESCALA_TASA, RoundingMode.HALF_UP);
+        BigDecimal cuota = monto.multiply(numerador)
+                .divide(factor.subtract(BigDecimal.ONE), ESCALA_MONTO, RoundingMode.HALF_UP);
+        BigDecimal saldo = monto;
+        BigDecimal totalIntereses = BigDecimal.ZERO.setScale(ESCALA_MONTO);
+        BigDecimal ultimaCuota = cuota;
+        for (int periodo = 1; periodo <= plazoMeses; periodo++) {
+            BigDecimal interes = saldo.multiply(tasaPeriodica).setScale(ESCALA_MONTO, RoundingMode.HALF_UP);
+            BigDecimal amortizacion = periodo == plazoMeses ? saldo : cuota.subtract(interes);
+            if (periodo == plazoMeses) {
+                ultimaCuota = amortizacion.add(interes);
+            }
+            saldo = saldo.subtract(amortizacion);
+            totalIntereses = totalIntereses.add(interes);
+        }
+        return new ResumenAmortizacion(cuota, ultimaCuota, totalIntereses, monto.add(totalIntereses));
+    }
+
+    private ResumenAmortizacion resumirSimple(BigDecimal monto, int plazoMeses) {
+        BigDecimal interes = monto.multiply(valorTasa).multiply(DIAS_MES)
+                .divide(CIEN.multiply(BigDecimal.valueOf(baseCalculo)), ESCALA_MONTO, RoundingMode.HALF_UP);
+        BigDecimal amortizacion = monto.divide(BigDecimal.valueOf(plazoMeses), ESCALA_MONTO, RoundingMode.HALF_UP);
+        BigDecimal ultimaAmortizacion = monto.subtract(amortizacion.multiply(BigDecimal.valueOf(plazoMeses - 1)));
+        BigDecimal totalIntereses = interes.multiply(BigDecimal.valueOf(plazoMeses));
+        return new ResumenAmortizacion(amortizacion.add(interes), ultimaAmortizacion.add(interes),
+                totalIntereses, monto.add(totalIntereses));
+    }
+}
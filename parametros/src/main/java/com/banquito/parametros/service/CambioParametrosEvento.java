@@ -0,0 +1,11 @@
+package com.banquito.parametros.service;
+
+import java.util.Set;
+
+// Los productos cuyas secciones del libro cambiaron en la transacción: se recargan juntos
+public record CambioParametrosEvento(Set<Integer> idsProductoCredito) {
+
+    public CambioParametrosEvento(Integer idProductoCredito) {
+        this(Set.of(idProductoCredito));
+    }
+}
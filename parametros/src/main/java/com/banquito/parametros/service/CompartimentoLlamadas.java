@@ -0,0 +1,63 @@
+package com.banquito.parametros.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compartimento (bulkhead) para las llamadas a un servicio externo: cada llamada corre en su
+ * propio hilo virtual, con un tiempo máximo, y no puede haber más de maximoConcurrente en
+ * curso. Con el compartimento lleno la llamada se rechaza de inmediato: un servicio lento
+ * agota su propio compartimento y no los hilos de las solicitudes ni los de otros servicios.
+ * Una llamada que vence su tiempo sigue ocupando su permiso hasta que termina de verdad.
+ */
+public class CompartimentoLlamadas {
+
+    private final String nombre;
+    private final int maximoConcurrente;
+    private final Duration tiempoMaximo;
+    private final Semaphore permisos;
+    private final ThreadFactory hilos;
+
+    public CompartimentoLlamadas(String nombre, int maximoConcurrente, Duration tiempoMaximo) {
+        this.nombre = nombre;
+        this.maximoConcurrente = maximoConcurrente;
+        this.tiempoMaximo = tiempoMaximo;
+        this.permisos = new Semaphore(maximoConcurrente);
+        this.hilos = Thread.ofVirtual().name("compartimento-" + nombre + "-", 0).factory();
+    }
+
+    public <T> CompletableFuture<T> ejecutar(Supplier<T> llamada) {
+        if (!permisos.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Compartimento " + nombre + " lleno: " + maximoConcurrente + " llamadas en curso"));
+        }
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        hilos.newThread(() -> {
+            try {
+                resultado.complete(llamada.get());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            } finally {
+                permisos.release();
+            }
+        }).start();
+        return resultado.orTimeout(tiempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Duration getTiempoMaximo() {
+        return tiempoMaximo;
+    }
+
+    int llamadasEnCurso() {
+        return maximoConcurrente - permisos.availablePermits();
+    }
+}
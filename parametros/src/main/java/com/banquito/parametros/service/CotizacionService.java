@@ -0,0 +1,114 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.EscenarioCotizacionDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.ResultadoCotizacionDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.model.EstadosParametros;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+@Service
+@Timed("parametros.servicio")
+public class CotizacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CotizacionService.class);
+
+    private static final int UMBRAL_PARALELO = 256;
+    private static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    private static final String ACTIVO = EstadosParametros.EstadoActivoInactivo.ACTIVO.name();
+
+    private final PublicadorLibroParametros publicadorLibro;
+    private final MetricasParametros.LecturaLibro lecturaProducto;
+    private final MetricasParametros.LecturaLibro lecturaTasaVigente;
+
+    public CotizacionService(PublicadorLibroParametros publicadorLibro, MetricasParametros metricas) {
+        this.publicadorLibro = publicadorLibro;
+        this.lecturaProducto = metricas.lecturaLibro("cotizacionProducto");
+        this.lecturaTasaVigente = metricas.lecturaLibro("cotizacionTasaVigente");
+    }
+
+    public List<ResultadoCotizacionDTO> cotizarLote(List<EscenarioCotizacionDTO> escenarios) {
+        log.info("Cotizando lote de {} escenarios", escenarios.size());
+        // Todo el lote se resuelve contra la misma versión del libro de parámetros
+        LibroParametros libro = publicadorLibro.actual();
+        LocalDate hoy = LocalDate.now();
+        Map<Integer, MotorAmortizacion> motoresPorTasa = new ConcurrentHashMap<>();
+        ResultadoCotizacionDTO[] resultados = new ResultadoCotizacionDTO[escenarios.size()];
+        IntStream indices = IntStream.range(0, escenarios.size());
+        if (escenarios.size() >= UMBRAL_PARALELO) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> resultados[i] = cotizar(i, escenarios.get(i), libro, hoy, motoresPorTasa));
+        return Arrays.asList(resultados);
+    }
+
+    public ResultadoCotizacionDTO cotizar(EscenarioCotizacionDTO escenario) {
+        return cotizar(0, escenario, publicadorLibro.actual(), LocalDate.now(), new HashMap<>());
+    }
+
+    private ResultadoCotizacionDTO cotizar(int indice, EscenarioCotizacionDTO escenario, LibroParametros libro,
+                                           LocalDate hoy, Map<Integer, MotorAmortizacion> motoresPorTasa) {
+        ResultadoCotizacionDTO resultado = new ResultadoCotizacionDTO();
+        resultado.setIndice(indice);
+        resultado.setCodigoProducto(escenario.getCodigoProducto());
+        if (escenario.getCodigoProducto() == null || escenario.getMonto() == null
+                || escenario.getValorVehiculo() == null || escenario.getPlazoMeses() == null) {
+            return noElegible(resultado, "Datos del escenario incompletos");
+        }
+        ProductoCreditoDTO producto = lecturaProducto.registrar(libro.productoPorCodigo(escenario.getCodigoProducto()));
+        if (producto == null) {
+            return noElegible(resultado, "Producto no encontrado");
+        }
+        if (!ACTIVO.equals(producto.getEstado())) {
+            return noElegible(resultado, "Producto inactivo");
+        }
+        if (escenario.getMonto().compareTo(producto.getMontoMinimo()) < 0
+                || escenario.getMonto().compareTo(producto.getMontoMaximo()) > 0) {
+            return noElegible(resultado, "Monto fuera del rango del producto");
+        }
+        int plazo = escenario.getPlazoMeses();
+        if (plazo < producto.getPlazoMinimoMeses() || plazo > producto.getPlazoMaximoMeses()
+                || plazo > CalculadoraAmortizacion.PLAZO_MAXIMO_MESES) {
+            return noElegible(resultado, "Plazo fuera del rango del producto");
+        }
+        if (escenario.getMonto().multiply(CIEN)
+                .compareTo(escenario.getValorVehiculo().multiply(producto.getPorcentajeMaxFinanciamiento())) > 0) {
+            return noElegible(resultado, "Monto excede el porcentaje máximo de financiamiento");
+        }
+        LocalDate fecha = escenario.getFecha() != null ? escenario.getFecha() : hoy;
+        TasaInteresDTO tasa = lecturaTasaVigente.registrar(libro.tasaVigente(producto.getIdProductoCredito(), fecha));
+        if (tasa == null) {
+            return noElegible(resultado, "Sin tasa vigente para la fecha");
+        }
+
+        MotorAmortizacion motor = motoresPorTasa
+                .computeIfAbsent(tasa.getIdTasaInteres(), id -> new MotorAmortizacion(tasa));
+        ResumenAmortizacion resumen = motor.resumir(escenario.getMonto(), plazo);
+        resultado.setElegible(true);
+        resultado.setIdTasaInteres(tasa.getIdTasaInteres());
+        resultado.setValorTasa(tasa.getValorTasa());
+        resultado.setCuota(resumen.cuota());
+        resultado.setUltimaCuota(resumen.ultimaCuota());
+        resultado.setTotalIntereses(resumen.totalIntereses());
+        resultado.setTotalPagar(resumen.totalPagar());
+        return resultado;
+    }
+
+    private ResultadoCotizacionDTO noElegible(ResultadoCotizacionDTO resultado, String motivo) {
+        resultado.setElegible(false);
+        resultado.setMotivo(motivo);
+        return resultado;
+    }
+}
@@ -0,0 +1,10 @@
+package com.banquito.parametros.service;
+
+import java.math.BigDecimal;
+
+public record CuotaAmortizacion(int periodo,
+                                BigDecimal cuota,
+                                BigDecimal interes,
+                                BigDecimal capital,
+                                BigDecimal saldo) {
+}
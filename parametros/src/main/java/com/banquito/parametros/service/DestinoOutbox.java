@@ -0,0 +1,17 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.model.EventoOutbox;
+
+/**
+ * Destino al que el relay entrega los eventos del outbox. Se elige con
+ * {@code app.outbox.destino} (log, webhook o local). Una excepción deja el evento
+ * pendiente para reintentarlo, por lo que la entrega es al menos una vez.
+ * <p>
+ * La entrega tampoco conserva el orden (ver {@link RelayOutbox}): un consumidor aplica el
+ * evento solo si el campo {@code version} de la carga es mayor que el último que aplicó para
+ * la misma pareja {@code entidad} e {@code id}, y descarta los repetidos y los atrasados.
+ */
+public interface DestinoOutbox {
+
+    void publicar(EventoOutbox evento);
+}
@@ -0,0 +1,55 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.model.EventoOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broker en memoria que reemplaza a uno real en desarrollo y pruebas: conserva los
+ * últimos mensajes y los entrega a los consumidores suscritos dentro del proceso.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.destino", havingValue = "local")
+public class DestinoOutboxLocal implements DestinoOutbox {
+
+    public record Mensaje(Long idEvento, String carga) {
+    }
+
+    private final int capacidad;
+    private final Deque<Mensaje> retenidos = new ArrayDeque<>();
+    private final List<Consumer<Mensaje>> consumidores = new CopyOnWriteArrayList<>();
+
+    public DestinoOutboxLocal(@Value("${app.outbox.local.capacidad:1000}") int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        Mensaje mensaje = new Mensaje(evento.getIdEventoOutbox(), evento.getCarga());
+        synchronized (retenidos) {
+            if (retenidos.size() == capacidad) {
+                retenidos.removeFirst();
+            }
+            retenidos.addLast(mensaje);
+        }
+        consumidores.forEach(consumidor -> consumidor.accept(mensaje));
+    }
+
+    public void suscribir(Consumer<Mensaje> consumidor) {
+        consumidores.add(consumidor);
+    }
+
+    public List<Mensaje> mensajesRetenidos() {
+        synchronized (retenidos) {
+            return new ArrayList<>(retenidos);
+        }
+    }
+}
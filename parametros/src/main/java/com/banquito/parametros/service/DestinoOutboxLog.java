@@ -0,0 +1,20 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.model.EventoOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Escribe cada evento en el logger "parametros.outbox", que puede dirigirse a su propio archivo. */
+@Component
+@ConditionalOnProperty(name = "app.outbox.destino", havingValue = "log", matchIfMissing = true)
+public class DestinoOutboxLog implements DestinoOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger("parametros.outbox");
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        log.info("{} {}", evento.getIdEventoOutbox(), evento.getCarga());
+    }
+}
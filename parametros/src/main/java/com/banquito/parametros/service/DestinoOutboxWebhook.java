@@ -0,0 +1,24 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.client.WebhookOutboxClient;
+import com.banquito.parametros.model.EventoOutbox;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/** Envía cada evento por POST; el encabezado X-Id-Evento permite al receptor descartar duplicados. */
+@Component
+@ConditionalOnProperty(name = "app.outbox.destino", havingValue = "webhook")
+public class DestinoOutboxWebhook implements DestinoOutbox {
+
+    private final WebhookOutboxClient webhookOutboxClient;
+
+    public DestinoOutboxWebhook(@Lazy WebhookOutboxClient webhookOutboxClient) {
+        this.webhookOutboxClient = webhookOutboxClient;
+    }
+
+    @Override
+    public void publicar(EventoOutbox evento) {
+        webhookOutboxClient.enviarEvento(evento.getIdEventoOutbox(), evento.getCarga());
+    }
+}
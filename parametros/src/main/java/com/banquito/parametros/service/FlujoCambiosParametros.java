@@ -0,0 +1,227 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.CambioParametroDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Difunde por server-sent events los cambios confirmados del libro de parámetros.
+ * Los últimos cambios se conservan en un anillo para que un suscriptor reconecte con
+ * Last-Event-ID sin perder eventos; si su secuencia ya salió del anillo recibe un
+ * evento "reinicio" y debe recargar por la API REST. La secuencia es propia de cada
+ * instancia y vuelve a empezar al reiniciar, por eso el ID del evento lleva la época de la
+ * instancia (época:secuencia): un ID de otra época, de otra instancia o de un arranque
+ * anterior, también recibe "reinicio".
+ * <p>
+ * Un único hilo asigna las secuencias y reparte los eventos, lo que mantiene el orden para
+ * cada suscriptor, pero no escribe en las conexiones: cada suscriptor tiene una cola acotada
+ * (app.cambios.cola-maxima) que vacía su propio hilo virtual. Un cliente lento solo llena su
+ * cola; cuando está llena se le cierra la conexión y al reconectar reanuda con Last-Event-ID.
+ */
+@Component
+public class FlujoCambiosParametros {
+
+    private static final Logger log = LoggerFactory.getLogger(FlujoCambiosParametros.class);
+
+    static final String EVENTO_CAMBIO = "cambio";
+    static final String EVENTO_REINICIO = "reinicio";
+    private static final char SEPARADOR_ID = ':';
+
+    private final String epoca = UUID.randomUUID().toString().substring(0, 8);
+    private final CambioParametroDTO[] anillo;
+    private final int colaMaxima;
+    private final long tiempoConexionMillis;
+    private final List<Suscriptor> suscriptores = new ArrayList<>();
+    private final ExecutorService despachador = Executors.newSingleThreadExecutor(
+            tarea -> Thread.ofPlatform().name("flujo-cambios").daemon().unstarted(tarea));
+    private long ultimaSecuencia;
+
+    public FlujoCambiosParametros(@Value("${app.cambios.capacidad:1024}") int capacidad,
+                                  @Value("${app.cambios.cola-maxima:256}") int colaMaxima,
+                                  @Value("${app.cambios.tiempo-conexion:PT30M}") Duration tiempoConexion) {
+        this.anillo = new CambioParametroDTO[capacidad];
+        this.colaMaxima = colaMaxima;
+        this.tiempoConexionMillis = tiempoConexion.toMillis();
+    }
+
+    public void publicar(List<CambioParametroDTO> cambios) {
+        if (cambios.isEmpty()) {
+            return;
+        }
+        despachador.execute(() -> {
+            for (CambioParametroDTO cambio : cambios) {
+                cambio.setEpoca(epoca);
+                cambio.setSecuencia(++ultimaSecuencia);
+                anillo[(int) (ultimaSecuencia % anillo.length)] = cambio;
+                Iterator<Suscriptor> iterador = suscriptores.iterator();
+                while (iterador.hasNext()) {
+                    Suscriptor suscriptor = iterador.next();
+                    if (!suscriptor.encolar(evento(cambio))) {
+                        suscriptor.cerrar();
+                        iterador.remove();
+                    }
+                }
+            }
+            log.debug("Publicados {} cambios de parámetros, última secuencia: {}", cambios.size(), ultimaSecuencia);
+        });
+    }
+
+    public SseEmitter suscribir(String ultimoId) {
+        return suscribir(ultimoId, new SseEmitter(tiempoConexionMillis));
+    }
+
+    SseEmitter suscribir(String ultimoId, SseEmitter emisor) {
+        Suscriptor suscriptor = new Suscriptor(emisor, colaMaxima);
+        Runnable retirar = () -> despachador.execute(() -> {
+            suscriptor.cerrar();
+            suscriptores.remove(suscriptor);
+        });
+        emisor.onCompletion(retirar);
+        emisor.onTimeout(retirar);
+        emisor.onError(error -> retirar.run());
+        despachador.execute(() -> {
+            if (ultimoId != null && !reenviarDesde(suscriptor, ultimoId)) {
+                suscriptor.cerrar();
+                return;
+            }
+            suscriptores.add(suscriptor);
+            log.debug("Nuevo suscriptor al flujo de cambios, total: {}", suscriptores.size());
+        });
+        return emisor;
+    }
+
+    // Lo que no cabe en la cola del suscriptor tampoco se reenvía: recibe "reinicio"
+    private boolean reenviarDesde(Suscriptor suscriptor, String ultimoId) {
+        Long ultimaRecibida = secuenciaDeEstaEpoca(ultimoId);
+        long primeraDisponible = Math.max(1, ultimaSecuencia - anillo.length + 1);
+        if (ultimaRecibida == null || ultimaRecibida > ultimaSecuencia || ultimaRecibida + 1 < primeraDisponible
+                || ultimaSecuencia - ultimaRecibida > colaMaxima) {
+            return suscriptor.encolar(SseEmitter.event()
+                    .id(id(ultimaSecuencia))
+                    .name(EVENTO_REINICIO)
+                    .data(Map.of("epoca", epoca, "secuencia", ultimaSecuencia), MediaType.APPLICATION_JSON));
+        }
+        for (long secuencia = ultimaRecibida + 1; secuencia <= ultimaSecuencia; secuencia++) {
+            if (!suscriptor.encolar(evento(anillo[(int) (secuencia % anillo.length)]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // null si el ID no tiene la forma época:secuencia o es de otra época
+    private Long secuenciaDeEstaEpoca(String id) {
+        int separador = id.lastIndexOf(SEPARADOR_ID);
+        if (separador < 0 || !id.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String id(long secuencia) {
+        return epoca + SEPARADOR_ID + secuencia;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cambios.intervalo-latido:PT15S}")
+    public void enviarLatido() {
+        despachador.execute(() -> suscriptores.removeIf(suscriptor -> {
+            if (suscriptor.encolar(SseEmitter.event().comment("latido"))) {
+                return false;
+            }
+            suscriptor.cerrar();
+            return true;
+        }));
+    }
+
+    // Un evento por suscriptor: SseEventBuilder no se puede construir dos veces
+    private SseEmitter.SseEventBuilder evento(CambioParametroDTO cambio) {
+        return SseEmitter.event()
+                .id(id(cambio.getSecuencia()))
+                .name(EVENTO_CAMBIO)
+                .data(cambio, MediaType.APPLICATION_JSON);
+    }
+
+    @PreDestroy
+    public void detener() {
+        despachador.execute(() -> {
+            suscriptores.forEach(Suscriptor::cerrar);
+            suscriptores.clear();
+        });
+        despachador.shutdown();
+    }
+
+    /**
+     * Conexión de un suscriptor con su cola y el hilo que escribe en ella. Solo el hilo
+     * del suscriptor llama a send y a complete: si la conexión está bloqueada, el que queda
+     * esperando es ese hilo y no el despachador.
+     */
+    private static final class Suscriptor implements Runnable {
+
+        private final SseEmitter emisor;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> cola;
+        private final Thread hilo;
+        private volatile boolean cerrado;
+
+        Suscriptor(SseEmitter emisor, int colaMaxima) {
+            this.emisor = emisor;
+            this.cola = new ArrayBlockingQueue<>(colaMaxima);
+            this.hilo = Thread.ofVirtual().name("flujo-cambios-suscriptor").start(this);
+        }
+
+        // false si la conexión se cerró o la cola está llena: el suscriptor se retira
+        boolean encolar(SseEmitter.SseEventBuilder evento) {
+            if (cerrado) {
+                return false;
+            }
+            if (!cola.offer(evento)) {
+                log.info("Se desconecta un suscriptor lento del flujo de cambios: {} eventos sin enviar", cola.size());
+                return false;
+            }
+            return true;
+        }
+
+        void cerrar() {
+            cerrado = true;
+            cola.clear();
+            hilo.interrupt();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!cerrado) {
+                    emisor.send(cola.take());
+                }
+                emisor.complete();
+            } catch (InterruptedException e) {
+                emisor.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Suscriptor desconectado del flujo de cambios: {}", e.getMessage());
+                cerrado = true;
+                emisor.completeWithError(e);
+            }
+        }
+    }
+}
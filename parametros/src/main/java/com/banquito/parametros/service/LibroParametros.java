@@ -0,0 +1,288 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.model.EstadosParametros;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Vista inmutable y versionada del catálogo de parámetros: los productos, sus documentos y
+ * todas sus tasas. Las tasas activas forman además la línea de tiempo con la que se resuelve
+ * la tasa vigente; el historial completo permite atender las consultas de tasas y el snapshot
+ * en modo de solo lectura.
+ * <p>
+ * Cada producto ocupa una sección que los libros siguientes comparten mientras el producto
+ * no cambie: reemplazar productos copia solo los índices por producto y reconstruye solo
+ * sus secciones, sin recorrer las tasas ni los documentos del resto del catálogo. Los DTO
+ * que entrega son compartidos entre lectores y no deben modificarse.
+ */
+public final class LibroParametros {
+
+    private static final String ACTIVO = EstadosParametros.EstadoActivoInactivo.ACTIVO.name();
+    // Orden del historial: de la tasa más reciente a la más antigua, el ID desempata como en la consulta
+    private static final Comparator<TasaInteresDTO> ORDEN_HISTORIAL = Comparator
+            .comparing(TasaInteresDTO::getFechaInicioVigencia)
+            .thenComparing(TasaInteresDTO::getIdTasaInteres)
+            .reversed();
+
+    private final long version;
+    private final Map<Integer, Seccion> secciones;
+    private final Map<String, ProductoCreditoDTO> productosPorCodigo;
+    private final List<ProductoCreditoDTO> productosActivos;
+    private final String versionProductosActivos;
+    private final int cantidadTasas;
+    private final int cantidadDocumentos;
+
+    /**
+     * Un producto con todas sus tasas y todos sus documentos. Inmutable: pasa sin copiarse
+     * de un libro al siguiente.
+     */
+    private record Seccion(ProductoCreditoDTO producto,
+                           List<TasaInteresDTO> tasas,
+                           Map<Integer, TasaInteresDTO> tasasPorId,
+                           String versionTasas,
+                           LineaTiempoTasas<TasaInteresDTO> tasasVigentes,
+                           Map<Integer, DocumentoRequeridoDTO> documentos,
+                           List<DocumentoRequeridoDTO> documentosActivos,
+                           String versionDocumentos) {
+
+        static Seccion de(ProductoCreditoDTO producto, List<TasaInteresDTO> tasas,
+                          List<DocumentoRequeridoDTO> documentos) {
+            Integer idProducto = producto.getIdProductoCredito();
+            List<TasaInteresDTO> historial = new ArrayList<>(tasas);
+            historial.sort(ORDEN_HISTORIAL);
+            Map<Integer, TasaInteresDTO> tasasPorId = new HashMap<>();
+            List<TasaInteresDTO> lineaTiempo = new ArrayList<>();
+            for (TasaInteresDTO tasa : historial) {
+                tasasPorId.put(tasa.getIdTasaInteres(), tasa);
+                if (ACTIVO.equals(tasa.getEstado())) {
+                    lineaTiempo.add(tasa);
+                }
+            }
+            Map<Integer, DocumentoRequeridoDTO> porId = new HashMap<>();
+            List<DocumentoRequeridoDTO> activos = new ArrayList<>();
+            for (DocumentoRequeridoDTO documento : documentos) {
+                porId.put(documento.getIdDocumentoRequerido(), documento);
+                if (ACTIVO.equals(documento.getEstado())) {
+                    activos.add(documento);
+                }
+            }
+            activos.sort(Comparator.comparing(DocumentoRequeridoDTO::getNombre));
+            return new Seccion(producto, List.copyOf(historial), Map.copyOf(tasasPorId),
+                    huella("tp" + idProducto, historial, TasaInteresDTO::getIdTasaInteres, TasaInteresDTO::getVersion),
+                    LineaTiempoTasas.de(lineaTiempo), Map.copyOf(porId), List.copyOf(activos), huella("dp" + idProducto, activos,
+                    DocumentoRequeridoDTO::getIdDocumentoRequerido, DocumentoRequeridoDTO::getVersion));
+        }
+    }
+
+    private LibroParametros(long version, Map<Integer, Seccion> secciones) {
+        this.version = version;
+        this.secciones = Map.copyOf(secciones);
+        Map<String, ProductoCreditoDTO> porCodigo = new HashMap<>();
+        List<ProductoCreditoDTO> activos = new ArrayList<>();
+        int tasas = 0;
+        int documentos = 0;
+        for (Seccion seccion : secciones.values()) {
+            ProductoCreditoDTO producto = seccion.producto();
+            porCodigo.put(producto.getCodigoProducto(), producto);
+            if (ACTIVO.equals(producto.getEstado())) {
+                activos.add(producto);
+            }
+            tasas += seccion.tasas().size();
+            documentos += seccion.documentos().size();
+        }
+        activos.sort(Comparator.comparing(ProductoCreditoDTO::getNombre));
+        this.productosPorCodigo = Map.copyOf(porCodigo);
+        this.productosActivos = List.copyOf(activos);
+        this.versionProductosActivos = huella("pa", activos, ProductoCreditoDTO::getIdProductoCredito, ProductoCreditoDTO::getVersion);
+        this.cantidadTasas = tasas;
+        this.cantidadDocumentos = documentos;
+    }
+
+    /**
+     * Arma el libro completo. Todas las tasas se conservan; solo las activas participan de la
+     * vigencia.
+     */
+    public static LibroParametros construir(long version,
+                                            Collection<ProductoCreditoDTO> productos,
+                                            Collection<TasaInteresDTO> tasas,
+                                            Collection<DocumentoRequeridoDTO> documentos) {
+        return new LibroParametros(version, secciones(productos, tasas, documentos));
+    }
+
+    public static LibroParametros vacio() {
+        return construir(0, List.of(), List.of(), List.of());
+    }
+
+    /**
+     * Devuelve un libro nuevo en el que las secciones de los productos indicados se reemplazan
+     * por los productos, tasas y documentos recibidos; los productos indicados que no vengan en
+     * {@code productos} se retiran. Las secciones del resto se comparten con este libro.
+     */
+    public LibroParametros conProductos(long nuevaVersion, Collection<Integer> idsProducto,
+                                        Collection<ProductoCreditoDTO> productos,
+                                        Collection<TasaInteresDTO> tasas,
+                                        Collection<DocumentoRequeridoDTO> documentos) {
+        Map<Integer, Seccion> nuevasSecciones = new HashMap<>(secciones);
+        idsProducto.forEach(nuevasSecciones::remove);
+        nuevasSecciones.putAll(secciones(productos, tasas, documentos));
+        return new LibroParametros(nuevaVersion, nuevasSecciones);
+    }
+
+    private static Map<Integer, Seccion> secciones(Collection<ProductoCreditoDTO> productos,
+                                                   Collection<TasaInteresDTO> tasas,
+                                                   Collection<DocumentoRequeridoDTO> documentos) {
+        Map<Integer, List<TasaInteresDTO>> tasasAgrupadas = new HashMap<>();
+        for (TasaInteresDTO tasa : tasas) {
+            tasasAgrupadas.computeIfAbsent(tasa.getIdProductoCredito(), id -> new ArrayList<>()).add(tasa);
+        }
+        Map<Integer, List<DocumentoRequeridoDTO>> documentosAgrupados = new HashMap<>();
+        for (DocumentoRequeridoDTO documento : documentos) {
+            documentosAgrupados.computeIfAbsent(documento.getIdProductoCredito(), id -> new ArrayList<>()).add(documento);
+        }
+        Map<Integer, Seccion> secciones = new HashMap<>();
+        for (ProductoCreditoDTO producto : productos) {
+            Integer idProducto = producto.getIdProductoCredito();
+            secciones.put(idProducto, Seccion.de(producto, tasasAgrupadas.getOrDefault(idProducto, List.of()),
+                    documentosAgrupados.getOrDefault(idProducto, List.of())));
+        }
+        return secciones;
+    }
+
+    /**
+     * Resume los pares (id, @Version) de una colección en una huella estable: cambia
+     * si se agrega, retira, reordena o modifica cualquiera de sus elementos.
+     */
+    private static <T> String huella(String prefijo, List<T> elementos,
+                                     Function<T, Integer> id, Function<T, Long> version) {
+        long huella = 0xcbf29ce484222325L;
+        for (T elemento : elementos) {
+            huella = (huella ^ id.apply(elemento)) * 0x100000001b3L;
+            Long versionElemento = version.apply(elemento);
+            huella = (huella ^ (versionElemento == null ? -1 : versionElemento)) * 0x100000001b3L;
+        }
+        return prefijo + "-" + elementos.size() + "-" + Long.toHexString(huella);
+    }
+
+    public static String versionDe(ProductoCreditoDTO producto) {
+        return "p" + producto.getIdProductoCredito() + "." + producto.getVersion();
+    }
+
+    public static String versionDe(TasaInteresDTO tasa) {
+        return "t" + tasa.getIdTasaInteres() + "." + tasa.getVersion();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public ProductoCreditoDTO productoPorId(Integer idProducto) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? null : seccion.producto();
+    }
+
+    public ProductoCreditoDTO productoPorCodigo(String codigo) {
+        return productosPorCodigo.get(codigo);
+    }
+
+    public List<ProductoCreditoDTO> productosActivos() {
+        return productosActivos;
+    }
+
+    public String versionProductosActivos() {
+        return versionProductosActivos;
+    }
+
+    public TasaInteresDTO tasaVigente(Integer idProducto, LocalDate fecha) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? null : seccion.tasasVigentes().buscarVigente(fecha);
+    }
+
+    // null si la tasa no pertenece a ese producto
+    public TasaInteresDTO tasa(Integer idProducto, Integer idTasa) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? null : seccion.tasasPorId().get(idTasa);
+    }
+
+    // Sin índice global de tasas: recorre las secciones. Para el modo de solo lectura; con la
+    // base disponible la consulta por ID va a la base
+    public TasaInteresDTO tasaPorId(Integer idTasa) {
+        for (Seccion seccion : secciones.values()) {
+            TasaInteresDTO tasa = seccion.tasasPorId().get(idTasa);
+            if (tasa != null) {
+                return tasa;
+            }
+        }
+        return null;
+    }
+
+    // Activas e inactivas, en el orden del historial
+    public List<TasaInteresDTO> tasasPorProducto(Integer idProducto) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? List.of() : seccion.tasas();
+    }
+
+    public String versionTasasPorProducto(Integer idProducto) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? "tp" + idProducto + "-0" : seccion.versionTasas();
+    }
+
+    public DocumentoRequeridoDTO documento(Integer idProducto, Integer idDocumento) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? null : seccion.documentos().get(idDocumento);
+    }
+
+    // Activos e inactivos
+    Collection<DocumentoRequeridoDTO> documentosDe(Integer idProducto) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? List.of() : seccion.documentos().values();
+    }
+
+    public List<DocumentoRequeridoDTO> documentosPorProducto(Integer idProducto) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? List.of() : seccion.documentosActivos();
+    }
+
+    public String versionDocumentosPorProducto(Integer idProducto) {
+        Seccion seccion = secciones.get(idProducto);
+        return seccion == null ? "dp" + idProducto + "-0" : seccion.versionDocumentos();
+    }
+
+    // Todo el contenido del libro, incluidos productos y documentos inactivos, para persistirlo
+    Collection<ProductoCreditoDTO> productos() {
+        return secciones.values().stream().map(Seccion::producto).toList();
+    }
+
+    Collection<TasaInteresDTO> tasas() {
+        return secciones.values().stream().flatMap(seccion -> seccion.tasas().stream()).toList();
+    }
+
+    Collection<DocumentoRequeridoDTO> documentos() {
+        return secciones.values().stream().flatMap(seccion -> seccion.documentos().values().stream()).toList();
+    }
+
+    Collection<Integer> idsProducto() {
+        return secciones.keySet();
+    }
+
+    public int cantidadProductos() {
+        return secciones.size();
+    }
+
+    public int cantidadTasas() {
+        return cantidadTasas;
+    }
+
+    public int cantidadDocumentos() {
+        return cantidadDocumentos;
+    }
+}
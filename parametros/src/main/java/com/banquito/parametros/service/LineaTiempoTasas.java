@@ -0,0 +1,124 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Períodos de vigencia de las tasas activas de un producto ordenados por inicio.
+ * Como las tasas activas no se traslapan, la vigente es la última que inicia antes
+ * de la fecha, y un período nuevo solo puede chocar con la última que inicia antes
+ * de su fin. Se usa tanto para el libro de parámetros (DTOs) como para validar
+ * las escrituras (entidades).
+ */
+public final class LineaTiempoTasas<T> {
+
+    private static final LineaTiempoTasas<?> VACIA = new LineaTiempoTasas<>(new long[0], new long[0], new long[0], new Object[0], -1);
+
+    private final long[] inicios;
+    private final long[] fines;
+    // Máximo fin hasta cada posición: mantiene la búsqueda de traslapes correcta aunque existan datos traslapados
+    private final long[] maximosFin;
+    private final Object[] tasas;
+    private final int indiceAbierta;
+
+    private LineaTiempoTasas(long[] inicios, long[] fines, long[] maximosFin, Object[] tasas, int indiceAbierta) {
+        this.inicios = inicios;
+        this.fines = fines;
+        this.maximosFin = maximosFin;
+        this.tasas = tasas;
+        this.indiceAbierta = indiceAbierta;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> LineaTiempoTasas<T> vacia() {
+        return (LineaTiempoTasas<T>) VACIA;
+    }
+
+    public static LineaTiempoTasas<TasaInteresDTO> de(List<TasaInteresDTO> tasasActivas) {
+        return de(tasasActivas, TasaInteresDTO::getFechaInicioVigencia, TasaInteresDTO::getFechaFinVigencia);
+    }
+
+    public static <T> LineaTiempoTasas<T> de(List<T> tasasActivas,
+                                             Function<T, LocalDate> inicioVigencia,
+                                             Function<T, LocalDate> finVigencia) {
+        if (tasasActivas.isEmpty()) {
+            return vacia();
+        }
+        Object[] ordenadas = tasasActivas.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> porInicio = Comparator.comparing(tasa -> inicioVigencia.apply((T) tasa));
+        Arrays.sort(ordenadas, porInicio);
+        long[] inicios = new long[ordenadas.length];
+        long[] fines = new long[ordenadas.length];
+        long[] maximosFin = new long[ordenadas.length];
+        int indiceAbierta = -1;
+        for (int i = 0; i < ordenadas.length; i++) {
+            @SuppressWarnings("unchecked")
+            T tasa = (T) ordenadas[i];
+            LocalDate fin = finVigencia.apply(tasa);
+            inicios[i] = inicioVigencia.apply(tasa).toEpochDay();
+            fines[i] = fin == null ? Long.MAX_VALUE : fin.toEpochDay();
+            maximosFin[i] = i == 0 ? fines[i] : Math.max(maximosFin[i - 1], fines[i]);
+            if (fin == null) {
+                indiceAbierta = i;
+            }
+        }
+        return new LineaTiempoTasas<>(inicios, fines, maximosFin, ordenadas, indiceAbierta);
+    }
+
+    public T buscarVigente(LocalDate fecha) {
+        long dia = fecha.toEpochDay();
+        int indice = ultimoQueIniciaHasta(dia);
+        if (indice < 0 || fines[indice] < dia) {
+            return null;
+        }
+        return tasa(indice);
+    }
+
+    /** Devuelve una tasa cuya vigencia se cruza con [inicio, fin] (fin nulo = abierta), o null. */
+    public T buscarTraslape(LocalDate inicio, LocalDate fin) {
+        return buscarTraslape(inicio, fin, tasa -> false);
+    }
+
+    public T buscarTraslape(LocalDate inicio, LocalDate fin, Predicate<T> excluir) {
+        long diaInicio = inicio.toEpochDay();
+        long diaFin = fin == null ? Long.MAX_VALUE : fin.toEpochDay();
+        for (int i = ultimoQueIniciaHasta(diaFin); i >= 0 && maximosFin[i] >= diaInicio; i--) {
+            if (fines[i] >= diaInicio && !excluir.test(tasa(i))) {
+                return tasa(i);
+            }
+        }
+        return null;
+    }
+
+    /** La tasa sin fecha de fin que inicia más tarde, o null si todas están cerradas. */
+    public T periodoAbierto() {
+        return indiceAbierta < 0 ? null : tasa(indiceAbierta);
+    }
+
+    public int tamanio() {
+        return tasas.length;
+    }
+
+    private int ultimoQueIniciaHasta(long dia) {
+        int indice = Arrays.binarySearch(inicios, dia);
+        if (indice < 0) {
+            return -indice - 2;
+        }
+        while (indice + 1 < inicios.length && inicios[indice + 1] == dia) {
+            indice++;
+        }
+        return indice;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T tasa(int indice) {
+        return (T) tasas[indice];
+    }
+}
@@ -0,0 +1,478 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.*;
+import com.banquito.parametros.controller.mapper.*;
+import com.banquito.parametros.exception.*;
+import com.banquito.parametros.model.*;
+import com.banquito.parametros.repository.*;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Creación y actualización de parámetros en lote. Cada elemento se valida con las
+ * mismas reglas que la operación individual; los que fallan se reportan en su
+ * resultado y el resto se guarda en una sola transacción. Las consultas de apoyo
+ * (productos, registros existentes, códigos y nombres) se hacen una vez por lote o
+ * por producto, y los INSERT/UPDATE se envían en batches JDBC.
+ */
+@Service
+@Transactional
+@Timed("parametros.servicio")
+public class LoteParametrosService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoteParametrosService.class);
+
+    private static final String CREADO = "CREADO";
+    private static final String ACTUALIZADO = "ACTUALIZADO";
+
+    private final ProductoCreditoRepository productoCreditoRepository;
+    private final TasaInteresRepository tasaInteresRepository;
+    private final DocumentoRequeridoRepository documentoRequeridoRepository;
+    private final ProductoCreditoMapper productoCreditoMapper;
+    private final TasaInteresMapper tasaInteresMapper;
+    private final DocumentoRequeridoMapper documentoRequeridoMapper;
+    private final ParametrosService parametrosService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasParametros metricas;
+
+    public LoteParametrosService(ProductoCreditoRepository productoCreditoRepository,
+                                 TasaInteresRepository tasaInteresRepository,
+                                 DocumentoRequeridoRepository documentoRequeridoRepository,
+                                 ProductoCreditoMapper productoCreditoMapper,
+                                 TasaInteresMapper tasaInteresMapper,
+                                 DocumentoRequeridoMapper documentoRequeridoMapper,
+                                 ParametrosService parametrosService,
+                                 Validator validator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MetricasParametros metricas) {
+        this.productoCreditoRepository = productoCreditoRepository;
+        this.tasaInteresRepository = tasaInteresRepository;
+        this.documentoRequeridoRepository = documentoRequeridoRepository;
+        this.productoCreditoMapper = productoCreditoMapper;
+        this.tasaInteresMapper = tasaInteresMapper;
+        this.documentoRequeridoMapper = documentoRequeridoMapper;
+        this.parametrosService = parametrosService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.metricas = metricas;
+    }
+
+    // ========== PRODUCTOS DE CRÉDITO ==========
+
+    public List<ResultadoLoteDTO> guardarProductos(List<ProductoCreditoDTO> dtos) {
+        log.info("Procesando lote de {} productos de crédito", dtos.size());
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(dtos.size());
+        Map<Integer, ProductoCredito> existentes = porId(
+                productoCreditoRepository.findAllById(ids(dtos, ProductoCreditoDTO::getIdProductoCredito)),
+                ProductoCredito::getIdProductoCredito);
+        Map<String, Integer> idsPorCodigo = new HashMap<>();
+        for (ProductoCredito producto : productoCreditoRepository.findByCodigoProductoIn(
+                valores(dtos, ProductoCreditoDTO::getCodigoProducto))) {
+            idsPorCodigo.put(producto.getCodigoProducto(), producto.getIdProductoCredito());
+        }
+        Set<String> codigosDelLote = new HashSet<>();
+        Set<Integer> idsDelLote = new HashSet<>();
+        List<ProductoCredito> porGuardar = new ArrayList<>();
+        List<ResultadoLoteDTO> resultadosPorGuardar = new ArrayList<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            ProductoCreditoDTO dto = dtos.get(i);
+            ResultadoLoteDTO resultado = new ResultadoLoteDTO(i);
+            resultados.add(resultado);
+            try {
+                validarEstructura(dto, "ProductoCredito");
+                ParametrosService.validarMontosProducto(dto);
+                ParametrosService.validarPlazosProducto(dto);
+                String codigo = dto.getCodigoProducto();
+                if (!codigosDelLote.add(codigo)) {
+                    throw new ValidacionNegocioException("codigoProducto", "ProductoCredito",
+                            "El código está repetido en el lote: " + codigo);
+                }
+                Integer idConCodigo = idsPorCodigo.get(codigo);
+                ProductoCredito producto;
+                if (dto.getIdProductoCredito() == null) {
+                    if (idConCodigo != null) {
+                        throw new ValidacionNegocioException("codigoProducto", "ProductoCredito",
+                                "Ya existe un producto con el código: " + codigo);
+                    }
+                    producto = productoCreditoMapper.toModel(dto);
+                    resultado.setOperacion(CREADO);
+                } else {
+                    producto = existente(existentes, idsDelLote, dto.getIdProductoCredito(), "ProductoCredito",
+                            () -> new ProductoCreditoNotFoundException(dto.getIdProductoCredito()));
+                    if (idConCodigo != null && !idConCodigo.equals(producto.getIdProductoCredito())) {
+                        throw new ValidacionNegocioException("codigoProducto", "ProductoCredito",
+                                "Ya existe otro producto con el código: " + codigo);
+                    }
+                    ParametrosService.aplicarCambiosProducto(producto, dto);
+                    resultado.setOperacion(ACTUALIZADO);
+                }
+                porGuardar.add(producto);
+                resultadosPorGuardar.add(resultado);
+            } catch (ValidacionNegocioException e) {
+                metricas.registrarRechazo(e);
+                rechazar(resultado, e.getCampo(), e.getMessage());
+            } catch (ProductoCreditoNotFoundException | IllegalArgumentException e) {
+                rechazar(resultado, null, e.getMessage());
+            }
+        }
+
+        List<ProductoCredito> guardados = productoCreditoRepository.saveAll(porGuardar);
+        Set<Integer> productosAfectados = new LinkedHashSet<>();
+        for (int i = 0; i < guardados.size(); i++) {
+            aceptar(resultadosPorGuardar.get(i), guardados.get(i).getIdProductoCredito());
+            productosAfectados.add(guardados.get(i).getIdProductoCredito());
+        }
+        publicarCambios(guardados, productosAfectados);
+        log.info("Lote de productos de crédito procesado: {} guardados de {}", guardados.size(), dtos.size());
+        return resultados;
+    }
+
+    // ========== TASAS DE INTERÉS ==========
+
+    public List<ResultadoLoteDTO> guardarTasas(List<TasaInteresDTO> dtos) {
+        log.info("Procesando lote de {} tasas de interés", dtos.size());
+        ResultadoLoteDTO[] resultados = new ResultadoLoteDTO[dtos.size()];
+        Map<Integer, ProductoCredito> productos = porId(
+                productoCreditoRepository.findAllById(ids(dtos, TasaInteresDTO::getIdProductoCredito)),
+                ProductoCredito::getIdProductoCredito);
+        Map<Integer, TasaInteres> existentes = porId(
+                tasaInteresRepository.findAllById(ids(dtos, TasaInteresDTO::getIdTasaInteres)),
+                TasaInteres::getIdTasaInteres);
+        // Dentro de cada producto las tasas se procesan por inicio de vigencia, como si se
+        // hubieran enviado una a una en ese orden: cada tasa abierta cierra a la anterior
+        Integer[] orden = new Integer[dtos.size()];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, Comparator
+                .comparing((Integer i) -> dtos.get(i).getIdProductoCredito(), Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(i -> dtos.get(i).getFechaInicioVigencia(), Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<Integer, PlanTasasProducto> planes = new HashMap<>();
+        Set<Integer> idsReemplazados = new HashSet<>();
+        Set<Integer> idsDelLote = new HashSet<>();
+        Set<TasaInteres> porGuardar = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TasaInteres> ordenGuardado = new ArrayList<>();
+        Map<ResultadoLoteDTO, TasaInteres> aceptadas = new LinkedHashMap<>();
+        Set<Integer> productosAfectados = new LinkedHashSet<>();
+
+        for (Integer i : orden) {
+            TasaInteresDTO dto = dtos.get(i);
+            ResultadoLoteDTO resultado = new ResultadoLoteDTO(i);
+            resultados[i] = resultado;
+            try {
+                validarEstructura(dto, "TasaInteres");
+                ParametrosService.validarFechasTasa(dto);
+                ParametrosService.validarValorTasa(dto);
+                ProductoCredito producto = productos.get(dto.getIdProductoCredito());
+                if (producto == null) {
+                    throw new ValidacionNegocioException("idProductoCredito", "TasaInteres",
+                            "El producto de crédito no existe");
+                }
+                TasaInteres existente = dto.getIdTasaInteres() == null ? null
+                        : existente(existentes, idsDelLote, dto.getIdTasaInteres(), "TasaInteres",
+                                () -> new TasaInteresNotFoundException(dto.getIdTasaInteres(), "Tasa de interés no encontrada"));
+                PlanTasasProducto plan = planes.computeIfAbsent(producto.getIdProductoCredito(),
+                        id -> new PlanTasasProducto(parametrosService.lineaTiempoTasasActivas(producto), idsReemplazados));
+
+                TasaInteres tasa;
+                TasaInteres tasaACerrar = null;
+                if (existente == null) {
+                    tasaACerrar = plan.tasaAbiertaAntesDe(dto.getFechaInicioVigencia());
+                    plan.validarTraslape(dto, tasaACerrar);
+                    tasa = tasaInteresMapper.toModel(dto);
+                    resultado.setOperacion(CREADO);
+                } else {
+                    plan.validarTraslape(dto, existente);
+                    productosAfectados.add(existente.getIdProductoCredito());
+                    tasa = existente;
+                    ParametrosService.aplicarCambiosTasa(tasa, dto);
+                    resultado.setOperacion(ACTUALIZADO);
+                }
+                tasa.setProductoCredito(producto);
+                plan.registrar(tasa);
+                if (tasaACerrar != null) {
+                    ParametrosService.cerrarVigencia(tasaACerrar, dto.getFechaInicioVigencia().minusDays(1));
+                    plan.registrar(tasaACerrar);
+                    idsDelLote.add(tasaACerrar.getIdTasaInteres());
+                    agregar(porGuardar, ordenGuardado, tasaACerrar);
+                }
+                agregar(porGuardar, ordenGuardado, tasa);
+                aceptadas.put(resultado, tasa);
+                productosAfectados.add(producto.getIdProductoCredito());
+            } catch (ValidacionNegocioException e) {
+                metricas.registrarRechazo(e);
+                rechazar(resultado, e.getCampo(), e.getMessage());
+            } catch (TasaInteresNotFoundException | IllegalArgumentException e) {
+                rechazar(resultado, null, e.getMessage());
+            }
+        }
+
+        List<TasaInteres> guardadas = escribirTasas(ordenGuardado);
+        aceptadas.forEach((resultado, tasa) -> aceptar(resultado, tasa.getIdTasaInteres()));
+        publicarCambios(guardadas, productosAfectados);
+        log.info("Lote de tasas de interés procesado: {} aceptadas de {}", aceptadas.size(), dtos.size());
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Escribe primero las tasas existentes (cierres y cambios de vigencia) y luego las nuevas,
+     * para que la restricción de traslape de la base vea los períodos ya liberados. Un
+     * traslape aquí se debe a una escritura concurrente sobre el mismo producto y rechaza
+     * el lote completo.
+     */
+    private List<TasaInteres> escribirTasas(List<TasaInteres> tasas) {
+        Map<Boolean, List<TasaInteres>> porExistencia = tasas.stream()
+                .collect(Collectors.partitioningBy(tasa -> tasa.getIdTasaInteres() != null));
+        try {
+            List<TasaInteres> guardadas = new ArrayList<>(tasaInteresRepository.saveAllAndFlush(porExistencia.get(true)));
+            guardadas.addAll(tasaInteresRepository.saveAllAndFlush(porExistencia.get(false)));
+            return guardadas;
+        } catch (DataIntegrityViolationException e) {
+            if (ParametrosService.esTraslapeTasas(e)) {
+                throw ParametrosService.traslapeTasa();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Vigencias de un producto durante el lote: las tasas activas en base (menos las que
+     * el lote ya modificó) más las aceptadas en el lote, ordenadas por inicio.
+     */
+    private static final class PlanTasasProducto {
+
+        private final LineaTiempoTasas<TasaInteres> guardadas;
+        private final Set<Integer> idsReemplazados;
+        private final TreeMap<LocalDate, TasaInteres> delLote = new TreeMap<>();
+
+        PlanTasasProducto(LineaTiempoTasas<TasaInteres> guardadas, Set<Integer> idsReemplazados) {
+            this.guardadas = guardadas;
+            this.idsReemplazados = idsReemplazados;
+        }
+
+        TasaInteres tasaAbiertaAntesDe(LocalDate inicio) {
+            Map.Entry<LocalDate, TasaInteres> ultima = delLote.lastEntry();
+            TasaInteres abierta;
+            if (ultima != null && ultima.getValue().getFechaFinVigencia() == null) {
+                abierta = ultima.getValue();
+            } else {
+                abierta = guardadas.periodoAbierto();
+                if (abierta != null && reemplazada(abierta)) {
+                    abierta = null;
+                }
+            }
+            if (abierta == null || !abierta.getFechaInicioVigencia().isBefore(inicio)) {
+                return null;
+            }
+            return abierta;
+        }
+
+        void validarTraslape(TasaInteresDTO dto, TasaInteres excluida) {
+            LocalDate inicio = dto.getFechaInicioVigencia();
+            LocalDate fin = dto.getFechaFinVigencia();
+            TasaInteres traslape = guardadas.buscarTraslape(inicio, fin,
+                    tasa -> tasa == excluida || reemplazada(tasa));
+            if (traslape == null) {
+                // Las tasas del lote no se traslapan entre sí: basta revisar las dos que inician antes del fin
+                Map.Entry<LocalDate, TasaInteres> anterior = fin == null ? delLote.lastEntry() : delLote.floorEntry(fin);
+                for (int i = 0; i < 2 && anterior != null && traslape == null; i++) {
+                    TasaInteres tasa = anterior.getValue();
+                    if (tasa != excluida && (tasa.getFechaFinVigencia() == null || !tasa.getFechaFinVigencia().isBefore(inicio))) {
+                        traslape = tasa;
+                    }
+                    anterior = delLote.lowerEntry(anterior.getKey());
+                }
+            }
+            if (traslape != null) {
+                throw new ValidacionNegocioException("fechaInicioVigencia", "TasaInteres",
+                        "Existe traslape con otra tasa vigente");
+            }
+        }
+
+        void registrar(TasaInteres tasa) {
+            if (tasa.getIdTasaInteres() != null) {
+                idsReemplazados.add(tasa.getIdTasaInteres());
+            }
+            delLote.values().removeIf(registrada -> registrada == tasa);
+            if (tasa.getEstado() == EstadosParametros.EstadoActivoInactivo.ACTIVO) {
+                delLote.put(tasa.getFechaInicioVigencia(), tasa);
+            }
+        }
+
+        private boolean reemplazada(TasaInteres tasa) {
+            return tasa.getIdTasaInteres() != null && idsReemplazados.contains(tasa.getIdTasaInteres());
+        }
+    }
+
+    // ========== DOCUMENTOS REQUERIDOS ==========
+
+    public List<ResultadoLoteDTO> guardarDocumentos(List<DocumentoRequeridoDTO> dtos) {
+        log.info("Procesando lote de {} documentos requeridos", dtos.size());
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(dtos.size());
+        Map<Integer, ProductoCredito> productos = porId(
+                productoCreditoRepository.findAllById(ids(dtos, DocumentoRequeridoDTO::getIdProductoCredito)),
+                ProductoCredito::getIdProductoCredito);
+        Map<Integer, DocumentoRequerido> existentes = porId(
+                documentoRequeridoRepository.findAllById(ids(dtos, DocumentoRequeridoDTO::getIdDocumentoRequerido)),
+                DocumentoRequerido::getIdDocumentoRequerido);
+        // Nombre -> ID de documento por producto, actualizado a medida que se aceptan elementos
+        Map<Integer, Map<String, Integer>> nombresPorProducto = new HashMap<>();
+        Set<Integer> idsDelLote = new HashSet<>();
+        List<DocumentoRequerido> porGuardar = new ArrayList<>();
+        List<ResultadoLoteDTO> resultadosPorGuardar = new ArrayList<>();
+        Set<Integer> productosAfectados = new LinkedHashSet<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            DocumentoRequeridoDTO dto = dtos.get(i);
+            ResultadoLoteDTO resultado = new ResultadoLoteDTO(i);
+            resultados.add(resultado);
+            try {
+                validarEstructura(dto, "DocumentoRequerido");
+                ProductoCredito producto = productos.get(dto.getIdProductoCredito());
+                if (producto == null) {
+                    throw new ValidacionNegocioException("idProductoCredito", "DocumentoRequerido",
+                            "El producto de crédito no existe");
+                }
+                Map<String, Integer> nombres = nombresPorProducto.computeIfAbsent(
+                        producto.getIdProductoCredito(), id -> nombresDocumentos(producto));
+                Integer idConNombre = nombres.get(dto.getNombre());
+                DocumentoRequerido documento;
+                if (dto.getIdDocumentoRequerido() == null) {
+                    if (idConNombre != null) {
+                        throw new ValidacionNegocioException("nombre", "DocumentoRequerido",
+                                "Ya existe un documento con el nombre: " + dto.getNombre() + " para este producto");
+                    }
+                    documento = documentoRequeridoMapper.toModel(dto);
+                    resultado.setOperacion(CREADO);
+                } else {
+                    documento = existente(existentes, idsDelLote, dto.getIdDocumentoRequerido(), "DocumentoRequerido",
+                            () -> new DocumentoRequeridoNotFoundException(dto.getIdDocumentoRequerido()));
+                    if (idConNombre != null && !idConNombre.equals(documento.getIdDocumentoRequerido())) {
+                        throw new ValidacionNegocioException("nombre", "DocumentoRequerido",
+                                "Ya existe otro documento con el nombre: " + dto.getNombre() + " para este producto");
+                    }
+                    Map<String, Integer> nombresAnteriores = nombresPorProducto.get(documento.getIdProductoCredito());
+                    if (nombresAnteriores != null) {
+                        nombresAnteriores.remove(documento.getNombre(), documento.getIdDocumentoRequerido());
+                    }
+                    productosAfectados.add(documento.getIdProductoCredito());
+                    ParametrosService.aplicarCambiosDocumento(documento, dto);
+                    resultado.setOperacion(ACTUALIZADO);
+                }
+                documento.setProductoCredito(producto);
+                // Los documentos nuevos aún no tienen ID: se reserva el nombre con un marcador
+                nombres.put(dto.getNombre(), documento.getIdDocumentoRequerido() != null
+                        ? documento.getIdDocumentoRequerido() : -1);
+                porGuardar.add(documento);
+                resultadosPorGuardar.add(resultado);
+                productosAfectados.add(producto.getIdProductoCredito());
+            } catch (ValidacionNegocioException e) {
+                metricas.registrarRechazo(e);
+                rechazar(resultado, e.getCampo(), e.getMessage());
+            } catch (DocumentoRequeridoNotFoundException | IllegalArgumentException e) {
+                rechazar(resultado, null, e.getMessage());
+            }
+        }
+
+        List<DocumentoRequerido> guardados = documentoRequeridoRepository.saveAll(porGuardar);
+        for (int i = 0; i < guardados.size(); i++) {
+            aceptar(resultadosPorGuardar.get(i), guardados.get(i).getIdDocumentoRequerido());
+        }
+        publicarCambios(guardados, productosAfectados);
+        log.info("Lote de documentos requeridos procesado: {} guardados de {}", guardados.size(), dtos.size());
+        return resultados;
+    }
+
+    private Map<String, Integer> nombresDocumentos(ProductoCredito producto) {
+        Map<String, Integer> nombres = new HashMap<>();
+        for (DocumentoRequerido documento : documentoRequeridoRepository.findByProductoCreditoOrderByNombreAsc(producto)) {
+            nombres.put(documento.getNombre(), documento.getIdDocumentoRequerido());
+        }
+        return nombres;
+    }
+
+    // ========== UTILIDADES ==========
+
+    private void validarEstructura(Object dto, String entidad) {
+        if (dto == null) {
+            throw new ValidacionNegocioException(null, entidad, "El elemento del lote es requerido");
+        }
+        Set<ConstraintViolation<Object>> violaciones = validator.validate(dto);
+        violaciones.stream()
+                .min(Comparator.comparing(violacion -> violacion.getPropertyPath().toString()))
+                .ifPresent(violacion -> {
+                    throw new ValidacionNegocioException(violacion.getPropertyPath().toString(), entidad,
+                            violacion.getMessage());
+                });
+    }
+
+    private static <T, E extends RuntimeException> T existente(Map<Integer, T> existentes, Set<Integer> idsDelLote,
+                                                               Integer id, String entidad, Supplier<E> noEncontrado) {
+        T registro = existentes.get(id);
+        if (registro == null) {
+            throw noEncontrado.get();
+        }
+        if (!idsDelLote.add(id)) {
+            throw new ValidacionNegocioException("id", entidad, "El registro " + id + " está repetido en el lote");
+        }
+        return registro;
+    }
+
+    private static <D> Set<Integer> ids(List<D> dtos, Function<D, Integer> id) {
+        return valores(dtos, id);
+    }
+
+    private static <D, V> Set<V> valores(List<D> dtos, Function<D, V> valor) {
+        return dtos.stream()
+                .filter(Objects::nonNull)
+                .map(valor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Integer, T> porId(List<T> registros, Function<T, Integer> id) {
+        return registros.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static <T> void agregar(Set<T> porGuardar, List<T> ordenGuardado, T registro) {
+        if (porGuardar.add(registro)) {
+            ordenGuardado.add(registro);
+        }
+    }
+
+    private static void rechazar(ResultadoLoteDTO resultado, String campo, String mensaje) {
+        resultado.setExitoso(false);
+        resultado.setOperacion(null);
+        resultado.setCampo(campo);
+        resultado.setMensaje(mensaje);
+    }
+
+    private static void aceptar(ResultadoLoteDTO resultado, Integer id) {
+        resultado.setExitoso(true);
+        resultado.setId(id);
+    }
+
+    private void publicarCambios(List<?> guardados, Set<Integer> productosAfectados) {
+        if (guardados.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(guardados));
+        eventPublisher.publishEvent(new CambioParametrosEvento(productosAfectados));
+    }
+}
@@ -0,0 +1,91 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.exception.ValidacionNegocioException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas propias del servicio que no salen de @Timed ni de las de repositorios de Spring Data:
+ * rechazos de validación de negocio por entidad y campo, pasos internos de la escritura de
+ * tasas, el tamaño de los índices del libro de parámetros y las lecturas que se resuelven en él
+ * por ruta, encontradas o ausentes. Los percentiles e histogramas se configuran en
+ * management.metrics.distribution.
+ */
+@Component
+public class MetricasParametros {
+
+    private static final String SIN_VALOR = "ninguno";
+
+    /**
+     * Contadores de una ruta de lectura del libro, registrados una vez por quien lee para no
+     * buscarlos en el registro en cada consulta.
+     */
+    public record LecturaLibro(Counter encontradas, Counter ausentes) {
+
+        public <T> T registrar(T resultado) {
+            registrar(resultado != null);
+            return resultado;
+        }
+
+        public void registrar(boolean encontrado) {
+            (encontrado ? encontradas : ausentes).increment();
+        }
+    }
+
+    private final MeterRegistry registro;
+
+    public MetricasParametros(MeterRegistry registro, PublicadorLibroParametros publicadorLibro) {
+        this.registro = registro;
+        // Los indicadores leen el libro ya publicado: consultarlos no dispara la carga completa
+        indicadorLibro("parametros.libro.productos", publicadorLibro, LibroParametros::cantidadProductos);
+        indicadorLibro("parametros.libro.tasas", publicadorLibro, LibroParametros::cantidadTasas);
+        indicadorLibro("parametros.libro.documentos", publicadorLibro, LibroParametros::cantidadDocumentos);
+        indicadorLibro("parametros.libro.version", publicadorLibro, LibroParametros::getVersion);
+    }
+
+    public void registrarRechazo(ValidacionNegocioException e) {
+        Counter.builder("parametros.validacion.rechazos")
+                .description("Rechazos por validación de negocio")
+                .tag("entidad", valor(e.getEntidad()))
+                .tag("campo", valor(e.getCampo()))
+                .register(registro)
+                .increment();
+    }
+
+    public Timer paso(String paso) {
+        return Timer.builder("parametros.servicio.paso")
+                .description("Pasos internos de las operaciones de ParametrosService")
+                .tag("paso", paso)
+                .register(registro);
+    }
+
+    public LecturaLibro lecturaLibro(String lectura) {
+        return new LecturaLibro(contadorLectura(lectura, "encontrado"), contadorLectura(lectura, "ausente"));
+    }
+
+    private Counter contadorLectura(String lectura, String resultado) {
+        return Counter.builder("parametros.libro.lecturas")
+                .description("Consultas resueltas en el libro de parámetros")
+                .tag("lectura", lectura)
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+
+    private void indicadorLibro(String nombre, PublicadorLibroParametros publicadorLibro,
+                                ToDoubleFunction<LibroParametros> medida) {
+        Gauge.builder(nombre, publicadorLibro, publicador -> {
+                    LibroParametros libro = publicador.publicado();
+                    return libro == null ? Double.NaN : medida.applyAsDouble(libro);
+                })
+                .register(registro);
+    }
+
+    private static String valor(String valor) {
+        return valor == null || valor.isBlank() ? SIN_VALOR : valor;
+    }
+}
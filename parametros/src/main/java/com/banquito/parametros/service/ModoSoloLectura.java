@@ -0,0 +1,112 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.exception.ParametrosSoloLecturaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Estado de disponibilidad de la base. Mientras está activo las consultas se responden desde
+ * el libro de parámetros (cargado del archivo si la instancia arrancó sin base) y toda
+ * transacción se rechaza al iniciarse, sin esperar una conexión del pool: las escrituras
+ * fallan de inmediato con {@link ParametrosSoloLecturaException}. Se activa con la primera
+ * falla de conexión confirmada y se desactiva cuando la verificación periódica vuelve a
+ * conectarse; en ese momento el libro se recarga completo desde la base.
+ */
+@Component
+public class ModoSoloLectura implements TransactionExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ModoSoloLectura.class);
+    private static final int SEGUNDOS_VALIDACION = 2;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final String url;
+    private final String usuario;
+    private final String clave;
+    private volatile Instant desde;
+    private volatile String motivo;
+
+    public ModoSoloLectura(ApplicationEventPublisher eventPublisher,
+                           @Value("${spring.datasource.url}") String url,
+                           @Value("${spring.datasource.username:}") String usuario,
+                           @Value("${spring.datasource.password:}") String clave,
+                           @Value("${app.solo-lectura.al-iniciar:false}") boolean alIniciar) {
+        this.eventPublisher = eventPublisher;
+        this.url = url;
+        this.usuario = usuario;
+        this.clave = clave;
+        if (alIniciar) {
+            activar("la base no respondía al arrancar");
+        }
+    }
+
+    public boolean activo() {
+        return desde != null;
+    }
+
+    // Rechaza también las de solo lectura: sin base solo pueden esperar el tiempo máximo del pool
+    @Override
+    public void beforeBegin(TransactionExecution transaccion) {
+        Instant inicio = desde;
+        if (inicio != null) {
+            throw new ParametrosSoloLecturaException(inicio, motivo);
+        }
+    }
+
+    /**
+     * Activa el modo si la falla se debe a que la base no responde. Un error puntual de una
+     * conexión con la base disponible no lo activa.
+     */
+    public void registrarFalla(Throwable falla) {
+        if (activo() || baseDisponible(url, usuario, clave)) {
+            return;
+        }
+        Throwable causa = falla;
+        while (causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        activar(causa.getMessage() == null ? causa.getClass().getSimpleName() : causa.getMessage());
+    }
+
+    void activar(String motivo) {
+        this.motivo = motivo;
+        this.desde = Instant.now();
+        log.error("Modo de solo lectura activado: {}. Las consultas se atienden desde el libro de parámetros"
+                + " y las escrituras se rechazan", motivo);
+    }
+
+    @Scheduled(fixedDelayString = "${app.solo-lectura.intervalo-verificacion:PT10S}",
+            initialDelayString = "${app.solo-lectura.intervalo-verificacion:PT10S}")
+    public void verificarBase() {
+        Instant inicio = desde;
+        if (inicio == null || !baseDisponible(url, usuario, clave)) {
+            return;
+        }
+        Duration tiempoSinBase = Duration.between(inicio, Instant.now());
+        desde = null;
+        motivo = null;
+        log.info("Base de datos disponible tras {}: modo de solo lectura desactivado", tiempoSinBase);
+        eventPublisher.publishEvent(new BaseDatosDisponibleEvento(tiempoSinBase));
+    }
+
+    // Conexión directa y no del pool: con la base caída el pool espera su tiempo máximo antes de fallar
+    public static boolean baseDisponible(String url, String usuario, String clave) {
+        try (Connection conexion = DriverManager.getConnection(url, usuario, clave)) {
+            return conexion.isValid(SEGUNDOS_VALIDACION);
+        } catch (SQLException e) {
+            log.debug("La base no responde: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Implementación en punto fijo de {@link CalculadoraAmortizacion}: los montos se
+ * manejan en centavos y las tasas y factores con 12 decimales en {@code long}.
+ * Cada operación replica el redondeo de la calculadora, por lo que los resultados
+ * son idénticos a los de la versión en {@code BigDecimal}, que queda como referencia.
+ */
+public final class MotorAmortizacion {
+
+    static final long ESCALA = 1_000_000_000_000L;
+    private static final long DIAS_MES = 30;
+    private static final long DIAS_ANIO_COMERCIAL = 360;
+    private static final int ITERACIONES_MAXIMAS_RAIZ = 50;
+
+    private final boolean compuesto;
+    private final long valorTasaCentesimas;
+    private final int baseCalculo;
+    private final long tasaPeriodica;
+    private final long[] factores;
+
+    public MotorAmortizacion(TasaInteresDTO tasa) {
+        this.compuesto = "compuesto".equals(tasa.getMetodoCalculo());
+        // valor_tasa se persiste con 2 decimales; cualquier otra escala no es representable
+        this.valorTasaCentesimas = tasa.getValorTasa().setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        this.baseCalculo = CalculadoraAmortizacion.baseCalculo(tasa.getBaseCalculo());
+        if (compuesto) {
+            this.tasaPeriodica = "anual".equals(tasa.getFrecuenciaCapitalizacion())
+                    ? tasaMensualEquivalente()
+                    : AritmeticaFija.dividir(valorTasaCentesimas * DIAS_MES * (ESCALA / 10_000), baseCalculo);
+            this.factores = factoresAcumulacion();
+        } else {
+            this.tasaPeriodica = 0;
+            this.factores = null;
+        }
+    }
+
+    private long tasaMensualEquivalente() {
+        long tasaAnual = AritmeticaFija.dividir(valorTasaCentesimas * DIAS_ANIO_COMERCIAL * (ESCALA / 10_000), baseCalculo);
+        long objetivo = ESCALA + tasaAnual;
+        long raiz = ESCALA + AritmeticaFija.dividir(tasaAnual, 12);
+        for (int i = 0; i < ITERACIONES_MAXIMAS_RAIZ; i++) {
+            long potencia = ESCALA;
+            for (int j = 0; j < 11; j++) {
+                potencia = AritmeticaFija.multiplicarDividir(potencia, raiz, ESCALA);
+            }
+            long siguiente = AritmeticaFija.dividir(
+                    raiz * 11 + AritmeticaFija.multiplicarDividir(objetivo, ESCALA, potencia), 12);
+            if (siguiente == raiz) {
+                break;
+            }
+            raiz = siguiente;
+        }
+        return raiz - ESCALA;
+    }
+
+    private long[] factoresAcumulacion() {
+        long[] acumulados = new long[CalculadoraAmortizacion.PLAZO_MAXIMO_MESES + 1];
+        long base = ESCALA + tasaPeriodica;
+        acumulados[0] = ESCALA;
+        for (int n = 1; n < acumulados.length; n++) {
+            acumulados[n] = AritmeticaFija.multiplicarDividir(acumulados[n - 1], base, ESCALA);
+        }
+        return acumulados;
+    }
+
+    public ResumenAmortizacion resumir(BigDecimal monto, int plazoMeses) {
+        AcumuladorAmortizacion acumulador = new AcumuladorAmortizacion();
+        resumir(aCentavos(monto), plazoMeses, acumulador);
+        return acumulador.aResumen();
+    }
+
+    /** Variante sin asignaciones: deja el resultado en un acumulador reutilizable. */
+    public void resumir(long montoCentavos, int plazoMeses, AcumuladorAmortizacion destino) {
+        validarPlazo(plazoMeses);
+        if (compuesto) {
+            long cuota = cuotaFija(montoCentavos, plazoMeses);
+            long saldo = montoCentavos;
+            long totalIntereses = 0;
+            long ultimaCuota = cuota;
+            for (int periodo = 1; periodo <= plazoMeses; periodo++) {
+                long interes = AritmeticaFija.multiplicarDividir(saldo, tasaPeriodica, ESCALA);
+                long amortizacion = periodo == plazoMeses ? saldo : cuota - interes;
+                if (periodo == plazoMeses) {
+                    ultimaCuota = amortizacion + interes;
+                }
+                saldo -= amortizacion;
+                totalIntereses += interes;
+            }
+            destino.asignar(cuota, ultimaCuota, totalIntereses, montoCentavos + totalIntereses);
+        } else {
+            long interes = interesSimple(montoCentavos);
+            long amortizacion = AritmeticaFija.dividir(montoCentavos, plazoMeses);
+            long ultimaAmortizacion = montoCentavos - amortizacion * (plazoMeses - 1);
+            long totalIntereses = interes * plazoMeses;
+            destino.asignar(amortizacion + interes, ultimaAmortizacion + interes,
+                    totalIntereses, montoCentavos + totalIntereses);
+        }
+    }
+
+    /** Generador de la tabla de amortización que produce una cuota a la vez. */
+    public TablaAmortizacion tabla(BigDecimal monto, int plazoMeses) {
+        return tabla(aCentavos(monto), plazoMeses);
+    }
+
+    public TablaAmortizacion tabla(long montoCentavos, int plazoMeses) {
+        validarPlazo(plazoMeses);
+        return new TablaAmortizacion(this, montoCentavos, plazoMeses);
+    }
+
+    long cuotaFija(long montoCentavos, int plazoMeses) {
+        long factor = factores[plazoMeses];
+        long numerador = AritmeticaFija.multiplicarDividir(tasaPeriodica, factor, ESCALA);
+        return AritmeticaFija.multiplicarDividir(montoCentavos, numerador, factor - ESCALA);
+    }
+
+    long interesSimple(long montoCentavos) {
+        return AritmeticaFija.multiplicarDividir(montoCentavos, valorTasaCentesimas * DIAS_MES, 10_000L * baseCalculo);
+    }
+
+    long interesPeriodo(long saldoCentavos) {
+        return AritmeticaFija.multiplicarDividir(saldoCentavos, tasaPeriodica, ESCALA);
+    }
+
+    boolean esCompuesto() {
+        return compuesto;
+    }
+
+    static long aCentavos(BigDecimal monto) {
+        return monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static void validarPlazo(int plazoMeses) {
+        if (plazoMeses < 1 || plazoMeses > CalculadoraAmortizacion.PLAZO_MAXIMO_MESES) {
+            throw new IllegalArgumentException("Plazo fuera de rango: " + plazoMeses);
+        }
+    }
+}
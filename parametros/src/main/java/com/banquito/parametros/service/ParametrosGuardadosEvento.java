@@ -0,0 +1,6 @@
+package com.banquito.parametros.service;
+
+import java.util.List;
+
+public record ParametrosGuardadosEvento(List<?> entidadesGuardadas) {
+}
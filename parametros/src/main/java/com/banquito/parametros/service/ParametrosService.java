@@ -5,17 +5,30 @@ import com.banquito.parametros.controller.mapper.*;
 import com.banquito.parametros.exception.*;
 import com.banquito.parametros.model.*;
 import com.banquito.parametros.repository.*;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed("parametros.servicio")
 public class ParametrosService {
 
     private static final Logger log = LoggerFactory.getLogger(ParametrosService.class);
@@ -25,6 +38,10 @@ public class ParametrosService {
     private static final BigDecimal PORCENTAJE_MIN_FINANCIAMIENTO = new BigDecimal("10.00");
     private static final BigDecimal PORCENTAJE_MAX_FINANCIAMIENTO = new BigDecimal("100.00");
     private static final int PLAZO_MAXIMO_MESES = 72;
+    private static final int TAMANIO_MAXIMO_PAGINA = 500;
+    // Restricción de exclusión de la base (db/migration) que impide tasas activas traslapadas
+    private static final String RESTRICCION_TRASLAPE_TASAS = "ex_tasas_interes_sin_traslape";
+    private static final String SQL_STATE_EXCLUSION = "23P01";
 
     private final ProductoCreditoRepository productoCreditoRepository;
     private final TasaInteresRepository tasaInteresRepository;
@@ -32,19 +49,51 @@ public class ParametrosService {
     private final ProductoCreditoMapper productoCreditoMapper;
     private final TasaInteresMapper tasaInteresMapper;
     private final DocumentoRequeridoMapper documentoRequeridoMapper;
+    private final PublicadorLibroParametros publicadorLibro;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ModoSoloLectura modoSoloLectura;
+    private final TransactionTemplate lectura;
+    private final Timer tiempoCerrarTasaAnterior;
+    private final Timer tiempoGuardarTasa;
+    private final MetricasParametros.LecturaLibro lecturaProductoPorId;
+    private final MetricasParametros.LecturaLibro lecturaProductoPorCodigo;
+    private final MetricasParametros.LecturaLibro lecturaProductosActivos;
+    private final MetricasParametros.LecturaLibro lecturaTasasPorProducto;
+    private final MetricasParametros.LecturaLibro lecturaTasaPorId;
+    private final MetricasParametros.LecturaLibro lecturaTasaVigente;
+    private final MetricasParametros.LecturaLibro lecturaDocumentosPorProducto;
 
     public ParametrosService(ProductoCreditoRepository productoCreditoRepository,
                            TasaInteresRepository tasaInteresRepository,
                            DocumentoRequeridoRepository documentoRequeridoRepository,
                            ProductoCreditoMapper productoCreditoMapper,
                            TasaInteresMapper tasaInteresMapper,
-                           DocumentoRequeridoMapper documentoRequeridoMapper) {
+                           DocumentoRequeridoMapper documentoRequeridoMapper,
+                           PublicadorLibroParametros publicadorLibro,
+                           ApplicationEventPublisher eventPublisher,
+                           ModoSoloLectura modoSoloLectura,
+                           PlatformTransactionManager transactionManager,
+                           MetricasParametros metricas) {
         this.productoCreditoRepository = productoCreditoRepository;
         this.tasaInteresRepository = tasaInteresRepository;
         this.documentoRequeridoRepository = documentoRequeridoRepository;
         this.productoCreditoMapper = productoCreditoMapper;
         this.tasaInteresMapper = tasaInteresMapper;
         this.documentoRequeridoMapper = documentoRequeridoMapper;
+        this.publicadorLibro = publicadorLibro;
+        this.eventPublisher = eventPublisher;
+        this.modoSoloLectura = modoSoloLectura;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.tiempoCerrarTasaAnterior = metricas.paso("cerrarTasaAnterior");
+        this.tiempoGuardarTasa = metricas.paso("guardarTasa");
+        this.lecturaProductoPorId = metricas.lecturaLibro("productoPorId");
+        this.lecturaProductoPorCodigo = metricas.lecturaLibro("productoPorCodigo");
+        this.lecturaProductosActivos = metricas.lecturaLibro("productosActivos");
+        this.lecturaTasasPorProducto = metricas.lecturaLibro("tasasPorProducto");
+        this.lecturaTasaPorId = metricas.lecturaLibro("tasaPorId");
+        this.lecturaTasaVigente = metricas.lecturaLibro("tasaVigente");
+        this.lecturaDocumentosPorProducto = metricas.lecturaLibro("documentosPorProducto");
     }
 
     // ========== PRODUCTOS DE CRÉDITO ==========
@@ -54,6 +103,8 @@ public class ParametrosService {
         validarProductoCredito(dto);
         ProductoCredito producto = productoCreditoMapper.toModel(dto);
         ProductoCredito productoGuardado = productoCreditoRepository.save(producto);
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(productoGuardado)));
+        eventPublisher.publishEvent(new CambioParametrosEvento(productoGuardado.getIdProductoCredito()));
         log.info("Producto de crédito creado exitosamente con ID: {}", productoGuardado.getIdProductoCredito());
         return productoCreditoMapper.toDTO(productoGuardado);
     }
@@ -63,7 +114,19 @@ public class ParametrosService {
         ProductoCredito productoExistente = productoCreditoRepository.findById(id)
                 .orElseThrow(() -> new ProductoCreditoNotFoundException(id));
         validarProductoCreditoActualizacion(id, dto);
-        // Actualizar solo los campos editables de la entidad existente
+        aplicarCambiosProducto(productoExistente, dto);
+        ProductoCredito productoActualizado = productoCreditoRepository.save(productoExistente);
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(productoActualizado)));
+        eventPublisher.publishEvent(new CambioParametrosEvento(id));
+        log.info("Producto de crédito actualizado exitosamente");
+        
+        return productoCreditoMapper.toDTO(productoActualizado);
+    }
+
+    // Actualizar solo los campos editables de la entidad existente. Las validaciones y los cambios
+    // que usa el lote son estáticos: como métodos del bean pasarían por el interceptor
+    // transaccional y una excepción marcaría la transacción del lote completo para rollback
+    static void aplicarCambiosProducto(ProductoCredito productoExistente, ProductoCreditoDTO dto) {
         productoExistente.setCodigoProducto(dto.getCodigoProducto());
         productoExistente.setNombre(dto.getNombre());
         productoExistente.setDescripcion(dto.getDescripcion());
@@ -87,29 +150,35 @@ public class ParametrosService {
                 throw new IllegalArgumentException("Estado inválido: " + dto.getEstado());
             }
         }
-        
-        ProductoCredito productoActualizado = productoCreditoRepository.save(productoExistente);
-        log.info("Producto de crédito actualizado exitosamente");
-        
-        return productoCreditoMapper.toDTO(productoActualizado);
     }
 
-    @Transactional(readOnly = true)
-    public ProductoCreditoDTO obtenerProductoPorCodigo(String codigo) {
-        log.info("Obteniendo producto de crédito con código: {}", codigo);
-        ProductoCredito producto = productoCreditoRepository.findByCodigoProducto(codigo)
-                .orElseThrow(() -> new ProductoCreditoNotFoundException("Código: " + codigo));
-        return productoCreditoMapper.toDTO(producto);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<ProductoCreditoDTO> obtenerProductoPorId(Integer id) {
+        log.debug("Obteniendo producto de crédito con ID: {}", id);
+        ProductoCreditoDTO producto = lecturaProductoPorId.registrar(publicadorLibro.actual().productoPorId(id));
+        if (producto == null) {
+            throw new ProductoCreditoNotFoundException(id);
+        }
+        return new Versionado<>(LibroParametros.versionDe(producto), producto);
     }
 
-    @Transactional(readOnly = true)
-    public List<ProductoCreditoDTO> obtenerProductosActivos() {
-        log.info("Obteniendo productos de crédito activos");
-        List<ProductoCredito> productos = productoCreditoRepository
-                .findByEstadoOrderByNombreAsc(EstadosParametros.EstadoActivoInactivo.ACTIVO);
-        return productos.stream()
-                .map(productoCreditoMapper::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<ProductoCreditoDTO> obtenerProductoPorCodigo(String codigo) {
+        log.debug("Obteniendo producto de crédito con código: {}", codigo);
+        ProductoCreditoDTO producto = lecturaProductoPorCodigo.registrar(
+                publicadorLibro.actual().productoPorCodigo(codigo));
+        if (producto == null) {
+            throw new ProductoCreditoNotFoundException("Código: " + codigo);
+        }
+        return new Versionado<>(LibroParametros.versionDe(producto), producto);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<List<ProductoCreditoDTO>> obtenerProductosActivos() {
+        log.debug("Obteniendo productos de crédito activos");
+        LibroParametros libro = publicadorLibro.actual();
+        lecturaProductosActivos.registrar(true);
+        return new Versionado<>(libro.versionProductosActivos(), libro.productosActivos());
     }
 
     private void validarProductoCredito(ProductoCreditoDTO dto) {
@@ -124,7 +193,7 @@ public class ParametrosService {
         validarCodigoUnicoActualizacion(id, dto.getCodigoProducto());
     }
 
-    private void validarMontosProducto(ProductoCreditoDTO dto) {
+    static void validarMontosProducto(ProductoCreditoDTO dto) {
         if (dto.getMontoMinimo().compareTo(MONTO_MINIMO_VALIDO) < 0) {
             throw new ValidacionNegocioException("montoMinimo", "ProductoCredito", 
                     "El monto mínimo debe ser al menos " + MONTO_MINIMO_VALIDO);
@@ -146,7 +215,7 @@ public class ParametrosService {
         }
     }
 
-    private void validarPlazosProducto(ProductoCreditoDTO dto) {
+    static void validarPlazosProducto(ProductoCreditoDTO dto) {
         if (dto.getPlazoMinimoMeses() < 1 || dto.getPlazoMaximoMeses() > PLAZO_MAXIMO_MESES) {
             throw new ValidacionNegocioException("plazoMinimoMeses", "ProductoCredito", 
                     "Los plazos deben estar entre 1 y " + PLAZO_MAXIMO_MESES + " meses");
@@ -183,7 +252,9 @@ public class ParametrosService {
                         "El producto de crédito no existe"));
         tasa.setProductoCredito(producto);
         cerrarTasaAnterior(tasa);
-        TasaInteres tasaGuardada = tasaInteresRepository.save(tasa);
+        TasaInteres tasaGuardada = guardarTasa(tasa);
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(tasaGuardada)));
+        eventPublisher.publishEvent(new CambioParametrosEvento(producto.getIdProductoCredito()));
         log.info("Tasa de interés creada exitosamente con ID: {}", tasaGuardada.getIdTasaInteres());
         
         return tasaInteresMapper.toDTO(tasaGuardada);
@@ -191,10 +262,30 @@ public class ParametrosService {
 
     public TasaInteresDTO actualizarTasaInteres(Integer id, TasaInteresDTO dto) {
         log.info("Actualizando tasa de interés con ID: {}", id);
-        TasaInteres tasaExistente = tasaInteresRepository.findById(id)
+        // Con su producto: si no cambia, la búsqueda del producto más abajo no vuelve a la base
+        TasaInteres tasaExistente = tasaInteresRepository.findConProductoByIdTasaInteres(id)
                 .orElseThrow(() -> new TasaInteresNotFoundException(id, "Tasa de interés no encontrada"));
         
         validarTasaInteresActualizacion(id, dto);
+        Integer idProductoAnterior = tasaExistente.getIdProductoCredito();
+        aplicarCambiosTasa(tasaExistente, dto);
+        
+        ProductoCredito producto = productoCreditoRepository.findById(dto.getIdProductoCredito())
+                .orElseThrow(() -> new ValidacionNegocioException("idProductoCredito", "TasaInteres", 
+                        "El producto de crédito no existe"));
+        tasaExistente.setProductoCredito(producto);
+        
+        TasaInteres tasaActualizada = guardarTasa(tasaExistente);
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(tasaActualizada)));
+        // Si cambió de producto, las dos secciones del libro se recargan juntas
+        eventPublisher.publishEvent(new CambioParametrosEvento(
+                new HashSet<>(List.of(producto.getIdProductoCredito(), idProductoAnterior))));
+        log.info("Tasa de interés actualizada exitosamente");
+        
+        return tasaInteresMapper.toDTO(tasaActualizada);
+    }
+
+    static void aplicarCambiosTasa(TasaInteres tasaExistente, TasaInteresDTO dto) {
         tasaExistente.setIdProductoCredito(dto.getIdProductoCredito());
         tasaExistente.setBaseCalculo(dto.getBaseCalculo());
         tasaExistente.setMetodoCalculo(dto.getMetodoCalculo());
@@ -209,42 +300,142 @@ public class ParametrosService {
                 throw new IllegalArgumentException("Estado inválido: " + dto.getEstado());
             }
         }
-        
-        ProductoCredito producto = productoCreditoRepository.findById(dto.getIdProductoCredito())
-                .orElseThrow(() -> new ValidacionNegocioException("idProductoCredito", "TasaInteres", 
-                        "El producto de crédito no existe"));
-        tasaExistente.setProductoCredito(producto);
-        
-        TasaInteres tasaActualizada = tasaInteresRepository.save(tasaExistente);
-        log.info("Tasa de interés actualizada exitosamente");
-        
-        return tasaInteresMapper.toDTO(tasaActualizada);
     }
 
-    @Transactional(readOnly = true)
-    public List<TasaInteresDTO> obtenerTasasPorProducto(Integer idProducto) {
-        log.info("Obteniendo tasas de interés para producto: {}", idProducto);
-        
-        List<TasaInteres> tasas = tasaInteresRepository
-                .findByProductoCreditoOrderByFechaInicioVigenciaDesc(
-                        productoCreditoRepository.getReferenceById(idProducto));
-        return tasas.stream()
-                .map(tasaInteresMapper::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<List<TasaInteresDTO>> obtenerTasasPorProducto(Integer idProducto) {
+        log.debug("Obteniendo tasas de interés para producto: {}", idProducto);
+        LibroParametros libro = publicadorLibro.actual();
+        // Ausente si el producto no existe: la lista vacía no distingue al que no tiene tasas
+        lecturaTasasPorProducto.registrar(libro.productoPorId(idProducto) != null);
+        return new Versionado<>(libro.versionTasasPorProducto(idProducto), libro.tasasPorProducto(idProducto));
+    }
+
+    // El libro no indexa las tasas por ID: con la base disponible la consulta va a la base y en
+    // modo de solo lectura se buscan en las secciones del libro
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<TasaInteresDTO> obtenerTasaPorId(Integer id) {
+        log.debug("Obteniendo tasa de interés con ID: {}", id);
+        TasaInteresDTO tasa = modoSoloLectura.activo()
+                ? lecturaTasaPorId.registrar(publicadorLibro.actual().tasaPorId(id))
+                : lectura.execute(estado -> tasaInteresRepository.proyectarPorId(id)
+                        .map(tasaInteresMapper::toDTO)
+                        .orElse(null));
+        if (tasa == null) {
+            throw new TasaInteresNotFoundException(id);
+        }
+        return new Versionado<>(LibroParametros.versionDe(tasa), tasa);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<TasaInteresDTO> obtenerTasaVigente(Integer idProducto) {
+        log.debug("Obteniendo tasa vigente para producto: {}", idProducto);
+        TasaInteresDTO tasaVigente = lecturaTasaVigente.registrar(
+                publicadorLibro.actual().tasaVigente(idProducto, LocalDate.now()));
+        if (tasaVigente == null) {
+            throw new TasaInteresNotFoundException("No existe tasa vigente para el producto " + idProducto);
+        }
+        return new Versionado<>(LibroParametros.versionDe(tasaVigente), tasaVigente);
+    }
+
+    // El historial se lee de la base y no del libro: ni una página ni el recorrido completo
+    // retienen en memoria más que las filas que se están enviando. En modo de solo lectura
+    // se responde desde el libro, que ya tiene todas las tasas del producto
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PaginaTasasInteresDTO obtenerHistorialTasas(Integer idProducto, String cursor, int tamanio) {
+        log.debug("Obteniendo historial de tasas del producto {} desde {}", idProducto, cursor);
+        LibroParametros libro = publicadorLibro.actual();
+        if (libro.productoPorId(idProducto) == null) {
+            throw new ProductoCreditoNotFoundException(idProducto);
+        }
+        if (tamanio < 1 || tamanio > TAMANIO_MAXIMO_PAGINA) {
+            throw new ValidacionNegocioException("tamanio", "TasaInteres",
+                    "El tamaño de página debe estar entre 1 y " + TAMANIO_MAXIMO_PAGINA);
+        }
+        PosicionHistorial posicion = cursor == null ? null : PosicionHistorial.decodificar(cursor);
+        if (modoSoloLectura.activo()) {
+            return paginarDesdeLibro(libro.tasasPorProducto(idProducto), posicion, tamanio);
+        }
+        // Una fila de más indica si existe la página siguiente
+        Limit limite = Limit.of(tamanio + 1);
+        List<TasaInteresProyeccion> filas = lectura.execute(estado -> posicion == null
+                ? tasaInteresRepository.historialDesdeElInicio(idProducto, limite)
+                : tasaInteresRepository.historialDespuesDe(idProducto, posicion.fecha(), posicion.idTasa(), limite));
+        String siguiente = null;
+        if (filas.size() > tamanio) {
+            filas = filas.subList(0, tamanio);
+            TasaInteresProyeccion ultima = filas.get(tamanio - 1);
+            siguiente = new PosicionHistorial(ultima.fechaInicioVigencia(), ultima.idTasaInteres()).codificar();
+        }
+        return new PaginaTasasInteresDTO(tasaInteresMapper.proyeccionesToDTOList(filas), siguiente);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public void recorrerHistorialTasas(Integer idProducto, Consumer<TasaInteresDTO> destino) {
+        if (modoSoloLectura.activo()) {
+            publicadorLibro.actual().tasasPorProducto(idProducto).forEach(destino);
+            return;
+        }
+        lectura.executeWithoutResult(estado -> {
+            try (Stream<TasaInteresProyeccion> filas = tasaInteresRepository.historialCompleto(idProducto)) {
+                filas.map(tasaInteresMapper::toDTO).forEach(destino);
+            }
+        });
+    }
+
+    // Las tasas del libro ya vienen en el orden del historial
+    private static PaginaTasasInteresDTO paginarDesdeLibro(List<TasaInteresDTO> tasas, PosicionHistorial posicion,
+                                                           int tamanio) {
+        List<TasaInteresDTO> pagina = new ArrayList<>(tamanio);
+        String siguiente = null;
+        for (TasaInteresDTO tasa : tasas) {
+            if (posicion != null && !posicion.precedeA(tasa)) {
+                continue;
+            }
+            if (pagina.size() == tamanio) {
+                TasaInteresDTO ultima = pagina.get(tamanio - 1);
+                siguiente = new PosicionHistorial(ultima.getFechaInicioVigencia(), ultima.getIdTasaInteres()).codificar();
+                break;
+            }
+            pagina.add(tasa);
+        }
+        return new PaginaTasasInteresDTO(pagina, siguiente);
+    }
+
+    // Posición de la última tasa de una página; el cliente la recibe como cursor opaco
+    record PosicionHistorial(LocalDate fecha, Integer idTasa) {
+
+        // La tasa va después de esta posición en el orden del historial
+        boolean precedeA(TasaInteresDTO tasa) {
+            int comparacion = tasa.getFechaInicioVigencia().compareTo(fecha);
+            return comparacion < 0 || comparacion == 0 && tasa.getIdTasaInteres() < idTasa;
+        }
+
+        String codificar() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((fecha + ":" + idTasa).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PosicionHistorial decodificar(String cursor) {
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                return new PosicionHistorial(LocalDate.parse(partes[0]), Integer.valueOf(partes[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new ValidacionNegocioException("cursor", "TasaInteres", "El cursor de página no es válido");
+            }
+        }
     }
 
     private void validarTasaInteres(TasaInteresDTO dto) {
         validarProductoExiste(dto.getIdProductoCredito());
         validarFechasTasa(dto);
         validarValorTasa(dto);
-        validarTraslapesTasa(dto);
     }
 
     private void validarTasaInteresActualizacion(Integer id, TasaInteresDTO dto) {
         validarProductoExiste(dto.getIdProductoCredito());
         validarFechasTasa(dto);
         validarValorTasa(dto);
-        validarTraslapesTasaActualizacion(id, dto);
     }
 
     private void validarProductoExiste(Integer idProducto) {
@@ -254,7 +445,7 @@ public class ParametrosService {
         }
     }
 
-    private void validarFechasTasa(TasaInteresDTO dto) {
+    static void validarFechasTasa(TasaInteresDTO dto) {
         if (dto.getFechaInicioVigencia() == null) {
             throw new ValidacionNegocioException("fechaInicioVigencia", "TasaInteres", 
                     "La fecha de inicio de vigencia es requerida");
@@ -266,7 +457,7 @@ public class ParametrosService {
         }
     }
 
-    private void validarValorTasa(TasaInteresDTO dto) {
+    static void validarValorTasa(TasaInteresDTO dto) {
         if (dto.getValorTasa().compareTo(BigDecimal.ZERO) <= 0) {
             throw new ValidacionNegocioException("valorTasa", "TasaInteres", 
                     "El valor de la tasa debe ser mayor a 0");
@@ -277,67 +468,72 @@ public class ParametrosService {
         }
     }
 
-    private void validarTraslapesTasa(TasaInteresDTO dto) {
-        List<TasaInteres> tasasExistentes = tasaInteresRepository
+    LineaTiempoTasas<TasaInteres> lineaTiempoTasasActivas(ProductoCredito producto) {
+        List<TasaInteres> tasasActivas = tasaInteresRepository
                 .findByProductoCreditoAndEstadoOrderByFechaInicioVigenciaDesc(
-                        productoCreditoRepository.getReferenceById(dto.getIdProductoCredito()), 
-                        EstadosParametros.EstadoActivoInactivo.ACTIVO);
-        TasaInteres nuevaTasa = tasaInteresMapper.toModel(dto);
-        for (TasaInteres tasaExistente : tasasExistentes) {
-            if (hayTraslape(nuevaTasa, tasaExistente)) {
-                throw new ValidacionNegocioException("fechaInicioVigencia", "TasaInteres", 
-                        "Existe traslape con otra tasa vigente");
-            }
+                        producto, EstadosParametros.EstadoActivoInactivo.ACTIVO);
+        return LineaTiempoTasas.de(tasasActivas,
+                TasaInteres::getFechaInicioVigencia, TasaInteres::getFechaFinVigencia);
+    }
+
+    // La tasa abierta que inicia antes que la nueva se cierra el día anterior al inicio de la nueva
+    private TasaInteres tasaACerrar(TasaInteres nuevaTasa) {
+        TasaInteres tasaAbierta = tasaInteresRepository
+                .findFirstByProductoCreditoAndEstadoAndFechaFinVigenciaIsNullOrderByFechaInicioVigenciaDesc(
+                        nuevaTasa.getProductoCredito(), EstadosParametros.EstadoActivoInactivo.ACTIVO)
+                .orElse(null);
+        if (tasaAbierta != null && tasaAbierta.getFechaInicioVigencia().isBefore(nuevaTasa.getFechaInicioVigencia())) {
+            return tasaAbierta;
         }
+        return null;
     }
 
-    private void validarTraslapesTasaActualizacion(Integer id, TasaInteresDTO dto) {
-        List<TasaInteres> tasasExistentes = tasaInteresRepository
-                .findByProductoCreditoAndEstadoOrderByFechaInicioVigenciaDesc(
-                        productoCreditoRepository.getReferenceById(dto.getIdProductoCredito()), 
-                        EstadosParametros.EstadoActivoInactivo.ACTIVO);
-        TasaInteres tasaActualizada = tasaInteresMapper.toModel(dto);
-        tasaActualizada.setIdTasaInteres(id);
-        for (TasaInteres tasaExistente : tasasExistentes) {
-            if (!tasaExistente.getIdTasaInteres().equals(id) && hayTraslape(tasaActualizada, tasaExistente)) {
-                throw new ValidacionNegocioException("fechaInicioVigencia", "TasaInteres", 
-                        "Existe traslape con otra tasa vigente");
+    private void cerrarTasaAnterior(TasaInteres nuevaTasa) {
+        tiempoCerrarTasaAnterior.record(() -> {
+            TasaInteres tasaAbierta = tasaACerrar(nuevaTasa);
+            if (tasaAbierta != null) {
+                LocalDate fechaFin = nuevaTasa.getFechaInicioVigencia().minusDays(1);
+                cerrarVigencia(tasaAbierta, fechaFin);
+                // Se escribe antes que la nueva: Hibernate ejecuta los INSERT antes que los UPDATE
+                // y la restricción de traslape rechazaría la nueva tasa mientras la anterior siga abierta
+                guardarTasa(tasaAbierta);
+                eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(tasaAbierta)));
+                log.info("Cerrada vigencia de tasa anterior con ID: {}", tasaAbierta.getIdTasaInteres());
             }
-        }
+        });
     }
 
-    private boolean hayTraslape(TasaInteres tasa1, TasaInteres tasa2) {
-        LocalDate fechaInicioTasa1 = tasa1.getFechaInicioVigencia();
-        LocalDate fechaFinTasa1 = tasa1.getFechaFinVigencia();
-        LocalDate fechaInicioTasa2 = tasa2.getFechaInicioVigencia();
-        LocalDate fechaFinTasa2 = tasa2.getFechaFinVigencia();
-        if (fechaFinTasa1 == null) {
-            fechaFinTasa1 = LocalDate.MAX;
-        }
-        if (fechaFinTasa2 == null) {
-            fechaFinTasa2 = LocalDate.MAX;
-        }boolean primeraCondicion = !fechaInicioTasa1.isAfter(fechaFinTasa2);
-        boolean segundaCondicion = !fechaInicioTasa2.isAfter(fechaFinTasa1);
-        boolean hayTraslape = primeraCondicion && segundaCondicion;
-        return hayTraslape;
+    // El traslape de vigencias lo valida la base al escribir; se hace flush para traducirlo aquí.
+    // Su tiempo incluye esa validación (antes validarTraslapesTasa)
+    private TasaInteres guardarTasa(TasaInteres tasa) {
+        return tiempoGuardarTasa.record(() -> {
+            try {
+                return tasaInteresRepository.saveAndFlush(tasa);
+            } catch (DataIntegrityViolationException e) {
+                if (esTraslapeTasas(e)) {
+                    throw traslapeTasa();
+                }
+                throw e;
+            }
+        });
     }
 
-    private void cerrarTasaAnterior(TasaInteres nuevaTasa) {
-        List<TasaInteres> tasasActivas = tasaInteresRepository
-                .findByProductoCreditoAndEstadoOrderByFechaInicioVigenciaDesc(
-                        nuevaTasa.getProductoCredito(), 
-                        EstadosParametros.EstadoActivoInactivo.ACTIVO);
-        for (TasaInteres tasaActiva : tasasActivas) {
-            if (tasaActiva.getFechaFinVigencia() == null) {
-                LocalDate fechaFin = nuevaTasa.getFechaInicioVigencia().minusDays(1);
-                cerrarVigencia(tasaActiva, fechaFin);
-                tasaInteresRepository.save(tasaActiva);
-                log.info("Cerrada vigencia de tasa anterior con ID: {}", tasaActiva.getIdTasaInteres());
+    static boolean esTraslapeTasas(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sqlException && SQL_STATE_EXCLUSION.equals(sqlException.getSQLState())
+                    && String.valueOf(sqlException.getMessage()).contains(RESTRICCION_TRASLAPE_TASAS)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    static ValidacionNegocioException traslapeTasa() {
+        return new ValidacionNegocioException("fechaInicioVigencia", "TasaInteres",
+                "Existe traslape con otra tasa vigente");
     }
 
-    private void cerrarVigencia(TasaInteres tasa, LocalDate fechaFin) {
+    static void cerrarVigencia(TasaInteres tasa, LocalDate fechaFin) {
         tasa.setFechaFinVigencia(fechaFin);
     }
 
@@ -355,15 +551,36 @@ public class ParametrosService {
         documento.setProductoCredito(producto);
         
         DocumentoRequerido documentoGuardado = documentoRequeridoRepository.save(documento);
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(documentoGuardado)));
+        eventPublisher.publishEvent(new CambioParametrosEvento(producto.getIdProductoCredito()));
         log.info("Documento requerido creado exitosamente con ID: {}", documentoGuardado.getIdDocumentoRequerido());
         return documentoRequeridoMapper.toDTO(documentoGuardado);
     }
 
     public DocumentoRequeridoDTO actualizarDocumentoRequerido(Integer id, DocumentoRequeridoDTO dto) {
         log.info("Actualizando documento requerido con ID: {}", id);
-        DocumentoRequerido documentoExistente = documentoRequeridoRepository.findById(id)
+        // Con su producto: si no cambia, la búsqueda del producto más abajo no vuelve a la base
+        DocumentoRequerido documentoExistente = documentoRequeridoRepository.findConProductoByIdDocumentoRequerido(id)
                 .orElseThrow(() -> new DocumentoRequeridoNotFoundException(id));        
         validarDocumentoRequeridoActualizacion(id, dto);
+        Integer idProductoAnterior = documentoExistente.getIdProductoCredito();
+        aplicarCambiosDocumento(documentoExistente, dto);
+        ProductoCredito producto = productoCreditoRepository.findById(dto.getIdProductoCredito())
+                .orElseThrow(() -> new ValidacionNegocioException("idProductoCredito", "DocumentoRequerido", 
+                        "El producto de crédito no existe"));
+        documentoExistente.setProductoCredito(producto);
+        
+        DocumentoRequerido documentoActualizado = documentoRequeridoRepository.save(documentoExistente);
+        eventPublisher.publishEvent(new ParametrosGuardadosEvento(List.of(documentoActualizado)));
+        // Si cambió de producto, las dos secciones del libro se recargan juntas
+        eventPublisher.publishEvent(new CambioParametrosEvento(
+                new HashSet<>(List.of(producto.getIdProductoCredito(), idProductoAnterior))));
+        log.info("Documento requerido actualizado exitosamente");
+        
+        return documentoRequeridoMapper.toDTO(documentoActualizado);
+    }
+
+    static void aplicarCambiosDocumento(DocumentoRequerido documentoExistente, DocumentoRequeridoDTO dto) {
         documentoExistente.setIdProductoCredito(dto.getIdProductoCredito());
         documentoExistente.setNombre(dto.getNombre());
         documentoExistente.setDescripcion(dto.getDescripcion());
@@ -375,28 +592,14 @@ public class ParametrosService {
                 throw new IllegalArgumentException("Estado inválido: " + dto.getEstado());
             }
         }
-        ProductoCredito producto = productoCreditoRepository.findById(dto.getIdProductoCredito())
-                .orElseThrow(() -> new ValidacionNegocioException("idProductoCredito", "DocumentoRequerido", 
-                        "El producto de crédito no existe"));
-        documentoExistente.setProductoCredito(producto);
-        
-        DocumentoRequerido documentoActualizado = documentoRequeridoRepository.save(documentoExistente);
-        log.info("Documento requerido actualizado exitosamente");
-        
-        return documentoRequeridoMapper.toDTO(documentoActualizado);
     }
 
-    @Transactional(readOnly = true)
-    public List<DocumentoRequeridoDTO> obtenerDocumentosPorProducto(Integer idProducto) {
-        log.info("Obteniendo documentos requeridos para producto: {}", idProducto);
-        
-        List<DocumentoRequerido> documentos = documentoRequeridoRepository
-                .findByProductoCreditoAndEstadoOrderByNombreAsc(
-                        productoCreditoRepository.getReferenceById(idProducto), 
-                        EstadosParametros.EstadoActivoInactivo.ACTIVO);
-        return documentos.stream()
-                .map(documentoRequeridoMapper::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Versionado<List<DocumentoRequeridoDTO>> obtenerDocumentosPorProducto(Integer idProducto) {
+        log.debug("Obteniendo documentos requeridos para producto: {}", idProducto);
+        LibroParametros libro = publicadorLibro.actual();
+        lecturaDocumentosPorProducto.registrar(libro.productoPorId(idProducto) != null);
+        return new Versionado<>(libro.versionDocumentosPorProducto(idProducto), libro.documentosPorProducto(idProducto));
     }
 
     private void validarDocumentoRequerido(DocumentoRequeridoDTO dto) {
@@ -0,0 +1,155 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.client.ClienteExternoClient;
+import com.banquito.parametros.controller.dto.ResultadoCotizacionDTO;
+import com.banquito.parametros.controller.dto.ResultadoPreaprobacionDTO;
+import com.banquito.parametros.controller.dto.SolicitudPreaprobacionDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import feign.FeignException;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Preaprobación de crédito vehicular. La consulta del cliente y la validación del vehículo
+ * salen en paralelo, cada una en su compartimento y con su tiempo máximo, y mientras tanto
+ * se cotiza el escenario contra el libro de parámetros: la latencia total es la de la
+ * llamada más lenta y no la suma. Si un servicio externo no responde a tiempo la
+ * preaprobación queda PENDIENTE en vez de fallar.
+ */
+@Service
+@Timed("parametros.servicio")
+public class PreaprobacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PreaprobacionService.class);
+
+    public static final String PREAPROBADO = "PREAPROBADO";
+    public static final String RECHAZADO = "RECHAZADO";
+    public static final String PENDIENTE = "PENDIENTE";
+
+    private final ClienteExternoClient clienteExterno;
+    private final CotizacionService cotizacionService;
+    private final ObjectMapper objectMapper;
+    private final CompartimentoLlamadas compartimentoClientes;
+    private final CompartimentoLlamadas compartimentoVehiculos;
+
+    public PreaprobacionService(ClienteExternoClient clienteExterno,
+                                CotizacionService cotizacionService,
+                                ObjectMapper objectMapper,
+                                @Value("${app.preaprobacion.cliente.tiempo-maximo:PT2S}") Duration tiempoCliente,
+                                @Value("${app.preaprobacion.cliente.maximo-concurrente:50}") int maximoClientes,
+                                @Value("${app.preaprobacion.vehiculo.tiempo-maximo:PT3S}") Duration tiempoVehiculo,
+                                @Value("${app.preaprobacion.vehiculo.maximo-concurrente:50}") int maximoVehiculos) {
+        this.clienteExterno = clienteExterno;
+        this.cotizacionService = cotizacionService;
+        this.objectMapper = objectMapper;
+        this.compartimentoClientes = new CompartimentoLlamadas("clientes", maximoClientes, tiempoCliente);
+        this.compartimentoVehiculos = new CompartimentoLlamadas("vehiculos", maximoVehiculos, tiempoVehiculo);
+    }
+
+    public ResultadoPreaprobacionDTO preaprobar(SolicitudPreaprobacionDTO solicitud) {
+        String idCliente = solicitud.getIdCliente();
+        String vin = solicitud.getVin().toUpperCase(Locale.ROOT);
+        log.info("Preaprobando crédito para cliente: {} y vehículo: {}", idCliente, vin);
+
+        CompletableFuture<ConsultaCliente> cliente = compartimentoClientes.ejecutar(() -> consultarCliente(idCliente));
+        CompletableFuture<Boolean> vehiculo = compartimentoVehiculos.ejecutar(() -> validarVehiculo(vin));
+        ResultadoCotizacionDTO cotizacion = cotizacionService.cotizar(solicitud.getEscenario());
+
+        List<String> rechazos = new ArrayList<>();
+        List<String> pendientes = new ArrayList<>();
+        if (!Boolean.TRUE.equals(cotizacion.getElegible())) {
+            rechazos.add(cotizacion.getMotivo());
+        }
+        ConsultaCliente consultaCliente = esperar(cliente, compartimentoClientes, pendientes);
+        if (consultaCliente != null && !consultaCliente.existe()) {
+            rechazos.add("Cliente no encontrado");
+        }
+        Boolean vehiculoValido = esperar(vehiculo, compartimentoVehiculos, pendientes);
+        if (Boolean.FALSE.equals(vehiculoValido)) {
+            rechazos.add("Vehículo no válido para financiamiento");
+        }
+
+        ResultadoPreaprobacionDTO resultado = new ResultadoPreaprobacionDTO();
+        resultado.setEstado(!rechazos.isEmpty() ? RECHAZADO : !pendientes.isEmpty() ? PENDIENTE : PREAPROBADO);
+        rechazos.addAll(pendientes);
+        resultado.setMotivos(rechazos);
+        resultado.setIdCliente(idCliente);
+        resultado.setInformacionCliente(consultaCliente != null ? consultaCliente.informacion() : null);
+        resultado.setVin(vin);
+        resultado.setVehiculoValido(vehiculoValido);
+        resultado.setCotizacion(cotizacion);
+        log.info("Preaprobación para cliente: {} resuelta como {}", idCliente, resultado.getEstado());
+        return resultado;
+    }
+
+    // ========== LLAMADAS EXTERNAS ==========
+
+    private ConsultaCliente consultarCliente(String idCliente) {
+        try {
+            return new ConsultaCliente(true, leerJson(clienteExterno.obtenerInformacionCliente(idCliente)));
+        } catch (FeignException.NotFound e) {
+            return new ConsultaCliente(false, null);
+        }
+    }
+
+    // El servicio responde 2xx si el vehículo es financiable y 404/409/422 si no lo es
+    private Boolean validarVehiculo(String vin) {
+        try {
+            clienteExterno.validarVehiculo(vin);
+            return true;
+        } catch (FeignException e) {
+            if (e.status() == 404 || e.status() == 409 || e.status() == 422) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private JsonNode leerJson(String cuerpo) {
+        if (cuerpo == null || cuerpo.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(cuerpo);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(cuerpo);
+        }
+    }
+
+    private static <T> T esperar(CompletableFuture<T> llamada, CompartimentoLlamadas compartimento,
+                                 List<String> pendientes) {
+        try {
+            return llamada.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            String servicio = "Servicio de " + compartimento.getNombre();
+            if (causa instanceof TimeoutException) {
+                pendientes.add(servicio + " sin respuesta en " + compartimento.getTiempoMaximo());
+            } else if (causa instanceof RejectedExecutionException) {
+                pendientes.add(servicio + " saturado");
+            } else {
+                pendientes.add(servicio + " no disponible");
+            }
+            log.warn("{} falló: {}", servicio, causa.toString());
+            return null;
+        }
+    }
+
+    private record ConsultaCliente(boolean existe, JsonNode informacion) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.CambioParametroDTO;
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.controller.mapper.DocumentoRequeridoMapper;
+import com.banquito.parametros.controller.mapper.ProductoCreditoMapper;
+import com.banquito.parametros.controller.mapper.TasaInteresMapper;
+import com.banquito.parametros.repository.DocumentoRequeridoRepository;
+import com.banquito.parametros.repository.ProductoCreditoRepository;
+import com.banquito.parametros.repository.TasaInteresRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class PublicadorLibroParametros {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicadorLibroParametros.class);
+
+    private final ProductoCreditoRepository productoCreditoRepository;
+    private final TasaInteresRepository tasaInteresRepository;
+    private final DocumentoRequeridoRepository documentoRequeridoRepository;
+    private final ProductoCreditoMapper productoCreditoMapper;
+    private final TasaInteresMapper tasaInteresMapper;
+    private final DocumentoRequeridoMapper documentoRequeridoMapper;
+    private final FlujoCambiosParametros flujoCambios;
+    private final ArchivoLibroParametros archivo;
+    private final ModoSoloLectura modoSoloLectura;
+    private final TransactionTemplate cargaPrimario;
+    private final boolean cargarAlIniciar;
+    private final AtomicReference<LibroParametros> libroActual = new AtomicReference<>();
+    // ReentrantLock y no synchronized: las recargas hacen E/S y con hilos virtuales no deben fijar el hilo portador
+    private final ReentrantLock bloqueoRecarga = new ReentrantLock();
+    private volatile long versionArchivada = -1;
+
+    public PublicadorLibroParametros(ProductoCreditoRepository productoCreditoRepository,
+                                     TasaInteresRepository tasaInteresRepository,
+                                     DocumentoRequeridoRepository documentoRequeridoRepository,
+                                     ProductoCreditoMapper productoCreditoMapper,
+                                     TasaInteresMapper tasaInteresMapper,
+                                     DocumentoRequeridoMapper documentoRequeridoMapper,
+                                     FlujoCambiosParametros flujoCambios,
+                                     ArchivoLibroParametros archivo,
+                                     ModoSoloLectura modoSoloLectura,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.libro-parametros.cargar-al-iniciar:true}") boolean cargarAlIniciar) {
+        this.productoCreditoRepository = productoCreditoRepository;
+        this.tasaInteresRepository = tasaInteresRepository;
+        this.documentoRequeridoRepository = documentoRequeridoRepository;
+        this.productoCreditoMapper = productoCreditoMapper;
+        this.tasaInteresMapper = tasaInteresMapper;
+        this.documentoRequeridoMapper = documentoRequeridoMapper;
+        this.flujoCambios = flujoCambios;
+        this.archivo = archivo;
+        this.modoSoloLectura = modoSoloLectura;
+        // Sin readOnly: con réplicas configuradas esas transacciones van a una réplica, que puede
+        // estar hasta app.replicas.retraso-maximo atrasada y reemplazaría con datos viejos los
+        // cambios por producto ya publicados desde el primario (ver alCambiarParametros)
+        this.cargaPrimario = new TransactionTemplate(transactionManager);
+        this.cargarAlIniciar = cargarAlIniciar;
+    }
+
+    public LibroParametros actual() {
+        LibroParametros libro = libroActual.get();
+        if (libro == null) {
+            libro = cargarCompleto();
+        }
+        return libro;
+    }
+
+    // Sin cargar: null mientras el libro no se haya publicado
+    LibroParametros publicado() {
+        return libroActual.get();
+    }
+
+    /**
+     * Publica primero el libro guardado en el archivo, si lo hay, y luego el de la base: las
+     * consultas se atienden desde el arranque aunque la carga completa tarde o la base no
+     * responda, en cuyo caso el libro del archivo queda publicado en modo de solo lectura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        if (!cargarAlIniciar) {
+            return;
+        }
+        archivo.leer().ifPresent(libro -> {
+            bloqueoRecarga.lock();
+            try {
+                libroActual.set(libro);
+                versionArchivada = libro.getVersion();
+            } finally {
+                bloqueoRecarga.unlock();
+            }
+        });
+        if (modoSoloLectura.activo()) {
+            log.warn("Sin base de datos al arrancar: {}", libroActual.get() == null
+                    ? "no hay libro de parámetros guardado" : "se atiende el libro de parámetros guardado");
+            return;
+        }
+        cargarDesdeLaBase();
+    }
+
+    @Scheduled(fixedDelayString = "${app.libro-parametros.intervalo-recarga:PT5M}",
+            initialDelayString = "${app.libro-parametros.intervalo-recarga:PT5M}")
+    public void recargarPeriodicamente() {
+        // Sin libro publicado no hay nada que refrescar: la primera lectura lo carga
+        if (libroActual.get() != null && !modoSoloLectura.activo()) {
+            cargarDesdeLaBase();
+        }
+    }
+
+    // Al salir del modo de solo lectura: el libro pudo haber cambiado en otras instancias
+    @EventListener(BaseDatosDisponibleEvento.class)
+    public void alRecuperarBase() {
+        cargarDesdeLaBase();
+    }
+
+    // Solo guarda si el libro cambió desde la última vez; con la base caída no cambia
+    @Scheduled(fixedDelayString = "${app.libro-parametros.archivo.intervalo:PT1M}",
+            initialDelayString = "${app.libro-parametros.archivo.intervalo:PT1M}")
+    public void archivarPeriodicamente() {
+        LibroParametros libro = libroActual.get();
+        if (libro == null || !archivo.configurado() || libro.getVersion() == versionArchivada) {
+            return;
+        }
+        try {
+            archivo.guardar(libro);
+            versionArchivada = libro.getVersion();
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el libro de parámetros v{}: {}", libro.getVersion(), e.getMessage());
+        }
+    }
+
+    private void cargarDesdeLaBase() {
+        try {
+            cargaPrimario.execute(estado -> cargarCompleto());
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException e) {
+            log.warn("No se pudo cargar el libro de parámetros desde la base: {}", e.getMessage());
+            modoSoloLectura.registrarFalla(e);
+        }
+    }
+
+    private LibroParametros cargarCompleto() {
+        bloqueoRecarga.lock();
+        try {
+            List<ProductoCreditoDTO> productos = productoCreditoMapper.toDTOList(productoCreditoRepository.findAll());
+            List<TasaInteresDTO> tasas = tasaInteresMapper.proyeccionesToDTOList(tasaInteresRepository.proyectarTodas());
+            List<DocumentoRequeridoDTO> documentos = documentoRequeridoMapper.proyeccionesToDTOList(
+                    documentoRequeridoRepository.proyectarTodos());
+            LibroParametros anterior = libroActual.get();
+            LibroParametros libro = LibroParametros.construir(siguienteVersion(), productos, tasas, documentos);
+            libroActual.set(libro);
+            if (anterior != null) {
+                // Recoge también los cambios hechos por otras instancias desde la última recarga
+                Set<Integer> idsProducto = new HashSet<>(anterior.idsProducto());
+                idsProducto.addAll(libro.idsProducto());
+                flujoCambios.publicar(detectarCambios(anterior, libro, idsProducto));
+            }
+            log.info("Libro de parámetros v{} publicado: {} productos, {} tasas",
+                    libro.getVersion(), libro.cantidadProductos(), libro.cantidadTasas());
+            return libro;
+        } finally {
+            bloqueoRecarga.unlock();
+        }
+    }
+
+    // Sin transacción propia: las lecturas participan de la que acaba de confirmarse y usan su
+    // conexión al primario. Con REQUIRES_NEW cada escritura retenía dos conexiones y bajo carga
+    // el pool se bloqueaba; además una réplica podría no tener aún el cambio recién confirmado.
+    // Todos los productos del evento se recargan con una consulta por tabla y un solo libro nuevo
+    @TransactionalEventListener
+    public void alCambiarParametros(CambioParametrosEvento evento) {
+        bloqueoRecarga.lock();
+        try {
+            LibroParametros libro = libroActual.get();
+            if (libro == null) {
+                return;
+            }
+            Set<Integer> idsProducto = evento.idsProductoCredito();
+            // Los productos ya están en el contexto de persistencia de la escritura: findById no
+            // vuelve a la base, a diferencia de findAllById
+            List<ProductoCreditoDTO> productos = idsProducto.stream()
+                    .flatMap(id -> productoCreditoRepository.findById(id).stream())
+                    .map(productoCreditoMapper::toDTO)
+                    .toList();
+            List<TasaInteresDTO> tasas = List.of();
+            List<DocumentoRequeridoDTO> documentos = List.of();
+            if (!productos.isEmpty()) {
+                tasas = tasaInteresMapper.proyeccionesToDTOList(tasaInteresRepository.proyectarPorProductos(idsProducto));
+                documentos = documentoRequeridoMapper.proyeccionesToDTOList(
+                        documentoRequeridoRepository.proyectarPorProductos(idsProducto));
+            }
+            LibroParametros nuevoLibro = libro.conProductos(siguienteVersion(), idsProducto, productos, tasas, documentos);
+            libroActual.set(nuevoLibro);
+            flujoCambios.publicar(detectarCambios(libro, nuevoLibro, idsProducto));
+            log.debug("Libro de parámetros v{} publicado tras cambio en productos: {}",
+                    nuevoLibro.getVersion(), idsProducto);
+        } finally {
+            bloqueoRecarga.unlock();
+        }
+    }
+
+    // Cambios de los productos indicados entre dos libros. Una tasa reasignada de producto
+    // aparece en la sección nueva con otra @Version y se informa desde allí
+    private static List<CambioParametroDTO> detectarCambios(LibroParametros anterior, LibroParametros nuevo,
+                                                            Collection<Integer> idsProducto) {
+        List<CambioParametroDTO> cambios = new ArrayList<>();
+        for (Integer idProducto : idsProducto) {
+            ProductoCreditoDTO producto = nuevo.productoPorId(idProducto);
+            ProductoCreditoDTO previo = anterior.productoPorId(idProducto);
+            if (producto != null && (previo == null || !Objects.equals(previo.getVersion(), producto.getVersion()))) {
+                cambios.add(new CambioParametroDTO("ProductoCredito", idProducto, producto.getVersion(), producto));
+            }
+            for (TasaInteresDTO tasa : nuevo.tasasPorProducto(idProducto)) {
+                TasaInteresDTO previa = anterior.tasa(idProducto, tasa.getIdTasaInteres());
+                if (previa == null || !Objects.equals(previa.getVersion(), tasa.getVersion())) {
+                    cambios.add(new CambioParametroDTO("TasaInteres", tasa.getIdTasaInteres(), tasa.getVersion(), tasa));
+                }
+            }
+            for (DocumentoRequeridoDTO documento : nuevo.documentosDe(idProducto)) {
+                DocumentoRequeridoDTO previoDocumento = anterior.documento(idProducto, documento.getIdDocumentoRequerido());
+                if (previoDocumento == null || !Objects.equals(previoDocumento.getVersion(), documento.getVersion())) {
+                    cambios.add(new CambioParametroDTO("DocumentoRequerido", documento.getIdDocumentoRequerido(),
+                            documento.getVersion(), documento));
+                }
+            }
+        }
+        return cambios;
+    }
+
+    private long siguienteVersion() {
+        LibroParametros libro = libroActual.get();
+        return libro == null ? 1 : libro.getVersion() + 1;
+    }
+}
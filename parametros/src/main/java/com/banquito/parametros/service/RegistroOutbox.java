@@ -0,0 +1,103 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.mapper.DocumentoRequeridoMapper;
+import com.banquito.parametros.controller.mapper.ProductoCreditoMapper;
+import com.banquito.parametros.controller.mapper.TasaInteresMapper;
+import com.banquito.parametros.model.DocumentoRequerido;
+import com.banquito.parametros.model.EventoOutbox;
+import com.banquito.parametros.model.ProductoCredito;
+import com.banquito.parametros.model.TasaInteres;
+import com.banquito.parametros.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escribe en eventos_outbox cada producto, tasa o documento guardado, dentro de la
+ * misma transacción que lo modifica: si la transacción se revierte el evento también.
+ */
+@Component
+public class RegistroOutbox {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ProductoCreditoMapper productoCreditoMapper;
+    private final TasaInteresMapper tasaInteresMapper;
+    private final DocumentoRequeridoMapper documentoRequeridoMapper;
+    private final ObjectMapper objectMapper;
+
+    public RegistroOutbox(EventoOutboxRepository eventoOutboxRepository,
+                          ProductoCreditoMapper productoCreditoMapper,
+                          TasaInteresMapper tasaInteresMapper,
+                          DocumentoRequeridoMapper documentoRequeridoMapper,
+                          ObjectMapper objectMapper) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.productoCreditoMapper = productoCreditoMapper;
+        this.tasaInteresMapper = tasaInteresMapper;
+        this.documentoRequeridoMapper = documentoRequeridoMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alGuardarParametros(ParametrosGuardadosEvento evento) {
+        // El flush incrementa @Version de las actualizaciones pendientes antes de leerla
+        eventoOutboxRepository.flush();
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoOutbox> eventos = new ArrayList<>(evento.entidadesGuardadas().size());
+        for (Object entidad : evento.entidadesGuardadas()) {
+            EventoOutbox eventoOutbox = aEventoOutbox(entidad);
+            eventoOutbox.setFechaCreacion(ahora);
+            eventoOutbox.setIntentos(0);
+            eventos.add(eventoOutbox);
+        }
+        eventoOutboxRepository.saveAll(eventos);
+    }
+
+    private EventoOutbox aEventoOutbox(Object entidadGuardada) {
+        EventoOutbox eventoOutbox = new EventoOutbox();
+        Object datos;
+        if (entidadGuardada instanceof ProductoCredito producto) {
+            eventoOutbox.setEntidad("ProductoCredito");
+            eventoOutbox.setIdEntidad(producto.getIdProductoCredito());
+            eventoOutbox.setIdProductoCredito(producto.getIdProductoCredito());
+            eventoOutbox.setVersionEntidad(producto.getVersion());
+            datos = productoCreditoMapper.toDTO(producto);
+        } else if (entidadGuardada instanceof TasaInteres tasa) {
+            eventoOutbox.setEntidad("TasaInteres");
+            eventoOutbox.setIdEntidad(tasa.getIdTasaInteres());
+            eventoOutbox.setIdProductoCredito(tasa.getIdProductoCredito());
+            eventoOutbox.setVersionEntidad(tasa.getVersion());
+            datos = tasaInteresMapper.toDTO(tasa);
+        } else if (entidadGuardada instanceof DocumentoRequerido documento) {
+            eventoOutbox.setEntidad("DocumentoRequerido");
+            eventoOutbox.setIdEntidad(documento.getIdDocumentoRequerido());
+            eventoOutbox.setIdProductoCredito(documento.getIdProductoCredito());
+            eventoOutbox.setVersionEntidad(documento.getVersion());
+            datos = documentoRequeridoMapper.toDTO(documento);
+        } else {
+            throw new IllegalArgumentException("Entidad no soportada en el outbox: " + entidadGuardada);
+        }
+        eventoOutbox.setCarga(carga(eventoOutbox, datos));
+        return eventoOutbox;
+    }
+
+    private String carga(EventoOutbox eventoOutbox, Object datos) {
+        ObjectNode carga = objectMapper.createObjectNode();
+        carga.put("entidad", eventoOutbox.getEntidad());
+        carga.put("id", eventoOutbox.getIdEntidad());
+        carga.put("idProductoCredito", eventoOutbox.getIdProductoCredito());
+        carga.put("version", eventoOutbox.getVersionEntidad());
+        carga.set("datos", objectMapper.valueToTree(datos));
+        try {
+            return objectMapper.writeValueAsString(carga);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de outbox", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.model.EventoOutbox;
+import com.banquito.parametros.repository.EventoOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drena eventos_outbox en lotes, en orden de inserción, hacia el {@link DestinoOutbox}
+ * configurado. Cada lote se bloquea con SKIP LOCKED y se marca publicado en la misma
+ * transacción; si la entrega falla el lote se corta y el resto queda para el siguiente ciclo.
+ * El evento que falla se reintenta con espera exponencial (app.outbox.espera-inicial, hasta
+ * app.outbox.espera-maxima) y, al llegar a app.outbox.max-intentos, se descarta con
+ * fecha_descarte para que los siguientes sigan publicándose; queda en la tabla para revisarlo.
+ * En modo de solo lectura no se drena ni se limpia: los eventos esperan en la base.
+ * <p>
+ * El orden de inserción no es el orden de entrega: con varias instancias cada una drena los
+ * lotes que las otras no tienen bloqueados, y un evento descartado deja pasar a las versiones
+ * posteriores de la misma entidad. Los consumidores ordenan por la versión de la carga, como
+ * indica {@link DestinoOutbox}.
+ */
+@Component
+public class RelayOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayOutbox.class);
+    private static final int LONGITUD_MAXIMA_ERROR = 500;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final DestinoOutbox destino;
+    private final ModoSoloLectura modoSoloLectura;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioLote;
+    private final Duration retencion;
+    private final int maxIntentos;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+
+    public RelayOutbox(EventoOutboxRepository eventoOutboxRepository,
+                       DestinoOutbox destino,
+                       ModoSoloLectura modoSoloLectura,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.tamanio-lote:100}") int tamanioLote,
+                       @Value("${app.outbox.retencion:P7D}") Duration retencion,
+                       @Value("${app.outbox.max-intentos:10}") int maxIntentos,
+                       @Value("${app.outbox.espera-inicial:PT2S}") Duration esperaInicial,
+                       @Value("${app.outbox.espera-maxima:PT5M}") Duration esperaMaxima) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.destino = destino;
+        this.modoSoloLectura = modoSoloLectura;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanioLote = tamanioLote;
+        this.retencion = retencion;
+        this.maxIntentos = maxIntentos;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-relay:PT2S}")
+    public void drenar() {
+        if (modoSoloLectura.activo()) {
+            return;
+        }
+        Integer procesados;
+        try {
+            do {
+                procesados = transactionTemplate.execute(estado -> drenarLote());
+            } while (procesados != null && procesados == tamanioLote);
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException e) {
+            // Sin solicitudes en curso, el relay es quien detecta primero la caída de la base
+            log.warn("No se pudo drenar el outbox: {}", e.getMessage());
+            modoSoloLectura.registrarFalla(e);
+        }
+    }
+
+    // Devuelve los eventos publicados más los descartados: ambos dejan de ser pendientes
+    private int drenarLote() {
+        List<EventoOutbox> lote = eventoOutboxRepository.bloquearPendientes(PageRequest.of(0, tamanioLote));
+        LocalDateTime ahora = LocalDateTime.now();
+        int publicados = 0;
+        int descartados = 0;
+        for (EventoOutbox evento : lote) {
+            // Los siguientes esperan al que está en espera: en esta instancia no se adelanta
+            // ningún evento a uno que todavía se puede reintentar
+            if (evento.getProximoIntento() != null && evento.getProximoIntento().isAfter(ahora)) {
+                break;
+            }
+            try {
+                destino.publicar(evento);
+            } catch (RuntimeException e) {
+                if (!registrarFalla(evento, e, ahora)) {
+                    break;
+                }
+                descartados++;
+                continue;
+            }
+            evento.setFechaPublicacion(LocalDateTime.now());
+            publicados++;
+        }
+        if (publicados > 0) {
+            log.debug("Publicados {} eventos de outbox", publicados);
+        }
+        return publicados + descartados;
+    }
+
+    // true si el evento agotó los intentos y se descartó
+    private boolean registrarFalla(EventoOutbox evento, RuntimeException e, LocalDateTime ahora) {
+        int intentos = evento.getIntentos() + 1;
+        evento.setIntentos(intentos);
+        evento.setUltimoError(recortar(e.getMessage()));
+        if (intentos >= maxIntentos) {
+            evento.setFechaDescarte(ahora);
+            log.error("Se descarta el evento de outbox {} tras {} intentos: {}",
+                    evento.getIdEventoOutbox(), intentos, e.getMessage());
+            return true;
+        }
+        Duration espera = espera(intentos);
+        evento.setProximoIntento(ahora.plus(espera));
+        log.warn("No se pudo publicar el evento de outbox {} (intento {}), se reintenta en {}: {}",
+                evento.getIdEventoOutbox(), intentos, espera, e.getMessage());
+        return false;
+    }
+
+    // esperaInicial, el doble en cada intento, hasta esperaMaxima
+    private Duration espera(int intentos) {
+        Duration espera = esperaInicial;
+        for (int i = 1; i < intentos && espera.compareTo(esperaMaxima) < 0; i++) {
+            espera = espera.multipliedBy(2);
+        }
+        return espera.compareTo(esperaMaxima) < 0 ? espera : esperaMaxima;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-limpieza:PT1H}",
+            initialDelayString = "${app.outbox.intervalo-limpieza:PT1H}")
+    public void limpiarPublicados() {
+        if (modoSoloLectura.activo()) {
+            return;
+        }
+        Integer eliminados = transactionTemplate.execute(estado ->
+                eventoOutboxRepository.eliminarPublicadosAntesDe(LocalDateTime.now().minus(retencion)));
+        log.debug("Eliminados {} eventos de outbox ya publicados", eliminados);
+    }
+
+    private static String recortar(String mensaje) {
+        if (mensaje == null || mensaje.length() <= LONGITUD_MAXIMA_ERROR) {
+            return mensaje;
+        }
+        return mensaje.substring(0, LONGITUD_MAXIMA_ERROR);
+    }
+}
@@ -0,0 +1,9 @@
+package com.banquito.parametros.service;
+
+import java.math.BigDecimal;
+
+public record ResumenAmortizacion(BigDecimal cuota,
+                                  BigDecimal ultimaCuota,
+                                  BigDecimal totalIntereses,
+                                  BigDecimal totalPagar) {
+}
@@ -0,0 +1,469 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.*;
+import com.banquito.parametros.controller.mapper.*;
+import com.banquito.parametros.exception.ValidacionNegocioException;
+import com.banquito.parametros.model.*;
+import com.banquito.parametros.repository.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Exportación e importación de todos los parámetros como snapshot NDJSON: una cabecera, una
+ * línea por producto, tasa y documento, y un cierre con los totales y el SHA-256 de las líneas
+ * anteriores. La exportación lee tasas y documentos con cursores de la base; la importación
+ * valida cada línea con las reglas de las operaciones individuales, inserta en batches JDBC y
+ * vacía el contexto de persistencia cada bloque, así que ninguna de las dos mantiene el
+ * snapshot en memoria. La importación es una sola transacción: una línea inválida, un total
+ * distinto o una suma de verificación que no coincide la revierten completa.
+ */
+@Service
+@Timed("parametros.servicio")
+public class SnapshotParametrosService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotParametrosService.class);
+
+    static final int FORMATO = 1;
+    static final String CABECERA = "CABECERA";
+    static final String PRODUCTO = "PRODUCTO";
+    static final String TASA = "TASA";
+    static final String DOCUMENTO = "DOCUMENTO";
+    static final String CIERRE = "CIERRE";
+
+    private static final String ENTIDAD = "Snapshot";
+    private static final int TAMANIO_BLOQUE = 1000;
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final ProductoCreditoRepository productoCreditoRepository;
+    private final TasaInteresRepository tasaInteresRepository;
+    private final DocumentoRequeridoRepository documentoRequeridoRepository;
+    private final ProductoCreditoMapper productoCreditoMapper;
+    private final TasaInteresMapper tasaInteresMapper;
+    private final DocumentoRequeridoMapper documentoRequeridoMapper;
+    private final PublicadorLibroParametros publicadorLibro;
+    private final ModoSoloLectura modoSoloLectura;
+    private final TransactionTemplate lecturaRepetible;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SnapshotParametrosService(ProductoCreditoRepository productoCreditoRepository,
+                                     TasaInteresRepository tasaInteresRepository,
+                                     DocumentoRequeridoRepository documentoRequeridoRepository,
+                                     ProductoCreditoMapper productoCreditoMapper,
+                                     TasaInteresMapper tasaInteresMapper,
+                                     DocumentoRequeridoMapper documentoRequeridoMapper,
+                                     PublicadorLibroParametros publicadorLibro,
+                                     ModoSoloLectura modoSoloLectura,
+                                     PlatformTransactionManager transactionManager,
+                                     Validator validator,
+                                     EntityManager entityManager,
+                                     ObjectMapper objectMapper,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.productoCreditoRepository = productoCreditoRepository;
+        this.tasaInteresRepository = tasaInteresRepository;
+        this.documentoRequeridoRepository = documentoRequeridoRepository;
+        this.productoCreditoMapper = productoCreditoMapper;
+        this.tasaInteresMapper = tasaInteresMapper;
+        this.documentoRequeridoMapper = documentoRequeridoMapper;
+        this.publicadorLibro = publicadorLibro;
+        this.modoSoloLectura = modoSoloLectura;
+        // REPEATABLE READ: las tres consultas ven la misma foto de la base y ninguna tasa o
+        // documento queda sin su producto
+        this.lecturaRepetible = new TransactionTemplate(transactionManager);
+        this.lecturaRepetible.setReadOnly(true);
+        this.lecturaRepetible.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // ========== EXPORTACIÓN ==========
+
+    /**
+     * Escribe el snapshot desde la base o, en modo de solo lectura, desde el libro de
+     * parámetros: mismo orden y mismo contenido, así que la suma de verificación no depende
+     * del origen.
+     */
+    public ResumenSnapshotDTO exportar(OutputStream destino) throws IOException {
+        if (modoSoloLectura.activo()) {
+            return exportarDesdeLibro(destino);
+        }
+        try {
+            return lecturaRepetible.execute(estado -> {
+                try {
+                    return exportarDesdeLaBase(destino);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ResumenSnapshotDTO exportarDesdeLaBase(OutputStream destino) throws IOException {
+        try (Stream<TasaInteresProyeccion> tasas = tasaInteresRepository.recorrerTodas();
+             Stream<DocumentoRequeridoProyeccion> documentos = documentoRequeridoRepository.recorrerTodos()) {
+            return escribir(destino,
+                    productoCreditoRepository.findAllByOrderByIdProductoCreditoAsc().stream()
+                            .map(productoCreditoMapper::toDTO).iterator(),
+                    tasas.map(tasaInteresMapper::toDTO).iterator(),
+                    documentos.map(documentoRequeridoMapper::toDTO).iterator());
+        }
+    }
+
+    private ResumenSnapshotDTO exportarDesdeLibro(OutputStream destino) throws IOException {
+        log.info("Modo de solo lectura: el snapshot se exporta desde el libro de parámetros");
+        LibroParametros libro = publicadorLibro.actual();
+        return escribir(destino,
+                ordenar(libro.productos(), Comparator.comparing(ProductoCreditoDTO::getIdProductoCredito)),
+                ordenar(libro.tasas(), Comparator.comparing(TasaInteresDTO::getIdProductoCredito)
+                        .thenComparing(TasaInteresDTO::getFechaInicioVigencia)
+                        .thenComparing(TasaInteresDTO::getIdTasaInteres)),
+                ordenar(libro.documentos(), Comparator.comparing(DocumentoRequeridoDTO::getIdProductoCredito)
+                        .thenComparing(DocumentoRequeridoDTO::getNombre)));
+    }
+
+    private static <T> Iterator<T> ordenar(Collection<T> elementos, Comparator<T> orden) {
+        List<T> ordenados = new ArrayList<>(elementos);
+        ordenados.sort(orden);
+        return ordenados.iterator();
+    }
+
+    private ResumenSnapshotDTO escribir(OutputStream destino, Iterator<ProductoCreditoDTO> productos,
+                                        Iterator<TasaInteresDTO> tasas,
+                                        Iterator<DocumentoRequeridoDTO> documentos) throws IOException {
+        log.info("Exportando snapshot de parámetros");
+        EscritorSnapshot escritor = new EscritorSnapshot(new BufferedOutputStream(destino, TAMANIO_BUFFER));
+        LineaSnapshotDTO cabecera = linea(CABECERA);
+        cabecera.setFormato(FORMATO);
+        cabecera.setGenerado(LocalDateTime.now());
+        escritor.escribir(cabecera);
+
+        long totalProductos = 0;
+        while (productos.hasNext()) {
+            LineaSnapshotDTO linea = linea(PRODUCTO);
+            linea.setProducto(productos.next());
+            escritor.escribir(linea);
+            totalProductos++;
+        }
+        long totalTasas = 0;
+        while (tasas.hasNext()) {
+            LineaSnapshotDTO linea = linea(TASA);
+            linea.setTasa(tasas.next());
+            escritor.escribir(linea);
+            totalTasas++;
+        }
+        long totalDocumentos = 0;
+        while (documentos.hasNext()) {
+            LineaSnapshotDTO linea = linea(DOCUMENTO);
+            linea.setDocumento(documentos.next());
+            escritor.escribir(linea);
+            totalDocumentos++;
+        }
+
+        ResumenSnapshotDTO resumen = new ResumenSnapshotDTO(totalProductos, totalTasas, totalDocumentos,
+                escritor.sha256());
+        escritor.cerrar(resumen);
+        log.info("Snapshot exportado: {} productos, {} tasas, {} documentos",
+                totalProductos, totalTasas, totalDocumentos);
+        return resumen;
+    }
+
+    private final class EscritorSnapshot {
+
+        private final OutputStream salida;
+        private final MessageDigest digest = sha256Nuevo();
+
+        EscritorSnapshot(OutputStream salida) {
+            this.salida = salida;
+        }
+
+        void escribir(LineaSnapshotDTO linea) throws IOException {
+            byte[] bytes = objectMapper.writeValueAsBytes(linea);
+            digest.update(bytes);
+            digest.update((byte) '\n');
+            salida.write(bytes);
+            salida.write('\n');
+        }
+
+        String sha256() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        // El cierre no entra en la suma de verificación: la lleva
+        void cerrar(ResumenSnapshotDTO resumen) throws IOException {
+            LineaSnapshotDTO cierre = linea(CIERRE);
+            cierre.setProductos(resumen.getProductos());
+            cierre.setTasas(resumen.getTasas());
+            cierre.setDocumentos(resumen.getDocumentos());
+            cierre.setSha256(resumen.getSha256());
+            salida.write(objectMapper.writeValueAsBytes(cierre));
+            salida.write('\n');
+            salida.flush();
+        }
+    }
+
+    // ========== IMPORTACIÓN ==========
+
+    /**
+     * Agrega los productos del snapshot con sus tasas y documentos. Los IDs del snapshot solo
+     * relacionan las líneas entre sí: los registros reciben IDs nuevos de las secuencias. Un
+     * código de producto que ya existe en la base rechaza la importación.
+     */
+    @Transactional
+    public ResumenSnapshotDTO importar(InputStream origen) throws IOException {
+        log.info("Importando snapshot de parámetros");
+        BufferedReader lector = new BufferedReader(new InputStreamReader(origen, StandardCharsets.UTF_8), TAMANIO_BUFFER);
+        MessageDigest digest = sha256Nuevo();
+        Importacion importacion = new Importacion(new HashSet<>(productoCreditoRepository.findCodigos()));
+        // Un batch JDBC por bloque en lugar de uno cada hibernate.jdbc.batch_size filas
+        entityManager.unwrap(Session.class).setJdbcBatchSize(TAMANIO_BLOQUE);
+        LineaSnapshotDTO cierre = null;
+        int numero = 0;
+        String texto;
+        while ((texto = lector.readLine()) != null) {
+            numero++;
+            if (cierre != null) {
+                throw error(numero, "tipo", "Hay líneas después del cierre");
+            }
+            LineaSnapshotDTO linea = leer(texto, numero);
+            if (numero == 1 && !CABECERA.equals(linea.getTipo())) {
+                throw error(numero, "tipo", "El snapshot debe iniciar con la cabecera");
+            }
+            if (CIERRE.equals(linea.getTipo())) {
+                cierre = linea;
+                continue;
+            }
+            digest.update(texto.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            try {
+                importacion.procesar(linea);
+            } catch (ValidacionNegocioException e) {
+                throw new ValidacionNegocioException(e.getCampo(), e.getEntidad(), "Línea " + numero + ": " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                throw error(numero, null, e.getMessage());
+            }
+        }
+        if (cierre == null) {
+            throw new ValidacionNegocioException("tipo", ENTIDAD, "El snapshot está incompleto: falta el cierre");
+        }
+        importacion.escribirBloque();
+
+        ResumenSnapshotDTO resumen = new ResumenSnapshotDTO(importacion.productos, importacion.tasas,
+                importacion.documentos, HexFormat.of().formatHex(digest.digest()));
+        if (!resumen.getSha256().equalsIgnoreCase(String.valueOf(cierre.getSha256()))) {
+            throw new ValidacionNegocioException("sha256", ENTIDAD, "La suma de verificación del snapshot no coincide");
+        }
+        if (!Objects.equals(cierre.getProductos(), resumen.getProductos())
+                || !Objects.equals(cierre.getTasas(), resumen.getTasas())
+                || !Objects.equals(cierre.getDocumentos(), resumen.getDocumentos())) {
+            throw new ValidacionNegocioException("cierre", ENTIDAD, "Los totales del cierre no coinciden con el snapshot");
+        }
+        // Tras confirmar, el libro recarga los productos importados en un solo reemplazo. No se
+        // registran eventos de outbox por fila: una restauración no es un cambio de parámetros
+        // para los consumidores
+        eventPublisher.publishEvent(new CambioParametrosEvento(new HashSet<>(importacion.idsNuevos.values())));
+        log.info("Snapshot importado: {} productos, {} tasas, {} documentos",
+                resumen.getProductos(), resumen.getTasas(), resumen.getDocumentos());
+        return resumen;
+    }
+
+    /**
+     * Estado de una importación en curso. Solo guarda lo que crece con la cantidad de
+     * productos (IDs, nombres de documentos, la última tasa activa de cada uno); las tasas y
+     * documentos se escriben y se sueltan por bloques.
+     */
+    private final class Importacion {
+
+        private final Set<String> codigosExistentes;
+        private final Map<Integer, Integer> idsNuevos = new LinkedHashMap<>();
+        private final Map<Integer, TasaInteresDTO> ultimaTasaActiva = new HashMap<>();
+        private final Map<Integer, Set<String>> nombresDocumentos = new HashMap<>();
+        private final List<Object> bloque = new ArrayList<>(TAMANIO_BLOQUE);
+        private boolean conCabecera;
+        private long productos;
+        private long tasas;
+        private long documentos;
+
+        Importacion(Set<String> codigosExistentes) {
+            this.codigosExistentes = codigosExistentes;
+        }
+
+        void procesar(LineaSnapshotDTO linea) {
+            switch (linea.getTipo()) {
+                case CABECERA -> validarCabecera(linea);
+                case PRODUCTO -> importarProducto(linea.getProducto());
+                case TASA -> importarTasa(linea.getTasa());
+                case DOCUMENTO -> importarDocumento(linea.getDocumento());
+                default -> throw new ValidacionNegocioException("tipo", ENTIDAD, "Tipo de línea desconocido: " + linea.getTipo());
+            }
+        }
+
+        private void validarCabecera(LineaSnapshotDTO cabecera) {
+            if (conCabecera) {
+                throw new ValidacionNegocioException("tipo", ENTIDAD, "La cabecera está repetida");
+            }
+            if (!Objects.equals(cabecera.getFormato(), FORMATO)) {
+                throw new ValidacionNegocioException("formato", ENTIDAD,
+                        "Formato de snapshot no soportado: " + cabecera.getFormato());
+            }
+            conCabecera = true;
+        }
+
+        private void importarProducto(ProductoCreditoDTO dto) {
+            validarEstructura(dto, "ProductoCredito");
+            ParametrosService.validarMontosProducto(dto);
+            ParametrosService.validarPlazosProducto(dto);
+            if (dto.getIdProductoCredito() == null || idsNuevos.containsKey(dto.getIdProductoCredito())) {
+                throw new ValidacionNegocioException("idProductoCredito", "ProductoCredito",
+                        "El ID del producto falta o está repetido en el snapshot");
+            }
+            if (!codigosExistentes.add(dto.getCodigoProducto())) {
+                throw new ValidacionNegocioException("codigoProducto", "ProductoCredito",
+                        "Ya existe un producto con el código: " + dto.getCodigoProducto());
+            }
+            ProductoCredito producto = productoCreditoMapper.toModel(dto);
+            producto.setIdProductoCredito(null);
+            producto.setVersion(null);
+            // persist asigna el ID de la secuencia; el INSERT sale con el bloque
+            agregar(producto);
+            idsNuevos.put(dto.getIdProductoCredito(), producto.getIdProductoCredito());
+            productos++;
+        }
+
+        private void importarTasa(TasaInteresDTO dto) {
+            validarEstructura(dto, "TasaInteres");
+            ParametrosService.validarFechasTasa(dto);
+            ParametrosService.validarValorTasa(dto);
+            Integer idProducto = idNuevo(dto.getIdProductoCredito(), "TasaInteres");
+            // El snapshot trae las tasas de cada producto por inicio de vigencia: basta
+            // compararla con la última activa para detectar traslapes
+            if (EstadosParametros.EstadoActivoInactivo.ACTIVO.name().equals(dto.getEstado())) {
+                TasaInteresDTO anterior = ultimaTasaActiva.put(dto.getIdProductoCredito(), dto);
+                if (anterior != null && !terminaAntesDe(anterior, dto.getFechaInicioVigencia())) {
+                    throw new ValidacionNegocioException("fechaInicioVigencia", "TasaInteres",
+                            "Existe traslape con otra tasa vigente o las tasas no están ordenadas por vigencia");
+                }
+            }
+            TasaInteres tasa = tasaInteresMapper.toModel(dto);
+            tasa.setIdTasaInteres(null);
+            tasa.setVersion(null);
+            tasa.setProductoCredito(entityManager.getReference(ProductoCredito.class, idProducto));
+            agregar(tasa);
+            tasas++;
+        }
+
+        private void importarDocumento(DocumentoRequeridoDTO dto) {
+            validarEstructura(dto, "DocumentoRequerido");
+            Integer idProducto = idNuevo(dto.getIdProductoCredito(), "DocumentoRequerido");
+            if (!nombresDocumentos.computeIfAbsent(idProducto, id -> new HashSet<>()).add(dto.getNombre())) {
+                throw new ValidacionNegocioException("nombre", "DocumentoRequerido",
+                        "Ya existe un documento con el nombre: " + dto.getNombre() + " para este producto");
+            }
+            DocumentoRequerido documento = documentoRequeridoMapper.toModel(dto);
+            documento.setIdDocumentoRequerido(null);
+            documento.setVersion(null);
+            documento.setProductoCredito(entityManager.getReference(ProductoCredito.class, idProducto));
+            agregar(documento);
+            documentos++;
+        }
+
+        private Integer idNuevo(Integer idSnapshot, String entidad) {
+            Integer id = idsNuevos.get(idSnapshot);
+            if (id == null) {
+                throw new ValidacionNegocioException("idProductoCredito", entidad,
+                        "El producto " + idSnapshot + " no está antes en el snapshot");
+            }
+            return id;
+        }
+
+        private void agregar(Object entidad) {
+            entityManager.persist(entidad);
+            bloque.add(entidad);
+            if (bloque.size() >= TAMANIO_BLOQUE) {
+                escribirBloque();
+            }
+        }
+
+        void escribirBloque() {
+            entityManager.flush();
+            entityManager.clear();
+            bloque.clear();
+        }
+    }
+
+    // ========== UTILIDADES ==========
+
+    private LineaSnapshotDTO leer(String texto, int numero) {
+        try {
+            LineaSnapshotDTO linea = objectMapper.readValue(texto, LineaSnapshotDTO.class);
+            if (linea == null || linea.getTipo() == null) {
+                throw error(numero, "tipo", "La línea no indica su tipo");
+            }
+            return linea;
+        } catch (JsonProcessingException e) {
+            throw error(numero, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validarEstructura(Object dto, String entidad) {
+        if (dto == null) {
+            throw new ValidacionNegocioException(null, entidad, "La línea no trae el registro de su tipo");
+        }
+        Set<ConstraintViolation<Object>> violaciones = validator.validate(dto);
+        violaciones.stream()
+                .min(Comparator.comparing(violacion -> violacion.getPropertyPath().toString()))
+                .ifPresent(violacion -> {
+                    throw new ValidacionNegocioException(violacion.getPropertyPath().toString(), entidad,
+                            violacion.getMessage());
+                });
+    }
+
+    private static boolean terminaAntesDe(TasaInteresDTO tasa, LocalDate inicio) {
+        return tasa.getFechaFinVigencia() != null && tasa.getFechaFinVigencia().isBefore(inicio);
+    }
+
+    private static LineaSnapshotDTO linea(String tipo) {
+        LineaSnapshotDTO linea = new LineaSnapshotDTO();
+        linea.setTipo(tipo);
+        return linea;
+    }
+
+    private static ValidacionNegocioException error(int numero, String campo, String mensaje) {
+        return new ValidacionNegocioException(campo, ENTIDAD, "Línea " + numero + ": " + mensaje);
+    }
+
+    private static MessageDigest sha256Nuevo() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
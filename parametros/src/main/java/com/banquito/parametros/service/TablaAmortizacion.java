@@ -0,0 +1,92 @@
+package com.banquito.parametros.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recorre la tabla de amortización período a período sin construirla: cada llamada a
+ * {@link #siguiente()} calcula la cuota del período y la deja en los getters (en centavos).
+ * {@link #materializar()} construye la tabla completa solo cuando se la necesita.
+ */
+public final class TablaAmortizacion {
+
+    private final MotorAmortizacion motor;
+    private final long monto;
+    private final int plazoMeses;
+    private final long cuotaFija;
+    private final long interesSimple;
+    private final long amortizacionSimple;
+    private int periodo;
+    private long saldo;
+    private long cuota;
+    private long interes;
+    private long capital;
+
+    TablaAmortizacion(MotorAmortizacion motor, long montoCentavos, int plazoMeses) {
+        this.motor = motor;
+        this.monto = montoCentavos;
+        this.plazoMeses = plazoMeses;
+        this.saldo = montoCentavos;
+        if (motor.esCompuesto()) {
+            this.cuotaFija = motor.cuotaFija(montoCentavos, plazoMeses);
+            this.interesSimple = 0;
+            this.amortizacionSimple = 0;
+        } else {
+            this.cuotaFija = 0;
+            this.interesSimple = motor.interesSimple(montoCentavos);
+            this.amortizacionSimple = AritmeticaFija.dividir(montoCentavos, plazoMeses);
+        }
+    }
+
+    public boolean siguiente() {
+        if (periodo >= plazoMeses) {
+            return false;
+        }
+        periodo++;
+        boolean ultimo = periodo == plazoMeses;
+        if (motor.esCompuesto()) {
+            interes = motor.interesPeriodo(saldo);
+            capital = ultimo ? saldo : cuotaFija - interes;
+        } else {
+            interes = interesSimple;
+            capital = ultimo ? saldo : amortizacionSimple;
+        }
+        cuota = capital + interes;
+        saldo -= capital;
+        return true;
+    }
+
+    public List<CuotaAmortizacion> materializar() {
+        List<CuotaAmortizacion> cuotas = new ArrayList<>(plazoMeses - periodo);
+        while (siguiente()) {
+            cuotas.add(new CuotaAmortizacion(periodo, BigDecimal.valueOf(cuota, 2), BigDecimal.valueOf(interes, 2),
+                    BigDecimal.valueOf(capital, 2), BigDecimal.valueOf(saldo, 2)));
+        }
+        return cuotas;
+    }
+
+    public long getMonto() {
+        return monto;
+    }
+
+    public int getPeriodo() {
+        return periodo;
+    }
+
+    public long getCuota() {
+        return cuota;
+    }
+
+    public long getInteres() {
+        return interes;
+    }
+
+    public long getCapital() {
+        return capital;
+    }
+
+    public long getSaldo() {
+        return saldo;
+    }
+}
@@ -0,0 +1,4 @@
+package com.banquito.parametros.service;
+
+public record Versionado<T>(String version, T contenido) {
+}
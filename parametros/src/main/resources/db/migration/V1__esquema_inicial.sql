@@ -0,0 +1,81 @@
+-- Esquema base de parámetros. Se escribe con IF NOT EXISTS para que también se
+-- pueda aplicar sobre bases creadas antes por Hibernate (ddl-auto=update), que
+-- Flyway toma con baseline-on-migrate en la versión 0.
+
+CREATE TABLE IF NOT EXISTS productos_credito (
+    id_producto_credito           INTEGER        NOT NULL,
+    codigo_producto               VARCHAR(20)    NOT NULL,
+    nombre                        VARCHAR(100)   NOT NULL,
+    descripcion                   VARCHAR(255)   NOT NULL,
+    monto_minimo                  NUMERIC(12, 2) NOT NULL,
+    monto_maximo                  NUMERIC(12, 2) NOT NULL,
+    plazo_minimo_meses            INTEGER        NOT NULL,
+    plazo_maximo_meses            INTEGER        NOT NULL,
+    porcentaje_max_financiamiento NUMERIC(5, 2)  NOT NULL,
+    condicion_vehiculo            VARCHAR(255)   NOT NULL CHECK (condicion_vehiculo IN ('NUEVO', 'USADO')),
+    estado                        VARCHAR(255)   NOT NULL CHECK (estado IN ('ACTIVO', 'INACTIVO')),
+    version                       BIGINT         NOT NULL,
+    CONSTRAINT productos_credito_pkey PRIMARY KEY (id_producto_credito),
+    CONSTRAINT productos_credito_codigo_producto_key UNIQUE (codigo_producto)
+);
+
+CREATE TABLE IF NOT EXISTS tasas_interes (
+    id_tasa_interes           INTEGER       NOT NULL,
+    id_producto_credito       INTEGER       NOT NULL,
+    base_calculo              VARCHAR(15)   NOT NULL,
+    metodo_calculo            VARCHAR(20)   NOT NULL,
+    frecuencia_capitalizacion VARCHAR(15)   NOT NULL,
+    valor_tasa                NUMERIC(5, 2) NOT NULL,
+    fecha_inicio_vigencia     DATE          NOT NULL,
+    fecha_fin_vigencia        DATE,
+    estado                    VARCHAR(255)  NOT NULL CHECK (estado IN ('ACTIVO', 'INACTIVO')),
+    version                   BIGINT        NOT NULL,
+    CONSTRAINT tasas_interes_pkey PRIMARY KEY (id_tasa_interes),
+    CONSTRAINT tasas_interes_producto_fk FOREIGN KEY (id_producto_credito)
+        REFERENCES productos_credito (id_producto_credito)
+);
+
+CREATE TABLE IF NOT EXISTS documentos_requeridos (
+    id_documento_requerido INTEGER      NOT NULL,
+    id_producto_credito    INTEGER      NOT NULL,
+    nombre                 VARCHAR(100) NOT NULL,
+    descripcion            VARCHAR(255),
+    extension              VARCHAR(10)  NOT NULL,
+    estado                 VARCHAR(255) NOT NULL CHECK (estado IN ('ACTIVO', 'INACTIVO')),
+    version                BIGINT       NOT NULL,
+    CONSTRAINT documentos_requeridos_pkey PRIMARY KEY (id_documento_requerido),
+    CONSTRAINT documentos_requeridos_producto_fk FOREIGN KEY (id_producto_credito)
+        REFERENCES productos_credito (id_producto_credito)
+);
+
+CREATE TABLE IF NOT EXISTS eventos_outbox (
+    id_evento_outbox    BIGINT       NOT NULL,
+    entidad             VARCHAR(30)  NOT NULL,
+    id_entidad          INTEGER      NOT NULL,
+    id_producto_credito INTEGER      NOT NULL,
+    version_entidad     BIGINT       NOT NULL,
+    carga               TEXT         NOT NULL,
+    fecha_creacion      TIMESTAMP(6) NOT NULL,
+    fecha_publicacion   TIMESTAMP(6),
+    intentos            INTEGER      NOT NULL,
+    ultimo_error        VARCHAR(500),
+    CONSTRAINT eventos_outbox_pkey PRIMARY KEY (id_evento_outbox)
+);
+
+-- Secuencias con incremento 50 (allocationSize de las entidades) para que Hibernate
+-- asigne IDs en bloque y pueda enviar los INSERT en batch
+CREATE SEQUENCE IF NOT EXISTS productos_credito_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasas_interes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS documentos_requeridos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS eventos_outbox_seq START WITH 1 INCREMENT BY 50;
+
+-- En bases existentes las filas se crearon con IDENTITY: el siguiente bloque de IDs
+-- debe empezar después del mayor ID actual
+SELECT setval('productos_credito_seq', max(id_producto_credito) + 50) FROM productos_credito
+HAVING max(id_producto_credito) IS NOT NULL;
+SELECT setval('tasas_interes_seq', max(id_tasa_interes) + 50) FROM tasas_interes
+HAVING max(id_tasa_interes) IS NOT NULL;
+SELECT setval('documentos_requeridos_seq', max(id_documento_requerido) + 50) FROM documentos_requeridos
+HAVING max(id_documento_requerido) IS NOT NULL;
+SELECT setval('eventos_outbox_seq', max(id_evento_outbox) + 50) FROM eventos_outbox
+HAVING max(id_evento_outbox) IS NOT NULL;
@@ -0,0 +1,33 @@
+-- Índices para los accesos frecuentes (ver repositorios y recargas del libro de parámetros)
+
+-- Tasas de un producto por estado, de la más reciente a la más antigua
+-- (findByProductoCreditoAndEstadoOrderByFechaInicioVigenciaDesc y tasa vigente)
+CREATE INDEX IF NOT EXISTS ix_tasas_interes_producto_estado_inicio
+    ON tasas_interes (id_producto_credito, estado, fecha_inicio_vigencia DESC);
+
+-- Línea de tiempo de tasas activas: validación de traslapes y recarga por producto
+CREATE INDEX IF NOT EXISTS ix_tasas_interes_activas_producto_inicio
+    ON tasas_interes (id_producto_credito, fecha_inicio_vigencia DESC)
+    WHERE estado = 'ACTIVO';
+
+-- Documentos de un producto por nombre (listados y unicidad del nombre)
+CREATE INDEX IF NOT EXISTS ix_documentos_requeridos_producto_nombre
+    ON documentos_requeridos (id_producto_credito, nombre);
+
+CREATE INDEX IF NOT EXISTS ix_documentos_requeridos_activos_producto_nombre
+    ON documentos_requeridos (id_producto_credito, nombre)
+    WHERE estado = 'ACTIVO';
+
+-- Productos activos ordenados por nombre
+CREATE INDEX IF NOT EXISTS ix_productos_credito_activos_nombre
+    ON productos_credito (nombre)
+    WHERE estado = 'ACTIVO';
+
+-- Eventos pendientes del outbox en orden de registro y purga de publicados
+CREATE INDEX IF NOT EXISTS ix_eventos_outbox_pendientes
+    ON eventos_outbox (id_evento_outbox)
+    WHERE fecha_publicacion IS NULL;
+
+CREATE INDEX IF NOT EXISTS ix_eventos_outbox_fecha_publicacion
+    ON eventos_outbox (fecha_publicacion)
+    WHERE fecha_publicacion IS NOT NULL;
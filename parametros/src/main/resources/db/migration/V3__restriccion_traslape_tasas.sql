@@ -0,0 +1,12 @@
+-- Dos tasas activas de un mismo producto no pueden tener vigencias que se crucen.
+-- btree_gist permite combinar la igualdad del producto con el traslape de rangos.
+-- Si la migración falla, hay tasas activas traslapadas que se deben corregir antes.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE tasas_interes
+    ADD CONSTRAINT ex_tasas_interes_sin_traslape
+    EXCLUDE USING gist (
+        id_producto_credito WITH =,
+        daterange(fecha_inicio_vigencia, fecha_fin_vigencia, '[]') WITH &&
+    )
+    WHERE (estado = 'ACTIVO');
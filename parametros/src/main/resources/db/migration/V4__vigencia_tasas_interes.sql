@@ -0,0 +1,15 @@
+-- Vigencia de la tasa como rango de fechas (ambos extremos incluidos; fin nulo = abierta).
+-- La columna la calcula la base a partir de las fechas, por lo que la aplicación no la escribe.
+ALTER TABLE tasas_interes
+    ADD COLUMN IF NOT EXISTS vigencia daterange
+    GENERATED ALWAYS AS (daterange(fecha_inicio_vigencia, fecha_fin_vigencia, '[]')) STORED;
+
+-- La restricción de no traslape pasa a usar la columna de rango. Es la que garantiza la
+-- regla incluso con escrituras concurrentes sobre el mismo producto; la aplicación
+-- traduce su violación a un error de validación.
+ALTER TABLE tasas_interes DROP CONSTRAINT IF EXISTS ex_tasas_interes_sin_traslape;
+
+ALTER TABLE tasas_interes
+    ADD CONSTRAINT ex_tasas_interes_sin_traslape
+    EXCLUDE USING gist (id_producto_credito WITH =, vigencia WITH &&)
+    WHERE (estado = 'ACTIVO');
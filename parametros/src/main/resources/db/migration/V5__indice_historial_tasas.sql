@@ -0,0 +1,4 @@
+-- Historial de tasas de un producto por páginas (keyset): el orden incluye el ID para que
+-- cada fila tenga una posición única y la página siguiente empiece justo después de la anterior
+CREATE INDEX IF NOT EXISTS ix_tasas_interes_producto_inicio_id
+    ON tasas_interes (id_producto_credito, fecha_inicio_vigencia DESC, id_tasa_interes DESC);
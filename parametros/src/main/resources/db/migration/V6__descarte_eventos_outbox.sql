@@ -0,0 +1,10 @@
+-- Reintentos del outbox: un evento que falla espera hasta proximo_intento y, agotados los
+-- intentos, se aparta con fecha_descarte para que no bloquee a los que vienen detrás
+ALTER TABLE eventos_outbox ADD COLUMN IF NOT EXISTS proximo_intento TIMESTAMP(6);
+ALTER TABLE eventos_outbox ADD COLUMN IF NOT EXISTS fecha_descarte TIMESTAMP(6);
+
+-- Los descartados dejan de ser pendientes: se excluyen del índice con el que se drena
+DROP INDEX IF EXISTS ix_eventos_outbox_pendientes;
+CREATE INDEX IF NOT EXISTS ix_eventos_outbox_pendientes
+    ON eventos_outbox (id_evento_outbox)
+    WHERE fecha_publicacion IS NULL AND fecha_descarte IS NULL;
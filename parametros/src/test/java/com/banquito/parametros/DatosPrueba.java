@@ -0,0 +1,58 @@
+package com.banquito.parametros;
+
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Parámetros válidos para las pruebas: cada prueba varía solo lo que le interesa
+ * (el código del producto, el inicio de vigencia) y crea el resto con estos valores.
+ */
+public final class DatosPrueba {
+
+    private DatosPrueba() {
+    }
+
+    public static ProductoCreditoDTO producto(String codigo) {
+        ProductoCreditoDTO producto = new ProductoCreditoDTO();
+        producto.setCodigoProducto(codigo);
+        producto.setNombre("Auto " + codigo);
+        producto.setDescripcion("Producto de pruebas " + codigo);
+        producto.setMontoMinimo(new BigDecimal("5000"));
+        producto.setMontoMaximo(new BigDecimal("50000"));
+        producto.setPlazoMinimoMeses(12);
+        producto.setPlazoMaximoMeses(60);
+        producto.setPorcentajeMaxFinanciamiento(new BigDecimal("80"));
+        producto.setCondicionVehiculo("NUEVO");
+        producto.setEstado("ACTIVO");
+        return producto;
+    }
+
+    public static TasaInteresDTO tasa(Integer idProducto, LocalDate inicio) {
+        return tasa(idProducto, inicio, "12.50");
+    }
+
+    public static TasaInteresDTO tasa(Integer idProducto, LocalDate inicio, String valor) {
+        TasaInteresDTO tasa = new TasaInteresDTO();
+        tasa.setIdProductoCredito(idProducto);
+        tasa.setBaseCalculo("360 días");
+        tasa.setMetodoCalculo("compuesto");
+        tasa.setFrecuenciaCapitalizacion("mensual");
+        tasa.setValorTasa(new BigDecimal(valor));
+        tasa.setFechaInicioVigencia(inicio);
+        tasa.setEstado("ACTIVO");
+        return tasa;
+    }
+
+    public static DocumentoRequeridoDTO documento(Integer idProducto, String nombre) {
+        DocumentoRequeridoDTO documento = new DocumentoRequeridoDTO();
+        documento.setIdProductoCredito(idProducto);
+        documento.setNombre(nombre);
+        documento.setExtension(".pdf");
+        documento.setEstado("ACTIVO");
+        return documento;
+    }
+}
@@ -0,0 +1,54 @@
+package com.banquito.parametros;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Registra las sentencias SQL que Hibernate prepara en el hilo actual. Se activa con
+ * {@link #PROPIEDAD}; el registro es por hilo porque el relay del outbox y las tareas
+ * programadas consultan la base en paralelo con la prueba.
+ */
+public class SentenciasSql implements StatementInspector {
+
+    public static final String PROPIEDAD =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.banquito.parametros.SentenciasSql";
+
+    private static final ThreadLocal<List<String>> registradas = new ThreadLocal<>();
+
+    public interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> sentencias = registradas.get();
+        if (sentencias != null) {
+            sentencias.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> durante(Accion accion) throws Exception {
+        registradas.set(new ArrayList<>());
+        try {
+            accion.ejecutar();
+            return List.copyOf(registradas.get());
+        } finally {
+            registradas.remove();
+        }
+    }
+
+    // SELECT de datos: sin los de secuencias, que dependen de cuántos IDs quedan en el bloque asignado
+    public static List<String> consultas(List<String> sentencias) {
+        return sentencias.stream()
+                .filter(sql -> {
+                    String normalizada = sql.trim().toLowerCase(Locale.ROOT);
+                    return normalizada.startsWith("select") && !normalizada.contains("next value for")
+                            && !normalizada.contains("nextval(");
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.banquito.parametros.client;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClienteExternoCacheadoTest {
+
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+    private final AtomicInteger llamadasClientes = new AtomicInteger();
+    private final AtomicInteger llamadasVehiculos = new AtomicInteger();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private volatile int estadoVehiculo = 200;
+
+    private final ClienteExternoCacheado cliente = new ClienteExternoCacheado(new ClienteExternoClient() {
+        @Override
+        public String obtenerInformacionCliente(String idCliente) {
+            llamadasClientes.incrementAndGet();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return "{\"idCliente\":\"" + idCliente + "\"}";
+        }
+
+        @Override
+        public String validarVehiculo(String vin) {
+            llamadasVehiculos.incrementAndGet();
+            if (estadoVehiculo != 200) {
+                throw error(estadoVehiculo);
+            }
+            return "{}";
+        }
+    }, registro, Duration.ofMinutes(1), 100, Duration.ofMinutes(1), 100);
+
+    @Test
+    void solicitudesConcurrentesCompartenUnaLlamada() throws Exception {
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> respuestas = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                respuestas.add(hilos.submit(() -> cliente.obtenerInformacionCliente("CLI-1")));
+            }
+            for (int i = 0; i < 500 && contador("clientes", "coalescida") < 9; i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            liberar.countDown();
+            for (Future<String> respuesta : respuestas) {
+                assertEquals("{\"idCliente\":\"CLI-1\"}", respuesta.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, llamadasClientes.get());
+        assertEquals(9, contador("clientes", "coalescida"));
+        assertEquals("{\"idCliente\":\"CLI-1\"}", cliente.obtenerInformacionCliente("CLI-1"));
+        assertEquals(1, llamadasClientes.get());
+        assertEquals(10.0 / 11, registro.get("cliente.externo.deduplicacion").tag("operacion", "clientes").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void respuestaDefinitivaDeErrorSeGuarda() {
+        estadoVehiculo = 422;
+
+        assertThrows(FeignException.UnprocessableEntity.class, () -> cliente.validarVehiculo("VIN1"));
+        assertThrows(FeignException.UnprocessableEntity.class, () -> cliente.validarVehiculo("VIN1"));
+        assertEquals(1, llamadasVehiculos.get());
+        assertEquals(1, contador("vehiculos", "cache"));
+    }
+
+    @Test
+    void errorDelServicioNoSeGuarda() {
+        estadoVehiculo = 503;
+        assertThrows(FeignException.ServiceUnavailable.class, () -> cliente.validarVehiculo("VIN2"));
+
+        estadoVehiculo = 200;
+        assertEquals("{}", cliente.validarVehiculo("VIN2"));
+        assertEquals(2, llamadasVehiculos.get());
+    }
+
+    private double contador(String operacion, String origen) {
+        return registro.get("cliente.externo.solicitudes").tag("operacion", operacion).tag("origen", origen)
+                .counter().count();
+    }
+
+    private static FeignException error(int estado) {
+        Request solicitud = Request.create(Request.HttpMethod.GET, "/api/v1/vehiculos", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        Response respuesta = Response.builder().status(estado).reason("").request(solicitud).headers(Map.of()).build();
+        return FeignException.errorStatus("validarVehiculo", respuesta);
+    }
+}
@@ -0,0 +1,45 @@
+package com.banquito.parametros.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CondicionesAotTest {
+
+    // La definición registrada al compilar llega al arranque como la deja el código generado
+    private final DefaultListableBeanFactory compilado = new DefaultListableBeanFactory();
+
+    @Test
+    void arrancaConLasMismasCondicionesAunqueCambienLasUrls() {
+        verificar(entorno("webhook", "jdbc:postgresql://replica-1/parametros"));
+
+        assertDoesNotThrow(() -> verificar(entorno("webhook", "jdbc:postgresql://replica-2/parametros")));
+    }
+
+    @Test
+    void noArrancaSiUnaCondicionCambioDesdeLaCompilacion() {
+        verificar(entorno("log", ""));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> verificar(entorno("webhook", "")));
+        assertTrue(error.getMessage().contains("app.outbox.destino=webhook"), error.getMessage());
+        assertThrows(IllegalStateException.class,
+                () -> verificar(entorno("log", "jdbc:postgresql://replica-1/parametros")));
+    }
+
+    private void verificar(MockEnvironment entorno) {
+        CondicionesAot condiciones = new CondicionesAot();
+        condiciones.setEnvironment(entorno);
+        condiciones.postProcessBeanDefinitionRegistry(compilado);
+    }
+
+    private static MockEnvironment entorno(String destinoOutbox, String replicas) {
+        return new MockEnvironment()
+                .withProperty("app.outbox.destino", destinoOutbox)
+                .withProperty("app.replicas.urls", replicas);
+    }
+}
@@ -0,0 +1,47 @@
+package com.banquito.parametros.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataSourceLimitadoTest {
+
+    private final DataSourceLimitado dataSource = new DataSourceLimitado(
+            new DriverManagerDataSource("jdbc:h2:mem:limitado", "sa", ""), 2, Duration.ofMillis(50));
+
+    @Test
+    void excederElLimiteEsperaYFallaSinPedirConexionAlPool() throws Exception {
+        try (Connection primera = dataSource.getConnection();
+             Connection segunda = dataSource.getConnection()) {
+            assertEquals(0, dataSource.permisosDisponibles());
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        assertEquals(2, dataSource.permisosDisponibles());
+    }
+
+    @Test
+    void cerrarDosVecesDevuelveUnSoloPermiso() throws Exception {
+        Connection conexion = dataSource.getConnection();
+        conexion.close();
+        conexion.close();
+
+        assertEquals(2, dataSource.permisosDisponibles());
+    }
+
+    @Test
+    void permisoLiberadoLoTomaQuienEspera() throws Exception {
+        Connection primera = dataSource.getConnection();
+        try (Connection segunda = dataSource.getConnection()) {
+            primera.close();
+            try (Connection tercera = dataSource.getConnection()) {
+                assertEquals(0, dataSource.permisosDisponibles());
+            }
+        }
+    }
+}
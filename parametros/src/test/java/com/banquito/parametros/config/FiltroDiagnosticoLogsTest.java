@@ -0,0 +1,105 @@
+package com.banquito.parametros.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FiltroDiagnosticoLogsTest {
+
+    private final LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final FiltroNivelLogs filtroNivel = new FiltroNivelLogs();
+    private final ch.qos.logback.classic.Logger sql = contexto.getLogger("org.hibernate.SQL");
+    private final ch.qos.logback.classic.Logger aplicacion = contexto.getLogger("com.banquito.parametros.service");
+    private Level nivelSql;
+    private Level nivelAplicacion;
+
+    @BeforeEach
+    void registrarFiltro() {
+        nivelSql = sql.getLevel();
+        nivelAplicacion = aplicacion.getLevel();
+        sql.setLevel(Level.INFO);
+        aplicacion.setLevel(Level.INFO);
+        filtroNivel.start();
+        contexto.addTurboFilter(filtroNivel);
+    }
+
+    @AfterEach
+    void quitarFiltro() {
+        contexto.getTurboFilterList().remove(filtroNivel);
+        sql.setLevel(nivelSql);
+        aplicacion.setLevel(nivelAplicacion);
+    }
+
+    @Test
+    void sqlSoloParaElProductoEnDiagnostico() throws Exception {
+        FiltroDiagnosticoLogs filtro = new FiltroDiagnosticoLogs(1.0, "X-Diagnostico", Duration.ofMinutes(30));
+        filtro.activar(7, null, Duration.ofMinutes(5));
+
+        assertTrue(durante(filtro, solicitud("/api/parametros/productos-credito/7/tasas-interes"), sql::isDebugEnabled));
+        assertTrue(durante(filtro, solicitud("/api/parametros/cotizaciones?idProducto=7"), sql::isDebugEnabled));
+        assertFalse(durante(filtro, solicitud("/api/parametros/productos-credito/70"), sql::isDebugEnabled));
+        assertFalse(sql.isDebugEnabled());
+
+        filtro.desactivar();
+        assertFalse(durante(filtro, solicitud("/api/parametros/productos-credito/7/tasas-interes"), sql::isDebugEnabled));
+    }
+
+    @Test
+    void sqlParaLasSolicitudesConElEncabezado() throws Exception {
+        FiltroDiagnosticoLogs filtro = new FiltroDiagnosticoLogs(1.0, "X-Diagnostico", Duration.ofMinutes(30));
+        filtro.activar(null, "caso-123", null);
+
+        MockHttpServletRequest marcada = solicitud("/api/parametros/tasas-interes");
+        marcada.addHeader("X-Diagnostico", "caso-123");
+        MockHttpServletRequest otra = solicitud("/api/parametros/tasas-interes");
+        otra.addHeader("X-Diagnostico", "otro");
+
+        assertTrue(durante(filtro, marcada, () -> sql.isTraceEnabled() && aplicacion.isDebugEnabled()));
+        assertFalse(durante(filtro, otra, sql::isDebugEnabled));
+    }
+
+    @Test
+    void solicitudFueraDeLaMuestraSoloRegistraAdvertencias() throws Exception {
+        FiltroDiagnosticoLogs filtro = new FiltroDiagnosticoLogs(0.0, "X-Diagnostico", Duration.ofMinutes(30));
+
+        assertFalse(durante(filtro, solicitud("/api/parametros/tasas-interes"), aplicacion::isInfoEnabled));
+        assertTrue(durante(filtro, solicitud("/api/parametros/tasas-interes"), aplicacion::isWarnEnabled));
+        assertTrue(aplicacion.isInfoEnabled());
+    }
+
+    @Test
+    void activarSinCriterioSeRechaza() {
+        FiltroDiagnosticoLogs filtro = new FiltroDiagnosticoLogs(1.0, "X-Diagnostico", Duration.ofMinutes(30));
+
+        assertThrows(IllegalArgumentException.class, () -> filtro.activar(null, " ", null));
+    }
+
+    private static MockHttpServletRequest solicitud(String uri) {
+        int consulta = uri.indexOf('?');
+        MockHttpServletRequest solicitud = new MockHttpServletRequest("GET", consulta < 0 ? uri : uri.substring(0, consulta));
+        if (consulta >= 0) {
+            String[] parametro = uri.substring(consulta + 1).split("=");
+            solicitud.setParameter(parametro[0], parametro[1]);
+        }
+        return solicitud;
+    }
+
+    private static boolean durante(FiltroDiagnosticoLogs filtro, MockHttpServletRequest solicitud,
+                                   BooleanSupplier condicion) throws Exception {
+        boolean[] resultado = new boolean[1];
+        filtro.doFilter(solicitud, new MockHttpServletResponse(), (req, res) -> resultado[0] = condicion.getAsBoolean());
+        return resultado[0];
+    }
+}
@@ -0,0 +1,74 @@
+package com.banquito.parametros.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuenteDatosReplicasTest {
+
+    private final DataSource primaria = baseDatos("primaria");
+    private final DataSource replica = baseDatos("replica");
+    private FuenteDatosReplicas replicas;
+
+    @AfterEach
+    void cerrar() throws Exception {
+        new JdbcTemplate(primaria).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    void transaccionesDeSoloLecturaVanALaReplica() {
+        DataSource enrutada = enrutar("select 0");
+
+        assertEquals(List.of("replica-1"), replicas.replicasDisponibles());
+        assertEquals("replica", origen(enrutada, true));
+        assertEquals("primaria", origen(enrutada, false));
+    }
+
+    @Test
+    void replicaRetrasadaSeSacaDeRotacion() {
+        DataSource enrutada = enrutar("select 12.5");
+
+        assertTrue(replicas.replicasDisponibles().isEmpty());
+        assertEquals("primaria", origen(enrutada, true));
+    }
+
+    @Test
+    void replicaQueNoRespondeSeSacaDeRotacion() {
+        DataSource enrutada = enrutar("select retraso from tabla_inexistente");
+
+        assertTrue(replicas.replicasDisponibles().isEmpty());
+        assertEquals("primaria", origen(enrutada, true));
+    }
+
+    private DataSource enrutar(String consultaRetraso) {
+        replicas = new FuenteDatosReplicas(primaria, Map.of("replica-1", replica), Duration.ofSeconds(5), consultaRetraso);
+        replicas.afterPropertiesSet();
+        return ReplicasLecturaConfig.enrutar(primaria, replicas);
+    }
+
+    private static String origen(DataSource dataSource, boolean soloLectura) {
+        TransactionTemplate transaccion = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaccion.setReadOnly(soloLectura);
+        return transaccion.execute(estado -> new JdbcTemplate(dataSource).queryForObject("select nombre from origen", String.class));
+    }
+
+    private static DataSource baseDatos(String nombre) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table origen (nombre varchar(20))");
+        jdbc.update("insert into origen values (?)", nombre);
+        return dataSource;
+    }
+}
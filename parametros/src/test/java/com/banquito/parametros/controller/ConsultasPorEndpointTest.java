@@ -0,0 +1,175 @@
+package com.banquito.parametros.controller;
+
+import com.banquito.parametros.SentenciasSql;
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.EscenarioCotizacionDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.model.ProductoCredito;
+import com.banquito.parametros.service.ParametrosService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.banquito.parametros.DatosPrueba.documento;
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Consultas SQL por endpoint, incluida la recarga del libro tras confirmar las escrituras.
+ * Un número mayor indica una regresión: asociaciones que se vuelven a cargar por separado
+ * (N+1) o lecturas que dejan de responderse desde el libro de parámetros. Las estadísticas
+ * de Hibernate verifican además que ningún producto se obtenga por una asociación LAZY.
+ */
+@SpringBootTest(properties = {SentenciasSql.PROPIEDAD, "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasPorEndpointTest {
+
+    private static final String BASE = "/api/parametros";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductoCreditoDTO producto;
+    private TasaInteresDTO tasa;
+    private DocumentoRequeridoDTO documento;
+
+    @BeforeAll
+    void crearParametros() {
+        producto = parametrosService.crearProductoCredito(producto("SQLEP01"));
+        tasa = parametrosService.crearTasaInteres(tasa(producto.getIdProductoCredito(), LocalDate.of(2024, 1, 1)));
+        documento = parametrosService.crearDocumentoRequerido(documento(producto.getIdProductoCredito(), "Cedula"));
+    }
+
+    @Test
+    void lecturasDesdeElLibroSinSql() throws Exception {
+        Integer idProducto = producto.getIdProductoCredito();
+
+        assertConsultas(0, get(BASE + "/productos-credito/" + idProducto));
+        assertConsultas(0, get(BASE + "/productos-credito/codigo/" + producto.getCodigoProducto()));
+        assertConsultas(0, get(BASE + "/productos-credito/activos"));
+        assertConsultas(0, get(BASE + "/productos-credito/" + idProducto + "/tasa-vigente"));
+        assertConsultas(0, get(BASE + "/productos-credito/" + idProducto + "/tasas-interes"));
+        assertConsultas(0, get(BASE + "/productos-credito/" + idProducto + "/documentos-requeridos"));
+    }
+
+    @Test
+    void tasaPorIdConUnaConsulta() throws Exception {
+        // El libro no indexa las tasas por ID: con la base disponible la consulta va a la base
+        assertConsultas(1, get(BASE + "/tasas-interes/" + tasa.getIdTasaInteres()));
+    }
+
+    @Test
+    void cotizacionSinSql() throws Exception {
+        EscenarioCotizacionDTO escenario = new EscenarioCotizacionDTO();
+        escenario.setCodigoProducto(producto.getCodigoProducto());
+        escenario.setValorVehiculo(new BigDecimal("20000"));
+        escenario.setMonto(new BigDecimal("15000"));
+        escenario.setPlazoMeses(36);
+
+        assertConsultas(0, post(BASE + "/cotizaciones/lote").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("escenarios", List.of(escenario, escenario)))));
+    }
+
+    @Test
+    void escriturasDeProductos() throws Exception {
+        ProductoCreditoDTO nuevo = producto("SQLEP02");
+        assertConsultas(3, post(BASE + "/productos-credito").contentType(MediaType.APPLICATION_JSON)
+                .content(json(nuevo)));
+
+        ProductoCreditoDTO existente = parametrosService.crearProductoCredito(producto("SQLEP03"));
+        existente.setNombre("Auto actualizado");
+        // El producto, la unicidad del código y la recarga del libro (tasas y documentos)
+        assertConsultas(4, put(BASE + "/productos-credito/" + existente.getIdProductoCredito())
+                .contentType(MediaType.APPLICATION_JSON).content(json(existente)));
+
+        // Los códigos en una consulta; la recarga del libro, una de tasas y una de documentos para el lote
+        assertConsultas(3, post(BASE + "/productos-credito/lote").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("productos", List.of(producto("SQLEP04"), producto("SQLEP05"))))));
+    }
+
+    @Test
+    void escriturasDeTasas() throws Exception {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("SQLEP06")).getIdProductoCredito();
+        TasaInteresDTO abierta = parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1)));
+
+        // Cierra la tasa abierta del producto
+        assertConsultas(5, post(BASE + "/tasas-interes").contentType(MediaType.APPLICATION_JSON)
+                .content(json(tasa(idProducto, LocalDate.of(2025, 1, 1)))));
+
+        abierta.setValorTasa(new BigDecimal("11.00"));
+        abierta.setFechaFinVigencia(LocalDate.of(2024, 12, 31));
+        // La tasa con su producto en una consulta (grafo de entidad): buscar el producto no vuelve a la base
+        assertConsultas(4, put(BASE + "/tasas-interes/" + abierta.getIdTasaInteres())
+                .contentType(MediaType.APPLICATION_JSON).content(json(abierta)));
+
+        Integer idOtroProducto = parametrosService.crearProductoCredito(producto("SQLEP07")).getIdProductoCredito();
+        assertConsultas(4, post(BASE + "/tasas-interes/lote").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("tasas", List.of(tasa(idOtroProducto, LocalDate.of(2024, 1, 1)),
+                        tasa(idOtroProducto, LocalDate.of(2025, 1, 1)))))));
+    }
+
+    @Test
+    void escriturasDeDocumentos() throws Exception {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("SQLEP08")).getIdProductoCredito();
+
+        assertConsultas(5, post(BASE + "/documentos-requeridos").contentType(MediaType.APPLICATION_JSON)
+                .content(json(documento(idProducto, "Cedula"))));
+
+        DocumentoRequeridoDTO existente = parametrosService.crearDocumentoRequerido(documento(idProducto, "Matricula"));
+        existente.setDescripcion("Matrícula vigente");
+        // El documento con su producto en una consulta (grafo de entidad)
+        assertConsultas(5, put(BASE + "/documentos-requeridos/" + existente.getIdDocumentoRequerido())
+                .contentType(MediaType.APPLICATION_JSON).content(json(existente)));
+
+        assertConsultas(4, post(BASE + "/documentos-requeridos/lote").contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("documentos", List.of(documento(idProducto, "Licencia"),
+                        documento(idProducto, "Factura"))))));
+    }
+
+    private void assertConsultas(int esperadas, RequestBuilder solicitud) throws Exception {
+        EntityStatistics productos = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getEntityStatistics(ProductoCredito.class.getName());
+        long obtenidosAntes = productos.getFetchCount();
+
+        List<String> consultas = SentenciasSql.consultas(SentenciasSql.durante(
+                () -> mockMvc.perform(solicitud).andExpect(status().is2xxSuccessful())));
+
+        assertEquals(esperadas, consultas.size(), String.join("\n", consultas));
+        assertEquals(obtenidosAntes, productos.getFetchCount(), "Productos obtenidos por una asociación LAZY");
+    }
+
+    private String json(Object valor) throws Exception {
+        return objectMapper.writeValueAsString(valor);
+    }
+}
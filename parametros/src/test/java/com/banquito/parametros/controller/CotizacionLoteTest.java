@@ -0,0 +1,134 @@
+package com.banquito.parametros.controller;
+
+import com.banquito.parametros.controller.dto.EscenarioCotizacionDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.ResultadoCotizacionDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.service.CalculadoraAmortizacion;
+import com.banquito.parametros.service.ParametrosService;
+import com.banquito.parametros.service.ResumenAmortizacion;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cotización por lotes: cada escenario se evalúa contra el libro de parámetros y devuelve su
+ * resultado en la misma posición, elegible con la amortización o no elegible con el motivo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CotizacionLoteTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    private TasaInteresDTO tasa;
+
+    @BeforeAll
+    void crearProductos() {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("COTIZ01")).getIdProductoCredito();
+        tasa = parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1), "12.75"));
+        ProductoCreditoDTO inactivo = producto("COTIZ02");
+        inactivo.setEstado("INACTIVO");
+        Integer idInactivo = parametrosService.crearProductoCredito(inactivo).getIdProductoCredito();
+        parametrosService.crearTasaInteres(tasa(idInactivo, LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void escenarioElegibleConLaAmortizacionDeLaTasaVigente() throws Exception {
+        ResultadoCotizacionDTO resultado = cotizar(escenario("COTIZ01", "30000", "20000", 48, FECHA)).get(0);
+
+        ResumenAmortizacion esperado = new CalculadoraAmortizacion(tasa).resumir(new BigDecimal("20000"), 48);
+        assertTrue(resultado.getElegible(), resultado.getMotivo());
+        assertNull(resultado.getMotivo());
+        assertEquals(tasa.getIdTasaInteres(), resultado.getIdTasaInteres());
+        assertEquals(0, tasa.getValorTasa().compareTo(resultado.getValorTasa()));
+        assertEquals(esperado.cuota(), resultado.getCuota());
+        assertEquals(esperado.ultimaCuota(), resultado.getUltimaCuota());
+        assertEquals(esperado.totalIntereses(), resultado.getTotalIntereses());
+        assertEquals(esperado.totalPagar(), resultado.getTotalPagar());
+    }
+
+    @Test
+    void escenariosNoElegiblesConSuMotivo() throws Exception {
+        List<ResultadoCotizacionDTO> resultados = cotizar(
+                escenario("COTIZ01", "30000", "4000", 48, FECHA),
+                escenario("COTIZ01", "80000", "60000", 48, FECHA),
+                escenario("COTIZ01", "30000", "20000", 6, FECHA),
+                escenario("COTIZ01", "30000", "20000", 72, FECHA),
+                escenario("COTIZ02", "30000", "20000", 48, FECHA),
+                escenario("COTIZ99", "30000", "20000", 48, FECHA),
+                escenario("COTIZ01", "30000", "20000", 48, LocalDate.of(2023, 6, 1)),
+                escenario("COTIZ01", "30000", "20000", 48, FECHA));
+
+        assertNoElegible(resultados.get(0), "Monto fuera del rango del producto");
+        assertNoElegible(resultados.get(1), "Monto fuera del rango del producto");
+        assertNoElegible(resultados.get(2), "Plazo fuera del rango del producto");
+        assertNoElegible(resultados.get(3), "Plazo fuera del rango del producto");
+        assertNoElegible(resultados.get(4), "Producto inactivo");
+        assertNoElegible(resultados.get(5), "Producto no encontrado");
+        assertNoElegible(resultados.get(6), "Sin tasa vigente para la fecha");
+        // Los escenarios rechazados no afectan a los demás del lote
+        assertTrue(resultados.get(7).getElegible(), resultados.get(7).getMotivo());
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).getIndice());
+        }
+    }
+
+    private List<ResultadoCotizacionDTO> cotizar(EscenarioCotizacionDTO... escenarios) throws Exception {
+        String cuerpo = mockMvc.perform(post("/api/parametros/cotizaciones/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("escenarios", List.of(escenarios)))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(cuerpo, new TypeReference<>() {
+        });
+    }
+
+    private static EscenarioCotizacionDTO escenario(String codigo, String valorVehiculo, String monto, int plazo,
+                                                    LocalDate fecha) {
+        EscenarioCotizacionDTO escenario = new EscenarioCotizacionDTO();
+        escenario.setCodigoProducto(codigo);
+        escenario.setValorVehiculo(new BigDecimal(valorVehiculo));
+        escenario.setMonto(new BigDecimal(monto));
+        escenario.setPlazoMeses(plazo);
+        escenario.setFecha(fecha);
+        return escenario;
+    }
+
+    private static void assertNoElegible(ResultadoCotizacionDTO resultado, String motivo) {
+        assertFalse(resultado.getElegible());
+        assertEquals(motivo, resultado.getMotivo());
+        assertNull(resultado.getCuota());
+    }
+}
@@ -0,0 +1,106 @@
+package com.banquito.parametros.controller;
+
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.service.ParametrosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static com.banquito.parametros.DatosPrueba.documento;
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lecturas condicionales: con el ETag vigente en If-None-Match la respuesta es 304 sin cuerpo, y
+ * después de una escritura el ETag cambia y la misma petición vuelve a responder 200.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EtagParametrosTest {
+
+    private static final String BASE = "/api/parametros";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Test
+    void productoPorId() throws Exception {
+        ProductoCreditoDTO producto = parametrosService.crearProductoCredito(producto("ETAG01"));
+        String ruta = BASE + "/productos-credito/" + producto.getIdProductoCredito();
+        String etag = verificarNoModificado(ruta);
+
+        producto.setNombre("Auto renombrado");
+        parametrosService.actualizarProductoCredito(producto.getIdProductoCredito(), producto);
+
+        verificarModificado(ruta, etag);
+    }
+
+    @Test
+    void listaDeProductosActivos() throws Exception {
+        String ruta = BASE + "/productos-credito/activos";
+        String etag = verificarNoModificado(ruta);
+
+        parametrosService.crearProductoCredito(producto("ETAG02"));
+
+        verificarModificado(ruta, etag);
+    }
+
+    @Test
+    void tasasPorProducto() throws Exception {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("ETAG03")).getIdProductoCredito();
+        parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2023, 1, 1)));
+        String ruta = BASE + "/productos-credito/" + idProducto + "/tasas-interes";
+        String etag = verificarNoModificado(ruta);
+
+        parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1)));
+
+        verificarModificado(ruta, etag);
+    }
+
+    @Test
+    void documentosPorProducto() throws Exception {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("ETAG04")).getIdProductoCredito();
+        parametrosService.crearDocumentoRequerido(documento(idProducto, "Cedula"));
+        String ruta = BASE + "/productos-credito/" + idProducto + "/documentos-requeridos";
+        String etag = verificarNoModificado(ruta);
+
+        parametrosService.crearDocumentoRequerido(documento(idProducto, "Matricula"));
+
+        verificarModificado(ruta, etag);
+    }
+
+    // Devuelve el ETag vigente después de comprobar que reenviarlo responde 304
+    private String verificarNoModificado(String ruta) throws Exception {
+        String etag = mockMvc.perform(get(ruta))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, ruta);
+        mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        return etag;
+    }
+
+    private void verificarModificado(String ruta, String anterior) throws Exception {
+        String etag = mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, anterior))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(anterior, etag, ruta);
+        mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,128 @@
+package com.banquito.parametros.controller;
+
+import com.banquito.parametros.controller.dto.PaginaTasasInteresDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.service.ParametrosService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HistorialTasasTest {
+
+    private static final int TASAS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    private String historial;
+    private final List<Integer> esperadas = new ArrayList<>();
+
+    @BeforeAll
+    void crearHistorial() {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("HIST01")).getIdProductoCredito();
+        historial = "/api/parametros/productos-credito/" + idProducto + "/tasas-interes/historial";
+        for (int i = 0; i < TASAS; i++) {
+            esperadas.add(0, parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2020 + i, 1, 1)))
+                    .getIdTasaInteres());
+        }
+    }
+
+    @Test
+    void paginasEncadenadasPorCursor() throws Exception {
+        List<Integer> recorridas = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var solicitud = get(historial).accept(MediaType.APPLICATION_JSON).param("tamanio", "2");
+            if (cursor != null) {
+                solicitud.param("cursor", cursor);
+            }
+            String cuerpo = mockMvc.perform(solicitud).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            PaginaTasasInteresDTO pagina = objectMapper.readValue(cuerpo, PaginaTasasInteresDTO.class);
+            pagina.getTasas().forEach(tasa -> recorridas.add(tasa.getIdTasaInteres()));
+            cursor = pagina.getSiguiente();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(3, paginas);
+        assertEquals(esperadas, recorridas);
+    }
+
+    @Test
+    void ultimaPaginaSinCursorSiguiente() throws Exception {
+        String cuerpo = mockMvc.perform(get(historial).accept(MediaType.APPLICATION_JSON)
+                        .param("tamanio", String.valueOf(TASAS)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PaginaTasasInteresDTO pagina = objectMapper.readValue(cuerpo, PaginaTasasInteresDTO.class);
+
+        assertEquals(TASAS, pagina.getTasas().size());
+        assertNull(pagina.getSiguiente());
+    }
+
+    @Test
+    void historialCompletoEnNdjson() throws Exception {
+        MvcResult inicio = mockMvc.perform(get(historial).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String cuerpo = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Integer> recorridas = new ArrayList<>();
+        for (String linea : cuerpo.split("\n")) {
+            recorridas.add(objectMapper.readValue(linea, TasaInteresDTO.class).getIdTasaInteres());
+        }
+        assertEquals(esperadas, recorridas);
+    }
+
+    @Test
+    void cursorYTamanioInvalidos() throws Exception {
+        mockMvc.perform(get(historial).accept(MediaType.APPLICATION_JSON).param("cursor", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(historial).accept(MediaType.APPLICATION_JSON).param("tamanio", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void productoInexistente() throws Exception {
+        mockMvc.perform(get("/api/parametros/productos-credito/999999/tasas-interes/historial")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/parametros/productos-credito/999999/tasas-interes/historial")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound());
+    }
+}
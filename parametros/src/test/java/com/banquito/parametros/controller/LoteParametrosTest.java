@@ -0,0 +1,164 @@
+package com.banquito.parametros.controller;
+
+import com.banquito.parametros.controller.dto.DocumentoRequeridoDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.ResultadoLoteDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.service.ParametrosService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.banquito.parametros.DatosPrueba.documento;
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lotes de creación y actualización: un resultado por elemento en el orden recibido, los
+ * elementos válidos se guardan aunque otros fallen, y el libro de parámetros refleja el lote
+ * completo al responder.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoteParametrosTest {
+
+    private static final String BASE = "/api/parametros";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Test
+    void resultadosPorElementoConExitosYFallas() throws Exception {
+        ProductoCreditoDTO existente = parametrosService.crearProductoCredito(producto("LOTE01"));
+        existente.setNombre("Auto renombrado");
+        ProductoCreditoDTO montosInvertidos = producto("LOTE02");
+        montosInvertidos.setMontoMinimo(new BigDecimal("60000"));
+        ProductoCreditoDTO inexistente = producto("LOTE03");
+        inexistente.setIdProductoCredito(999999);
+
+        List<ResultadoLoteDTO> resultados = enviar("/productos-credito/lote", Map.of("productos",
+                List.of(producto("LOTE04"), montosInvertidos, existente, inexistente)));
+
+        assertEquals(List.of(0, 1, 2, 3), resultados.stream().map(ResultadoLoteDTO::getIndice).toList());
+        assertExitoso(resultados.get(0), "CREADO");
+        assertFallido(resultados.get(1));
+        assertExitoso(resultados.get(2), "ACTUALIZADO");
+        assertEquals(existente.getIdProductoCredito(), resultados.get(2).getId());
+        assertFallido(resultados.get(3));
+        mockMvc.perform(get(BASE + "/productos-credito/codigo/LOTE04")).andExpect(status().isOk());
+        mockMvc.perform(get(BASE + "/productos-credito/codigo/LOTE02")).andExpect(status().isNotFound());
+        assertEquals("Auto renombrado", parametrosService.obtenerProductoPorId(existente.getIdProductoCredito())
+                .contenido().getNombre());
+    }
+
+    @Test
+    void codigoRepetidoEnElLoteOYaExistente() throws Exception {
+        parametrosService.crearProductoCredito(producto("LOTE10"));
+
+        List<ResultadoLoteDTO> resultados = enviar("/productos-credito/lote", Map.of("productos",
+                List.of(producto("LOTE11"), producto("LOTE11"), producto("LOTE10"))));
+
+        assertExitoso(resultados.get(0), "CREADO");
+        assertFallido(resultados.get(1));
+        assertEquals("codigoProducto", resultados.get(1).getCampo());
+        assertTrue(resultados.get(1).getMensaje().contains("repetido en el lote"), resultados.get(1).getMensaje());
+        assertFallido(resultados.get(2));
+        assertEquals("codigoProducto", resultados.get(2).getCampo());
+    }
+
+    @Test
+    void lasTasasDelLoteCierranALaAnterior() throws Exception {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("LOTE20")).getIdProductoCredito();
+        TasaInteresDTO cerrada = tasa(idProducto, LocalDate.of(2022, 1, 1));
+        cerrada.setFechaFinVigencia(LocalDate.of(2022, 12, 31));
+        parametrosService.crearTasaInteres(cerrada);
+        parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2023, 1, 1)));
+        TasaInteresDTO traslapada = tasa(idProducto, LocalDate.of(2022, 6, 1));
+        traslapada.setFechaFinVigencia(LocalDate.of(2022, 8, 31));
+
+        // Fuera de orden: el lote las procesa por inicio de vigencia
+        List<ResultadoLoteDTO> resultados = enviar("/tasas-interes/lote", Map.of("tasas", List.of(
+                tasa(idProducto, LocalDate.of(2025, 1, 1)), traslapada, tasa(idProducto, LocalDate.of(2024, 1, 1)))));
+
+        assertExitoso(resultados.get(0), "CREADO");
+        assertFallido(resultados.get(1));
+        assertEquals("fechaInicioVigencia", resultados.get(1).getCampo());
+        assertExitoso(resultados.get(2), "CREADO");
+        List<TasaInteresDTO> tasas = parametrosService.obtenerTasasPorProducto(idProducto).contenido();
+        assertEquals(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1), LocalDate.of(2023, 1, 1),
+                        LocalDate.of(2022, 1, 1)),
+                tasas.stream().map(TasaInteresDTO::getFechaInicioVigencia).toList());
+        assertNull(tasas.get(0).getFechaFinVigencia());
+        assertEquals(LocalDate.of(2024, 12, 31), tasas.get(1).getFechaFinVigencia());
+        assertEquals(LocalDate.of(2023, 12, 31), tasas.get(2).getFechaFinVigencia());
+    }
+
+    @Test
+    void tasaYDocumentoMovidosEntreProductos() throws Exception {
+        Integer origen = parametrosService.crearProductoCredito(producto("LOTE30")).getIdProductoCredito();
+        Integer destino = parametrosService.crearProductoCredito(producto("LOTE31")).getIdProductoCredito();
+        TasaInteresDTO tasa = parametrosService.crearTasaInteres(tasa(origen, LocalDate.of(2024, 1, 1)));
+        DocumentoRequeridoDTO documento = parametrosService.crearDocumentoRequerido(documento(origen, "Cedula"));
+        tasa.setIdProductoCredito(destino);
+        documento.setIdProductoCredito(destino);
+
+        assertExitoso(enviar("/tasas-interes/lote", Map.of("tasas", List.of(tasa))).get(0), "ACTUALIZADO");
+        assertExitoso(enviar("/documentos-requeridos/lote", Map.of("documentos", List.of(documento))).get(0),
+                "ACTUALIZADO");
+
+        // Las secciones de los dos productos se recargaron con el lote
+        assertTrue(parametrosService.obtenerTasasPorProducto(origen).contenido().isEmpty());
+        assertEquals(List.of(tasa.getIdTasaInteres()), parametrosService.obtenerTasasPorProducto(destino).contenido()
+                .stream().map(TasaInteresDTO::getIdTasaInteres).toList());
+        mockMvc.perform(get(BASE + "/productos-credito/" + origen + "/tasa-vigente")).andExpect(status().isNotFound());
+        mockMvc.perform(get(BASE + "/productos-credito/" + destino + "/tasa-vigente")).andExpect(status().isOk());
+        assertTrue(parametrosService.obtenerDocumentosPorProducto(origen).contenido().isEmpty());
+        assertEquals(List.of(documento.getIdDocumentoRequerido()), parametrosService.obtenerDocumentosPorProducto(destino)
+                .contenido().stream().map(DocumentoRequeridoDTO::getIdDocumentoRequerido).toList());
+    }
+
+    private List<ResultadoLoteDTO> enviar(String ruta, Object lote) throws Exception {
+        String cuerpo = mockMvc.perform(post(BASE + ruta).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(cuerpo, new TypeReference<>() {
+        });
+    }
+
+    private static void assertExitoso(ResultadoLoteDTO resultado, String operacion) {
+        assertTrue(resultado.getExitoso(), resultado.getMensaje());
+        assertEquals(operacion, resultado.getOperacion());
+        assertNotNull(resultado.getId());
+    }
+
+    private static void assertFallido(ResultadoLoteDTO resultado) {
+        assertFalse(resultado.getExitoso());
+        assertNull(resultado.getId());
+        assertNotNull(resultado.getMensaje());
+    }
+}
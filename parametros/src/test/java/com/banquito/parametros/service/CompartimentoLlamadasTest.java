@@ -0,0 +1,59 @@
+package com.banquito.parametros.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompartimentoLlamadasTest {
+
+    @Test
+    void compartimentoLlenoRechazaDeInmediato() {
+        CompartimentoLlamadas compartimento = new CompartimentoLlamadas("prueba", 1, Duration.ofSeconds(5));
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<String> enCurso = compartimento.ejecutar(() -> esperar(liberar, "primera"));
+        CompletableFuture<String> rechazada = compartimento.ejecutar(() -> "segunda");
+
+        CompletionException error = assertThrows(CompletionException.class, rechazada::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        liberar.countDown();
+        assertEquals("primera", enCurso.join());
+        assertEquals("tercera", compartimento.ejecutar(() -> "tercera").join());
+    }
+
+    @Test
+    void llamadaVencidaOcupaSuPermisoHastaTerminar() throws Exception {
+        CompartimentoLlamadas compartimento = new CompartimentoLlamadas("prueba", 2, Duration.ofMillis(50));
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<String> lenta = compartimento.ejecutar(() -> esperar(liberar, "lenta"));
+
+        CompletionException error = assertThrows(CompletionException.class, lenta::join);
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(1, compartimento.llamadasEnCurso());
+        liberar.countDown();
+        for (int i = 0; i < 100 && compartimento.llamadasEnCurso() > 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0, compartimento.llamadasEnCurso());
+    }
+
+    private static String esperar(CountDownLatch liberar, String valor) {
+        try {
+            liberar.await();
+            return valor;
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.CambioParametroDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reanudación del flujo de cambios con Last-Event-ID y desconexión de suscriptores lentos,
+ * con emisores que guardan el texto de cada evento en lugar de escribirlo en una respuesta.
+ */
+class FlujoCambiosParametrosTest {
+
+    private final FlujoCambiosParametros flujo = new FlujoCambiosParametros(4, 2, Duration.ofMinutes(1));
+
+    @AfterEach
+    void detener() {
+        flujo.detener();
+    }
+
+    @Test
+    void reanudaDesdeElUltimoIdDeLaMismaEpoca() throws InterruptedException {
+        flujo.publicar(List.of(cambio(1), cambio(2)));
+        String epoca = epocaDe(flujo.suscribir("otra:0", new EmisorDePrueba()));
+
+        EmisorDePrueba emisor = new EmisorDePrueba();
+        flujo.suscribir(epoca + ":1", emisor);
+
+        List<String> eventos = emisor.esperar(1);
+        assertEquals(1, eventos.size());
+        assertTrue(eventos.get(0).startsWith("id:" + epoca + ":2\nevent:cambio\n"), eventos.get(0));
+    }
+
+    @Test
+    void unIdDeOtraEpocaRecibeReinicio() throws InterruptedException {
+        flujo.publicar(List.of(cambio(1), cambio(2)));
+
+        // Secuencia válida en esta instancia, pero emitida por otra o antes de reiniciar
+        for (String ultimoId : List.of("otra:1", "1", "sin-secuencia:")) {
+            EmisorDePrueba emisor = new EmisorDePrueba();
+            flujo.suscribir(ultimoId, emisor);
+            List<String> eventos = emisor.esperar(1);
+            assertEquals(1, eventos.size());
+            assertTrue(eventos.get(0).contains("event:reinicio\n"), eventos.get(0));
+        }
+    }
+
+    @Test
+    void unSuscriptorLentoSeDesconectaSinDemorarALosDemas() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmisorDePrueba lento = new EmisorDePrueba() {
+            @Override
+            public void send(SseEventBuilder evento) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(evento);
+            }
+        };
+        EmisorDePrueba rapido = new EmisorDePrueba();
+        flujo.suscribir(null, lento);
+        flujo.suscribir(null, rapido);
+
+        // Al lento uno le queda bloqueado en send y dos en la cola; el cuarto ya no cabe
+        for (int id = 1; id <= 4; id++) {
+            flujo.publicar(List.of(cambio(id)));
+            assertEquals(id, rapido.esperar(id).size());
+        }
+
+        liberar.countDown();
+        assertTrue(lento.completado.await(5, TimeUnit.SECONDS));
+        assertTrue(lento.eventos.size() < 4);
+        assertEquals(1, rapido.completado.getCount());
+    }
+
+    private static String epocaDe(SseEmitter emisor) throws InterruptedException {
+        String reinicio = ((EmisorDePrueba) emisor).esperar(1).get(0);
+        String id = reinicio.substring("id:".length(), reinicio.indexOf('\n'));
+        return id.substring(0, id.lastIndexOf(':'));
+    }
+
+    private static CambioParametroDTO cambio(int id) {
+        return new CambioParametroDTO("TasaInteres", id, 0L, null);
+    }
+
+    static class EmisorDePrueba extends SseEmitter {
+
+        final List<String> eventos = new CopyOnWriteArrayList<>();
+        final CountDownLatch completado = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder evento) {
+            eventos.add(evento.build().stream()
+                    .map(parte -> String.valueOf(parte.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completado.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            completado.countDown();
+        }
+
+        // Los eventos se envían desde el hilo del suscriptor
+        List<String> esperar(int cantidad) throws InterruptedException {
+            long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (eventos.size() < cantidad && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+            return eventos;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static com.banquito.parametros.DatosPrueba.producto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Recarga del libro con una réplica de lectura en rotación (su retraso no supera el máximo)
+ * que aún no tiene los últimos cambios: la réplica es una copia del esquema sin datos. El
+ * libro no se carga al iniciar porque la réplica recibe el esquema después del arranque.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + LibroConReplicaAtrasadaTest.PRIMARIO,
+        "app.replicas.urls=" + LibroConReplicaAtrasadaTest.REPLICA,
+        "app.replicas.usuario=sa",
+        "app.replicas.consulta-retraso=select 4",
+        "app.replicas.retraso-maximo=PT5S",
+        "app.libro-parametros.cargar-al-iniciar=false"})
+class LibroConReplicaAtrasadaTest {
+
+    static final String PRIMARIO = "jdbc:h2:mem:primario;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE SCHEMA IF NOT EXISTS parametros";
+    static final String REPLICA = "jdbc:h2:mem:replica-atrasada;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private PublicadorLibroParametros publicador;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void copiarEsquemaALaReplica() {
+        new JdbcTemplate(dataSource).execute("script nodata to 'target/replica-atrasada.sql' schema parametros");
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", ""));
+        replica.execute("drop all objects");
+        replica.execute("runscript from 'target/replica-atrasada.sql'");
+    }
+
+    @Test
+    void laRecargaNoDescartaLosCambiosQueLaReplicaAunNoTiene() {
+        publicador.actual();
+        ProductoCreditoDTO creado = parametrosService.crearProductoCredito(producto("REPL01"));
+        assertNotNull(publicador.actual().productoPorId(creado.getIdProductoCredito()));
+        assertEquals(0, productosEnLaReplica());
+
+        publicador.alRecuperarBase();
+
+        ProductoCreditoDTO enLibro = publicador.actual().productoPorId(creado.getIdProductoCredito());
+        assertNotNull(enLibro);
+        assertEquals(creado.getVersion(), enLibro.getVersion());
+    }
+
+    // Una transacción de solo lectura cualquiera sí lee de la réplica
+    private int productosEnLaReplica() {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        return lectura.execute(estado -> new JdbcTemplate(dataSource)
+                .queryForObject("select count(*) from parametros.productos_credito", Integer.class));
+    }
+}
@@ -0,0 +1,59 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LineaTiempoTasasTest {
+
+    private final TasaInteresDTO enero = tasa(1, "2024-01-01", "2024-01-31");
+    private final TasaInteresDTO febrero = tasa(2, "2024-02-01", "2024-02-29");
+    private final TasaInteresDTO abierta = tasa(3, "2024-04-01", null);
+    private final LineaTiempoTasas<TasaInteresDTO> lineaTiempo = LineaTiempoTasas.de(List.of(abierta, enero, febrero));
+
+    @Test
+    void buscaVigentePorFecha() {
+        assertEquals(enero, lineaTiempo.buscarVigente(LocalDate.parse("2024-01-15")));
+        assertEquals(febrero, lineaTiempo.buscarVigente(LocalDate.parse("2024-02-29")));
+        assertNull(lineaTiempo.buscarVigente(LocalDate.parse("2024-03-10")));
+        assertEquals(abierta, lineaTiempo.buscarVigente(LocalDate.parse("2030-01-01")));
+        assertNull(lineaTiempo.buscarVigente(LocalDate.parse("2023-12-31")));
+    }
+
+    @Test
+    void detectaTraslapes() {
+        assertNull(lineaTiempo.buscarTraslape(LocalDate.parse("2024-03-01"), LocalDate.parse("2024-03-31")));
+        assertEquals(febrero, lineaTiempo.buscarTraslape(LocalDate.parse("2024-02-29"), LocalDate.parse("2024-03-31")));
+        assertEquals(abierta, lineaTiempo.buscarTraslape(LocalDate.parse("2024-03-01"), null));
+        assertEquals(enero, lineaTiempo.buscarTraslape(LocalDate.parse("2023-06-01"), LocalDate.parse("2024-01-01")));
+        assertNull(lineaTiempo.buscarTraslape(LocalDate.parse("2024-01-10"), LocalDate.parse("2024-01-20"),
+                tasa -> tasa.getIdTasaInteres() == 1));
+    }
+
+    @Test
+    void detectaTraslapesAunqueLosDatosYaSeTraslapen() {
+        TasaInteresDTO larga = tasa(4, "2023-01-01", "2025-12-31");
+        LineaTiempoTasas<TasaInteresDTO> conTraslape = LineaTiempoTasas.de(List.of(larga, enero, febrero));
+        assertEquals(larga, conTraslape.buscarTraslape(LocalDate.parse("2024-06-01"), LocalDate.parse("2024-06-30")));
+    }
+
+    @Test
+    void ubicaPeriodoAbierto() {
+        assertEquals(abierta, lineaTiempo.periodoAbierto());
+        assertNull(LineaTiempoTasas.de(List.of(enero, febrero)).periodoAbierto());
+        assertNull(LineaTiempoTasas.<TasaInteresDTO>vacia().periodoAbierto());
+    }
+
+    private static TasaInteresDTO tasa(int id, String inicio, String fin) {
+        TasaInteresDTO tasa = new TasaInteresDTO();
+        tasa.setIdTasaInteres(id);
+        tasa.setFechaInicioVigencia(LocalDate.parse(inicio));
+        tasa.setFechaFinVigencia(fin == null ? null : LocalDate.parse(fin));
+        return tasa;
+    }
+}
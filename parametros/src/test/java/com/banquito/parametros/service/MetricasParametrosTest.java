@@ -0,0 +1,103 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.ResultadoLoteDTO;
+import com.banquito.parametros.exception.ProductoCreditoNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MetricasParametrosTest {
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private LoteParametrosService loteParametrosService;
+
+    @Autowired
+    private PublicadorLibroParametros publicadorLibro;
+
+    @Test
+    void operacionesDeServicioYRepositorioConTiempos() {
+        ProductoCreditoDTO producto = parametrosService.crearProductoCredito(producto("METR01"));
+        parametrosService.crearTasaInteres(tasa(producto.getIdProductoCredito(), LocalDate.of(2025, 1, 1)));
+        parametrosService.crearTasaInteres(tasa(producto.getIdProductoCredito(), LocalDate.of(2025, 6, 1)));
+
+        Timer crearTasa = registro.find("parametros.servicio")
+                .tags("class", ParametrosService.class.getName(), "method", "crearTasaInteres")
+                .timer();
+        assertNotNull(crearTasa);
+        assertEquals(2, crearTasa.count());
+        assertEquals(2, registro.get("parametros.servicio.paso").tag("paso", "cerrarTasaAnterior").timer().count());
+        // Dos tasas nuevas y el cierre de la primera
+        assertEquals(3, registro.get("parametros.servicio.paso").tag("paso", "guardarTasa").timer().count());
+        assertTrue(registro.get("spring.data.repository.invocations")
+                .tags("repository", "TasaInteresRepository", "method", "saveAndFlush")
+                .timer().count() >= 3);
+    }
+
+    @Test
+    void rechazosDeValidacionPorEntidadYCampo() {
+        double antes = rechazos("ProductoCredito", "codigoProducto");
+
+        List<ResultadoLoteDTO> resultados = loteParametrosService.guardarProductos(
+                List.of(producto("METR02"), producto("METR02")));
+
+        assertFalse(resultados.get(1).getExitoso());
+        assertEquals(antes + 1, rechazos("ProductoCredito", "codigoProducto"));
+    }
+
+    @Test
+    void indicadoresDelLibroSinForzarSuCarga() {
+        int productos = publicadorLibro.actual().cantidadProductos();
+
+        assertEquals(productos, registro.get("parametros.libro.productos").gauge().value());
+        assertTrue(registro.get("parametros.libro.version").gauge().value() >= 0);
+    }
+
+    @Test
+    void lecturasDelLibroPorRutaEncontradasYAusentes() {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("METR03")).getIdProductoCredito();
+        double encontradas = lecturas("productoPorId", "encontrado");
+        double ausentes = lecturas("productoPorId", "ausente");
+        double tasasAusentes = lecturas("tasasPorProducto", "ausente");
+
+        parametrosService.obtenerProductoPorId(idProducto);
+        parametrosService.obtenerProductoPorId(idProducto);
+        assertThrows(ProductoCreditoNotFoundException.class, () -> parametrosService.obtenerProductoPorId(999999));
+        parametrosService.obtenerTasasPorProducto(999999);
+
+        assertEquals(encontradas + 2, lecturas("productoPorId", "encontrado"));
+        assertEquals(ausentes + 1, lecturas("productoPorId", "ausente"));
+        assertEquals(tasasAusentes + 1, lecturas("tasasPorProducto", "ausente"));
+    }
+
+    private double lecturas(String lectura, String resultado) {
+        return registro.get("parametros.libro.lecturas").tags("lectura", lectura, "resultado", resultado)
+                .counter().count();
+    }
+
+    private double rechazos(String entidad, String campo) {
+        var contador = registro.find("parametros.validacion.rechazos").tags("entidad", entidad, "campo", campo)
+                .counter();
+        return contador == null ? 0 : contador.count();
+    }
+}
@@ -0,0 +1,174 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.PaginaTasasInteresDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Libro de parámetros guardado en archivo y modo de solo lectura: las consultas se responden
+ * desde el libro sin abrir transacciones y las escrituras se rechazan con 503.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ModoSoloLecturaTest {
+
+    private static final String BASE = "/api/parametros";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private SnapshotParametrosService snapshotService;
+
+    @Autowired
+    private PublicadorLibroParametros publicadorLibro;
+
+    @Autowired
+    private ModoSoloLectura modoSoloLectura;
+
+    private Integer idProducto;
+    private Integer idTasaInactiva;
+
+    @BeforeAll
+    void crearParametros() {
+        idProducto = parametrosService.crearProductoCredito(producto("LECT01")).getIdProductoCredito();
+        parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2023, 1, 1)));
+        parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1)));
+        parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2025, 1, 1)));
+        TasaInteresDTO inactiva = tasa(idProducto, LocalDate.of(2022, 1, 1));
+        inactiva.setFechaFinVigencia(LocalDate.of(2022, 12, 31));
+        inactiva.setEstado("INACTIVO");
+        idTasaInactiva = parametrosService.crearTasaInteres(inactiva).getIdTasaInteres();
+    }
+
+    @AfterEach
+    void salirDelModo() {
+        // La base de pruebas responde: la verificación desactiva el modo y recarga el libro
+        modoSoloLectura.verificarBase();
+    }
+
+    @Test
+    void archivoConservaElLibroYSusVersiones(@TempDir Path directorio) throws Exception {
+        ArchivoLibroParametros archivo = new ArchivoLibroParametros(directorio.resolve("libro.bin").toString());
+        LibroParametros libro = publicadorLibro.actual();
+
+        archivo.guardar(libro);
+        LibroParametros leido = archivo.leer().orElseThrow();
+
+        assertEquals(libro.getVersion(), leido.getVersion());
+        assertEquals(new HashSet<>(libro.productos()), new HashSet<>(leido.productos()));
+        assertEquals(new HashSet<>(libro.tasas()), new HashSet<>(leido.tasas()));
+        assertEquals(new HashSet<>(libro.documentos()), new HashSet<>(leido.documentos()));
+        assertEquals(libro.versionTasasPorProducto(idProducto), leido.versionTasasPorProducto(idProducto));
+    }
+
+    @Test
+    void archivoAlteradoSeDescarta(@TempDir Path directorio) throws Exception {
+        Path ruta = directorio.resolve("libro.bin");
+        ArchivoLibroParametros archivo = new ArchivoLibroParametros(ruta.toString());
+        archivo.guardar(publicadorLibro.actual());
+        byte[] bytes = Files.readAllBytes(ruta);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(ruta, bytes);
+
+        assertTrue(archivo.leer().isEmpty());
+    }
+
+    @Test
+    void consultasDesdeElLibroYEscriturasRechazadas() throws Exception {
+        modoSoloLectura.activar("prueba");
+
+        mockMvc.perform(get(BASE + "/productos-credito/" + idProducto)).andExpect(status().isOk());
+        mockMvc.perform(get(BASE + "/productos-credito/" + idProducto + "/tasas-interes")).andExpect(status().isOk());
+        // Las tasas inactivas también están en el libro
+        mockMvc.perform(get(BASE + "/tasas-interes/" + idTasaInactiva)).andExpect(status().isOk());
+        MvcResult transmision = mockMvc.perform(get(BASE + "/productos-credito/" + idProducto + "/tasas-interes/historial")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String historial = mockMvc.perform(asyncDispatch(transmision))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(4, historial.lines().count());
+        String cuerpo = mockMvc.perform(get(BASE + "/productos-credito/" + idProducto + "/tasas-interes/historial")
+                        .accept(MediaType.APPLICATION_JSON).param("tamanio", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PaginaTasasInteresDTO pagina = objectMapper.readValue(cuerpo, PaginaTasasInteresDTO.class);
+        String segunda = mockMvc.perform(get(BASE + "/productos-credito/" + idProducto + "/tasas-interes/historial")
+                        .accept(MediaType.APPLICATION_JSON).param("tamanio", "2").param("cursor", pagina.getSiguiente()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1)),
+                pagina.getTasas().stream().map(TasaInteresDTO::getFechaInicioVigencia).toList());
+        assertEquals(LocalDate.of(2023, 1, 1), objectMapper.readValue(segunda, PaginaTasasInteresDTO.class)
+                .getTasas().get(0).getFechaInicioVigencia());
+
+        String respuesta = mockMvc.perform(post(BASE + "/productos-credito").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(producto("LECT02"))))
+                .andExpect(status().isServiceUnavailable())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(respuesta.contains("solo lectura"), respuesta);
+
+        modoSoloLectura.verificarBase();
+        assertFalse(modoSoloLectura.activo());
+        mockMvc.perform(post(BASE + "/productos-credito").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(producto("LECT02"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void snapshotDelLibroIgualAlDeLaBase() throws Exception {
+        List<String> desdeLaBase = registros();
+        modoSoloLectura.activar("prueba");
+
+        assertEquals(desdeLaBase, registros());
+    }
+
+    // Sin la cabecera ni el cierre: la fecha de generación cambia la suma de verificación
+    private List<String> registros() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        snapshotService.exportar(salida);
+        List<String> lineas = Arrays.asList(salida.toString(StandardCharsets.UTF_8).split("\n"));
+        return lineas.subList(1, lineas.size() - 1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MotorAmortizacionTest {
+
+    private static final String[] VALORES_TASA = {"0.01", "1.00", "5.50", "9.99", "12.75", "15.00", "18.37", "25.00", "50.00"};
+    private static final String[] BASES = {"360", "365"};
+    private static final String[][] METODOS = {{"compuesto", "mensual"}, {"compuesto", "anual"}, {"simple", "mensual"}};
+    private static final int[] PLAZOS = {1, 2, 3, 6, 12, 24, 36, 48, 60, 72, 84, 120};
+    private static final String[] MONTOS = {"0.01", "1.00", "999.99", "5000.00", "12345.67", "20000.00",
+            "35000.50", "100000.00", "750000.01", "9999999.99"};
+
+    @Test
+    void coincideConCalculadoraDeReferencia() {
+        for (String valorTasa : VALORES_TASA) {
+            for (String base : BASES) {
+                for (String[] metodo : METODOS) {
+                    TasaInteresDTO tasa = tasa(valorTasa, base, metodo[0], metodo[1]);
+                    CalculadoraAmortizacion referencia = new CalculadoraAmortizacion(tasa);
+                    MotorAmortizacion motor = new MotorAmortizacion(tasa);
+                    for (int plazo : PLAZOS) {
+                        for (String monto : MONTOS) {
+                            BigDecimal capital = new BigDecimal(monto);
+                            assertEquals(referencia.resumir(capital, plazo), motor.resumir(capital, plazo),
+                                    () -> String.join("/", valorTasa, base, metodo[0], metodo[1], monto) + "/" + plazo);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void tablaCuadraConResumen() {
+        for (String[] metodo : METODOS) {
+            MotorAmortizacion motor = new MotorAmortizacion(tasa("12.75", "360", metodo[0], metodo[1]));
+            ResumenAmortizacion resumen = motor.resumir(new BigDecimal("20000.00"), 48);
+            List<CuotaAmortizacion> cuotas = motor.tabla(new BigDecimal("20000.00"), 48).materializar();
+            assertEquals(48, cuotas.size());
+            assertEquals(resumen.cuota(), cuotas.get(0).cuota());
+            assertEquals(resumen.ultimaCuota(), cuotas.get(47).cuota());
+            assertEquals(BigDecimal.ZERO.setScale(2), cuotas.get(47).saldo());
+            assertEquals(resumen.totalIntereses(),
+                    cuotas.stream().map(CuotaAmortizacion::interes).reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+    }
+
+    @Test
+    void tablaSeRecorreSinMaterializar() {
+        TablaAmortizacion tabla = new MotorAmortizacion(tasa("12.75", "360", "compuesto", "mensual"))
+                .tabla(2_000_000L, 48);
+        long capital = 0;
+        while (tabla.siguiente()) {
+            capital += tabla.getCapital();
+        }
+        assertEquals(48, tabla.getPeriodo());
+        assertEquals(2_000_000L, capital);
+        assertFalse(tabla.siguiente());
+    }
+
+    @Test
+    void multiplicarDividirRedondeaComoBigDecimal() {
+        Random random = new Random(20240601L);
+        for (int i = 0; i < 200_000; i++) {
+            long a = random.nextLong() >> random.nextInt(63);
+            long b = random.nextLong() >> random.nextInt(63);
+            long c = (random.nextLong() >>> 1 >> random.nextInt(62)) + 1;
+            BigInteger esperado = new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                    .divide(new BigDecimal(c), 0, RoundingMode.HALF_UP).toBigIntegerExact();
+            if (esperado.bitLength() > 62) {
+                continue;
+            }
+            assertEquals(esperado.longValueExact(), AritmeticaFija.multiplicarDividir(a, b, c),
+                    () -> a + " * " + b + " / " + c);
+        }
+    }
+
+    private static TasaInteresDTO tasa(String valor, String base, String metodo, String frecuencia) {
+        TasaInteresDTO tasa = new TasaInteresDTO();
+        tasa.setIdTasaInteres(1);
+        tasa.setValorTasa(new BigDecimal(valor));
+        tasa.setBaseCalculo(base);
+        tasa.setMetodoCalculo(metodo);
+        tasa.setFrecuenciaCapitalizacion(frecuencia);
+        return tasa;
+    }
+}
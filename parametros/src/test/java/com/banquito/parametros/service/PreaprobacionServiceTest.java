@@ -0,0 +1,227 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.EscenarioCotizacionDTO;
+import com.banquito.parametros.controller.dto.ProductoCreditoDTO;
+import com.banquito.parametros.controller.dto.ResultadoPreaprobacionDTO;
+import com.banquito.parametros.controller.dto.SolicitudPreaprobacionDTO;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Preaprobación contra un servidor local que simula el servicio de clientes y vehículos.
+ * El comportamiento del stub depende del ID de cliente o VIN recibido.
+ */
+@SpringBootTest(properties = {
+        "app.preaprobacion.cliente.tiempo-maximo=PT2S",
+        "app.preaprobacion.vehiculo.tiempo-maximo=PT2S"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PreaprobacionServiceTest {
+
+    private static final String VIN_VALIDO = "1HGCM82633A004352";
+    private static final String VIN_LENTO = "LENT0000000000001";
+    private static final String VIN_RECHAZADO = "RECHAZAD000000001";
+    private static final String VIN_PARALELO = "PARALE00000000001";
+    private static final String CLIENTE_INEXISTENTE = "CLI-INEXISTENTE";
+    private static final String CLIENTE_PARALELO = "CLI-PARALELO";
+
+    private static final HttpServer stub = iniciarStub();
+    private static final Map<String, AtomicInteger> validacionesPorVin = new ConcurrentHashMap<>();
+    private static final CountDownLatch encuentro = new CountDownLatch(2);
+
+    @Autowired
+    private PreaprobacionService preaprobacionService;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @DynamicPropertySource
+    static void servicioExterno(DynamicPropertyRegistry registro) {
+        registro.add("app.cliente-externo.url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @BeforeAll
+    void crearProducto() {
+        ProductoCreditoDTO producto = new ProductoCreditoDTO();
+        producto.setCodigoProducto("PREAP01");
+        producto.setNombre("Auto preaprobado");
+        producto.setDescripcion("Producto para pruebas de preaprobación");
+        producto.setMontoMinimo(new BigDecimal("5000"));
+        producto.setMontoMaximo(new BigDecimal("50000"));
+        producto.setPlazoMinimoMeses(12);
+        producto.setPlazoMaximoMeses(60);
+        producto.setPorcentajeMaxFinanciamiento(new BigDecimal("80"));
+        producto.setCondicionVehiculo("NUEVO");
+        producto.setEstado("ACTIVO");
+        producto = parametrosService.crearProductoCredito(producto);
+
+        TasaInteresDTO tasa = new TasaInteresDTO();
+        tasa.setIdProductoCredito(producto.getIdProductoCredito());
+        tasa.setBaseCalculo("360 días");
+        tasa.setMetodoCalculo("compuesto");
+        tasa.setFrecuenciaCapitalizacion("mensual");
+        tasa.setValorTasa(new BigDecimal("12.75"));
+        tasa.setFechaInicioVigencia(LocalDate.of(2024, 1, 1));
+        tasa.setEstado("ACTIVO");
+        parametrosService.crearTasaInteres(tasa);
+
+        // Calienta el cliente Feign para que su creación no cuente contra los tiempos máximos
+        preaprobar("CLI-CALENTAMIENTO", "CALENTAM000000001");
+    }
+
+    @AfterAll
+    void detenerStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void clienteYVehiculoSeConsultanEnParalelo() {
+        // Cada llamada del stub espera a la otra: en secuencia la primera vencería su tiempo máximo
+        ResultadoPreaprobacionDTO resultado = preaprobar(CLIENTE_PARALELO, VIN_PARALELO);
+
+        assertEquals(PreaprobacionService.PREAPROBADO, resultado.getEstado(), resultado.getMotivos().toString());
+        assertEquals(CLIENTE_PARALELO, resultado.getInformacionCliente().get("idCliente").asText());
+        assertTrue(resultado.getVehiculoValido());
+        assertEquals(new BigDecimal("12.75"), resultado.getCotizacion().getValorTasa());
+    }
+
+    @Test
+    void vehiculoLentoDejaLaPreaprobacionPendienteSinEsperarlo() {
+        long inicio = System.nanoTime();
+        ResultadoPreaprobacionDTO resultado = preaprobar("CLI-001", VIN_LENTO);
+        long milisegundos = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertEquals(PreaprobacionService.PENDIENTE, resultado.getEstado());
+        assertEquals(List.of("Servicio de vehiculos sin respuesta en PT2S"), resultado.getMotivos());
+        assertNull(resultado.getVehiculoValido());
+        assertEquals("CLI-001", resultado.getInformacionCliente().get("idCliente").asText());
+        assertTrue(milisegundos < 4000, "La preaprobación tardó " + milisegundos + " ms");
+    }
+
+    @Test
+    void clienteInexistenteYVehiculoNoFinanciableRechazan() {
+        ResultadoPreaprobacionDTO resultado = preaprobar(CLIENTE_INEXISTENTE, VIN_RECHAZADO);
+
+        assertEquals(PreaprobacionService.RECHAZADO, resultado.getEstado());
+        assertEquals(List.of("Cliente no encontrado", "Vehículo no válido para financiamiento"), resultado.getMotivos());
+    }
+
+    @Test
+    void vinYaValidadoNoSeVuelveAConsultar() {
+        preaprobar("CLI-002", VIN_VALIDO);
+        ResultadoPreaprobacionDTO resultado = preaprobar("CLI-003", VIN_VALIDO);
+
+        assertEquals(PreaprobacionService.PREAPROBADO, resultado.getEstado());
+        assertEquals(1, validacionesPorVin.get(VIN_VALIDO).get());
+    }
+
+    private ResultadoPreaprobacionDTO preaprobar(String idCliente, String vin) {
+        EscenarioCotizacionDTO escenario = new EscenarioCotizacionDTO();
+        escenario.setCodigoProducto("PREAP01");
+        escenario.setValorVehiculo(new BigDecimal("30000"));
+        escenario.setMonto(new BigDecimal("20000"));
+        escenario.setPlazoMeses(48);
+        SolicitudPreaprobacionDTO solicitud = new SolicitudPreaprobacionDTO();
+        solicitud.setIdCliente(idCliente);
+        solicitud.setVin(vin);
+        solicitud.setEscenario(escenario);
+        return preaprobacionService.preaprobar(solicitud);
+    }
+
+    // ========== STUB DEL SERVICIO EXTERNO ==========
+
+    private static HttpServer iniciarStub() {
+        try {
+            HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            servidor.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            servidor.createContext("/api/v1/clientes/", PreaprobacionServiceTest::responderCliente);
+            servidor.createContext("/api/v1/vehiculos/", PreaprobacionServiceTest::responderVehiculo);
+            servidor.start();
+            return servidor;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void responderCliente(HttpExchange intercambio) throws IOException {
+        String idCliente = intercambio.getRequestURI().getPath().substring("/api/v1/clientes/".length());
+        if (idCliente.equals(CLIENTE_INEXISTENTE)) {
+            responder(intercambio, 404, "");
+            return;
+        }
+        if (idCliente.equals(CLIENTE_PARALELO)) {
+            encontrarse();
+        }
+        responder(intercambio, 200, "{\"idCliente\":\"" + idCliente + "\",\"nombre\":\"Cliente de prueba\"}");
+    }
+
+    private static void responderVehiculo(HttpExchange intercambio) throws IOException {
+        String vin = intercambio.getRequestURI().getPath().split("/")[4];
+        validacionesPorVin.computeIfAbsent(vin, clave -> new AtomicInteger()).incrementAndGet();
+        switch (vin) {
+            case VIN_RECHAZADO -> responder(intercambio, 422, "{\"motivo\":\"Vehículo reportado\"}");
+            case VIN_LENTO -> {
+                dormir(5000);
+                responder(intercambio, 200, "{}");
+            }
+            case VIN_PARALELO -> {
+                encontrarse();
+                responder(intercambio, 200, "{}");
+            }
+            default -> responder(intercambio, 200, "{}");
+        }
+    }
+
+    private static void encontrarse() {
+        encuentro.countDown();
+        try {
+            encuentro.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormir(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().add("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(estado, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+}
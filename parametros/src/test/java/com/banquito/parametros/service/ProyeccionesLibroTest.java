@@ -0,0 +1,125 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.SentenciasSql;
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.model.DocumentoRequerido;
+import com.banquito.parametros.model.TasaInteres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.banquito.parametros.DatosPrueba.documento;
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sentencias SQL de las lecturas de listas: las solicitudes se responden desde el libro de
+ * parámetros y el libro se carga con proyecciones, sin entidades de tasas ni documentos y sin
+ * una consulta por producto.
+ */
+@SpringBootTest(properties = {SentenciasSql.PROPIEDAD, "spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProyeccionesLibroTest {
+
+    private static final int PRODUCTOS = 3;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private PublicadorLibroParametros publicadorLibro;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Integer> productos = new ArrayList<>();
+    private Statistics estadisticas;
+
+    @BeforeAll
+    void crearParametros() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Integer idProducto = parametrosService.crearProductoCredito(producto("PROY0" + i)).getIdProductoCredito();
+            parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1)));
+            parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2025, 1, 1)));
+            parametrosService.crearDocumentoRequerido(documento(idProducto, "Cedula"));
+            parametrosService.crearDocumentoRequerido(documento(idProducto, "Matricula"));
+            productos.add(idProducto);
+        }
+    }
+
+    @Test
+    void listasSinSentenciasSql() throws Exception {
+        Integer idProducto = productos.get(0);
+        List<List<?>> listas = new ArrayList<>();
+
+        List<String> sentencias = SentenciasSql.durante(() -> {
+            listas.add(parametrosService.obtenerTasasPorProducto(idProducto).contenido());
+            listas.add(parametrosService.obtenerDocumentosPorProducto(idProducto).contenido());
+        });
+
+        assertEquals(2, listas.get(0).size());
+        assertEquals(2, listas.get(1).size());
+        assertEquals(List.of(), sentencias);
+    }
+
+    @Test
+    void cargaCompletaConUnaConsultaPorTabla() throws Exception {
+        estadisticas.clear();
+
+        List<String> sentencias = SentenciasSql.durante(publicadorLibro::recargarPeriodicamente);
+
+        // Productos, tasas y documentos, sin importar cuántos productos haya
+        assertEquals(3, sentencias.size(), String.join("\n", sentencias));
+        assertEquals(0, cargas(TasaInteres.class));
+        assertEquals(0, cargas(DocumentoRequerido.class));
+        assertEquals(2 * PRODUCTOS, publicadorLibro.actual().cantidadTasas());
+    }
+
+    @Test
+    void recargaDeVariosProductosConUnaConsultaDeTasasYUnaDeDocumentos() throws Exception {
+        Set<Integer> idsProducto = Set.of(productos.get(1), productos.get(2));
+        estadisticas.clear();
+
+        List<String> sentencias = SentenciasSql.durante(() -> transactionTemplate.executeWithoutResult(
+                estado -> eventPublisher.publishEvent(new CambioParametrosEvento(idsProducto))));
+
+        // Fuera de una escritura los productos no están en el contexto de persistencia y se leen
+        // uno por uno; sus tasas y sus documentos, en una consulta sin importar cuántos sean
+        assertEquals(4, sentencias.size(), String.join("\n", sentencias));
+        assertEquals(1, sentencias.stream().filter(sentencia -> sentencia.contains("tasas_interes")).count());
+        assertEquals(1, sentencias.stream().filter(sentencia -> sentencia.contains("documentos_requeridos")).count());
+        assertEquals(0, cargas(TasaInteres.class));
+        assertEquals(0, cargas(DocumentoRequerido.class));
+        LibroParametros libro = publicadorLibro.actual();
+        for (Integer idProducto : idsProducto) {
+            List<TasaInteresDTO> tasas = libro.tasasPorProducto(idProducto);
+            assertEquals(LocalDate.of(2025, 1, 1), tasas.get(0).getFechaInicioVigencia());
+            assertEquals(LocalDate.of(2024, 12, 31), tasas.get(1).getFechaFinVigencia());
+            assertEquals(tasas.get(1), libro.tasaVigente(idProducto, LocalDate.of(2024, 6, 1)));
+        }
+    }
+
+    private long cargas(Class<?> entidad) {
+        return estadisticas.getEntityStatistics(entidad.getName()).getLoadCount();
+    }
+}
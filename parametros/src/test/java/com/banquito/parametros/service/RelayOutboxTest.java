@@ -0,0 +1,127 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.model.EventoOutbox;
+import com.banquito.parametros.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reintentos y descarte del relay sobre una base propia, con un destino que rechaza los
+ * eventos de las entidades indicadas. El relay programado no corre durante las pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE SCHEMA IF NOT EXISTS parametros",
+        "app.outbox.intervalo-relay=PT1H",
+        "app.outbox.max-intentos=3",
+        "app.outbox.espera-inicial=PT1M",
+        "app.outbox.espera-maxima=PT10M"})
+class RelayOutboxTest {
+
+    @TestConfiguration
+    static class DestinoConFallas {
+
+        static final Set<Integer> RECHAZADAS = ConcurrentHashMap.newKeySet();
+        static final List<Integer> PUBLICADAS = new CopyOnWriteArrayList<>();
+
+        @Bean
+        @Primary
+        DestinoOutbox destinoConFallas() {
+            return evento -> {
+                if (RECHAZADAS.contains(evento.getIdEntidad())) {
+                    throw new IllegalStateException("Destino no disponible para " + evento.getIdEntidad());
+                }
+                PUBLICADAS.add(evento.getIdEntidad());
+            };
+        }
+    }
+
+    @Autowired
+    private RelayOutbox relayOutbox;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @BeforeEach
+    void limpiar() {
+        eventoOutboxRepository.deleteAll();
+        DestinoConFallas.RECHAZADAS.clear();
+        DestinoConFallas.PUBLICADAS.clear();
+    }
+
+    @Test
+    void elEventoQueFallaEsperaYLosSiguientesConservanElOrden() {
+        EventoOutbox fallido = registrar(1);
+        registrar(2);
+        DestinoConFallas.RECHAZADAS.add(1);
+
+        relayOutbox.drenar();
+        relayOutbox.drenar();
+
+        EventoOutbox enEspera = eventoOutboxRepository.findById(fallido.getIdEventoOutbox()).orElseThrow();
+        assertEquals(1, enEspera.getIntentos());
+        assertTrue(enEspera.getProximoIntento().isAfter(LocalDateTime.now().plusSeconds(30)));
+        assertNull(enEspera.getFechaDescarte());
+        assertTrue(DestinoConFallas.PUBLICADAS.isEmpty());
+    }
+
+    @Test
+    void seDescartaAlAgotarLosIntentosYSePublicanLosSiguientes() {
+        EventoOutbox fallido = registrar(1);
+        registrar(2);
+        registrar(3);
+        DestinoConFallas.RECHAZADAS.add(1);
+
+        for (int intento = 1; intento <= 3; intento++) {
+            relayOutbox.drenar();
+            vencerEspera(fallido);
+        }
+
+        EventoOutbox descartado = eventoOutboxRepository.findById(fallido.getIdEventoOutbox()).orElseThrow();
+        assertEquals(3, descartado.getIntentos());
+        assertNotNull(descartado.getFechaDescarte());
+        assertNull(descartado.getFechaPublicacion());
+        assertEquals(List.of(2, 3), DestinoConFallas.PUBLICADAS);
+
+        DestinoConFallas.RECHAZADAS.clear();
+        relayOutbox.drenar();
+        assertEquals(List.of(2, 3), DestinoConFallas.PUBLICADAS);
+    }
+
+    private EventoOutbox registrar(Integer idEntidad) {
+        EventoOutbox evento = new EventoOutbox();
+        evento.setEntidad("ProductoCredito");
+        evento.setIdEntidad(idEntidad);
+        evento.setIdProductoCredito(idEntidad);
+        evento.setVersionEntidad(0L);
+        evento.setCarga("{}");
+        evento.setFechaCreacion(LocalDateTime.now());
+        evento.setIntentos(0);
+        return eventoOutboxRepository.save(evento);
+    }
+
+    // Simula que pasó el tiempo de espera del evento
+    private void vencerEspera(EventoOutbox evento) {
+        EventoOutbox actual = eventoOutboxRepository.findById(evento.getIdEventoOutbox()).orElseThrow();
+        if (actual.getProximoIntento() != null) {
+            actual.setProximoIntento(LocalDateTime.now().minusSeconds(1));
+            eventoOutboxRepository.save(actual);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.LineaSnapshotDTO;
+import com.banquito.parametros.controller.dto.ResumenSnapshotDTO;
+import com.banquito.parametros.exception.ValidacionNegocioException;
+import com.banquito.parametros.repository.DocumentoRequeridoRepository;
+import com.banquito.parametros.repository.ProductoCreditoRepository;
+import com.banquito.parametros.repository.TasaInteresRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.banquito.parametros.DatosPrueba.documento;
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exportación e importación del snapshot sobre una base propia: las pruebas vacían las tablas
+ * de parámetros para restaurar el snapshot.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:snapshot;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+        + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE SCHEMA IF NOT EXISTS parametros")
+class SnapshotParametrosTest {
+
+    @Autowired
+    private SnapshotParametrosService snapshotService;
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private ProductoCreditoRepository productoCreditoRepository;
+
+    @Autowired
+    private TasaInteresRepository tasaInteresRepository;
+
+    @Autowired
+    private DocumentoRequeridoRepository documentoRequeridoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void crearParametros() {
+        vaciar();
+        for (String codigo : List.of("SNAP01", "SNAP02")) {
+            Integer idProducto = parametrosService.crearProductoCredito(producto(codigo)).getIdProductoCredito();
+            parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2023, 1, 1), "11.00"));
+            parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1), "12.00"));
+            parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2025, 1, 1), "13.00"));
+            parametrosService.crearDocumentoRequerido(documento(idProducto, "Cedula"));
+        }
+    }
+
+    @Test
+    void restaurarUnSnapshotExportado() throws Exception {
+        byte[] snapshot = exportar();
+        List<String> antes = contenido(snapshot);
+        vaciar();
+
+        ResumenSnapshotDTO resumen = snapshotService.importar(new ByteArrayInputStream(snapshot));
+
+        assertEquals(2, resumen.getProductos());
+        assertEquals(6, resumen.getTasas());
+        assertEquals(2, resumen.getDocumentos());
+        assertEquals(antes, contenido(exportar()));
+    }
+
+    @Test
+    void cierreConTotalesYSumaDeVerificacion() throws Exception {
+        List<String> lineas = lineas(exportar());
+        LineaSnapshotDTO cierre = objectMapper.readValue(lineas.get(lineas.size() - 1), LineaSnapshotDTO.class);
+
+        assertEquals(SnapshotParametrosService.CIERRE, cierre.getTipo());
+        assertEquals(2L, cierre.getProductos());
+        assertEquals(6L, cierre.getTasas());
+        assertEquals(2L, cierre.getDocumentos());
+        assertEquals(64, cierre.getSha256().length());
+    }
+
+    @Test
+    void snapshotAlteradoNoSeImporta() throws Exception {
+        byte[] snapshot = exportar();
+        vaciar();
+        byte[] alterado = new String(snapshot, StandardCharsets.UTF_8).replace("\"valorTasa\":12.00", "\"valorTasa\":21.00")
+                .getBytes(StandardCharsets.UTF_8);
+
+        ValidacionNegocioException error = assertThrows(ValidacionNegocioException.class,
+                () -> snapshotService.importar(new ByteArrayInputStream(alterado)));
+
+        assertEquals("sha256", error.getCampo());
+        assertEquals(0, productoCreditoRepository.count());
+        assertEquals(0, tasaInteresRepository.count());
+    }
+
+    @Test
+    void snapshotIncompletoNoSeImporta() throws Exception {
+        List<String> lineas = lineas(exportar());
+        byte[] sinCierre = (String.join("\n", lineas.subList(0, lineas.size() - 1)) + "\n").getBytes(StandardCharsets.UTF_8);
+        vaciar();
+
+        assertThrows(ValidacionNegocioException.class,
+                () -> snapshotService.importar(new ByteArrayInputStream(sinCierre)));
+        assertEquals(0, productoCreditoRepository.count());
+    }
+
+    @Test
+    void codigoExistenteRechazaLaImportacion() throws Exception {
+        byte[] snapshot = exportar();
+        long tasas = tasaInteresRepository.count();
+
+        ValidacionNegocioException error = assertThrows(ValidacionNegocioException.class,
+                () -> snapshotService.importar(new ByteArrayInputStream(snapshot)));
+
+        assertEquals("codigoProducto", error.getCampo());
+        assertTrue(error.getMessage().startsWith("Línea 2:"), error.getMessage());
+        assertEquals(2, productoCreditoRepository.count());
+        assertEquals(tasas, tasaInteresRepository.count());
+    }
+
+    private byte[] exportar() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        snapshotService.exportar(salida);
+        return salida.toByteArray();
+    }
+
+    // Registros del snapshot sin IDs, versiones ni la fecha de generación
+    private List<String> contenido(byte[] snapshot) throws Exception {
+        List<String> registros = new ArrayList<>();
+        for (String texto : lineas(snapshot)) {
+            LineaSnapshotDTO linea = objectMapper.readValue(texto, LineaSnapshotDTO.class);
+            if (linea.getProducto() != null) {
+                linea.getProducto().setIdProductoCredito(null);
+                registros.add(objectMapper.writeValueAsString(linea.getProducto()));
+            } else if (linea.getTasa() != null) {
+                linea.getTasa().setIdTasaInteres(null);
+                linea.getTasa().setIdProductoCredito(null);
+                registros.add(objectMapper.writeValueAsString(linea.getTasa()));
+            } else if (linea.getDocumento() != null) {
+                linea.getDocumento().setIdDocumentoRequerido(null);
+                linea.getDocumento().setIdProductoCredito(null);
+                registros.add(objectMapper.writeValueAsString(linea.getDocumento()));
+            }
+        }
+        return registros;
+    }
+
+    private static List<String> lineas(byte[] snapshot) {
+        return Arrays.asList(new String(snapshot, StandardCharsets.UTF_8).split("\n"));
+    }
+
+    private void vaciar() {
+        documentoRequeridoRepository.deleteAllInBatch();
+        tasaInteresRepository.deleteAllInBatch();
+        productoCreditoRepository.deleteAllInBatch();
+    }
+}
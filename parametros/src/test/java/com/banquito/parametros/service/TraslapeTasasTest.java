@@ -0,0 +1,120 @@
+package com.banquito.parametros.service;
+
+import com.banquito.parametros.controller.dto.TasaInteresDTO;
+import com.banquito.parametros.exception.ValidacionNegocioException;
+import com.banquito.parametros.repository.TasaInteresRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.banquito.parametros.DatosPrueba.producto;
+import static com.banquito.parametros.DatosPrueba.tasa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Traducción del rechazo de la restricción de exclusión ex_tasas_interes_sin_traslape. H2 no
+ * tiene la restricción: un repositorio que delega en el real lanza el error de PostgreSQL al
+ * guardar, como lo haría una escritura concurrente que se adelantó sobre el mismo producto.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:traslape;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+        + "DEFAULT_NULL_ORDERING=HIGH;INIT=CREATE SCHEMA IF NOT EXISTS parametros")
+class TraslapeTasasTest {
+
+    private static final Set<String> ESCRITURAS = Set.of("saveAndFlush", "saveAllAndFlush");
+
+    @TestConfiguration
+    static class RepositorioConTraslape {
+
+        static volatile boolean rechazar;
+
+        @Bean
+        @Primary
+        TasaInteresRepository tasaInteresRepositoryConTraslape(
+                @Qualifier("tasaInteresRepository") TasaInteresRepository repositorio) {
+            return (TasaInteresRepository) Proxy.newProxyInstance(TasaInteresRepository.class.getClassLoader(),
+                    new Class<?>[]{TasaInteresRepository.class}, (instancia, metodo, args) -> {
+                        if (rechazar && ESCRITURAS.contains(metodo.getName())) {
+                            throw traslape("23P01", "ex_tasas_interes_sin_traslape");
+                        }
+                        try {
+                            return metodo.invoke(repositorio, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    @Autowired
+    private ParametrosService parametrosService;
+
+    @Autowired
+    private LoteParametrosService loteParametrosService;
+
+    @AfterEach
+    void restablecer() {
+        RepositorioConTraslape.rechazar = false;
+    }
+
+    @Test
+    void reconoceLaRestriccionDeTraslape() {
+        assertTrue(ParametrosService.esTraslapeTasas(traslape("23P01", "ex_tasas_interes_sin_traslape")));
+    }
+
+    @Test
+    void ignoraOtrasViolaciones() {
+        assertFalse(ParametrosService.esTraslapeTasas(traslape("23505", "uk_productos_credito_codigo")));
+        assertFalse(ParametrosService.esTraslapeTasas(traslape("23P01", "ex_otra_restriccion")));
+        assertFalse(ParametrosService.esTraslapeTasas(new DataIntegrityViolationException("sin causa SQL")));
+    }
+
+    @Test
+    void guardarUnaTasaTraslapadaSeRechaza() {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("TRASL01")).getIdProductoCredito();
+        RepositorioConTraslape.rechazar = true;
+
+        ValidacionNegocioException error = assertThrows(ValidacionNegocioException.class,
+                () -> parametrosService.crearTasaInteres(tasa(idProducto, LocalDate.of(2024, 1, 1))));
+
+        assertEquals("fechaInicioVigencia", error.getCampo());
+    }
+
+    @Test
+    void unLoteConUnaTasaTraslapadaSeRechazaCompleto() {
+        Integer idProducto = parametrosService.crearProductoCredito(producto("TRASL02")).getIdProductoCredito();
+        List<TasaInteresDTO> tasas = List.of(tasa(idProducto, LocalDate.of(2024, 1, 1)),
+                tasa(idProducto, LocalDate.of(2025, 1, 1)));
+        RepositorioConTraslape.rechazar = true;
+
+        assertThrows(ValidacionNegocioException.class, () -> loteParametrosService.guardarTasas(tasas));
+
+        RepositorioConTraslape.rechazar = false;
+        assertTrue(parametrosService.obtenerTasasPorProducto(idProducto).contenido().isEmpty());
+    }
+
+    // Como la reporta Hibernate con el driver de PostgreSQL
+    private static DataIntegrityViolationException traslape(String sqlState, String restriccion) {
+        SQLException causa = new SQLException("ERROR: conflicting key value violates exclusion constraint \""
+                + restriccion + "\"", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", causa, "insert into tasas_interes",
+                        restriccion));
+    }
+}